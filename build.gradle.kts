@@ -1,6 +1,8 @@
 import java.net.URLClassLoader
 import org.asciidoctor.gradle.model5.core.tasks.AsciidoctorTask
 
+plugins { id("me.champeau.jmh") version "0.7.3" }
+
 version = "2.5"
 
 publishingConventions {
@@ -94,14 +96,17 @@ abstract class CapabilityListing : DefaultTask() {
                 .map { rule ->
                     val capability = definitions.getDeclaredMethod("getCapability").invoke(rule) as String
                     val modules = definitions.getDeclaredMethod("getModules").invoke(rule) as List<*>
+                    val patterns = definitions.getDeclaredMethod("getModulePatterns").invoke(rule) as List<*>
 
-                    Pair(capability, modules)
+                    Triple(capability, modules, patterns)
                 }
                 .sortedBy { it.first }
 
         val capabilityList =
             allCapabilities.joinToString("") { c ->
-                "* ${c.first}\n${c.second.joinToString("") { "** ${(it as String).asRepoLink()}\n" }}"
+                "* ${c.first}\n" +
+                    c.third.joinToString("") { "** `$it` (pattern)\n" } +
+                    c.second.joinToString("") { "** ${(it as String).asRepoLink()}\n" }
             }
 
         outputFile.get().asFile.also {
@@ -113,6 +118,43 @@ abstract class CapabilityListing : DefaultTask() {
     private fun String.asRepoLink() = "https://search.maven.org/artifact/${replace(":", "/")}[$this]"
 }
 
+// Micro benchmarks: ./gradlew jmh (optionally with -Pjmh.includes=<pattern>)
+dependencies { jmhImplementation(gradleApi()) }
+
+jmh {
+    includes = providers.gradleProperty("jmh.includes").map { listOf(it) }.orElse(emptyList())
+    profilers = listOf("gc")
+    // ProjectBuilder, used to instantiate rules, needs reflective access
+    jvmArgsAppend = listOf("--add-opens", "java.base/java.lang=ALL-UNNAMED")
+    fork = 1
+    warmupIterations = 3
+    iterations = 5
+    resultFormat = "JSON"
+}
+
+// Synthetic multi-project builds for gradle-profiler: ./gradlew generateSyntheticBuilds
+// (optionally with -Psynthetic.projects=<comma separated project counts>)
+val performance = sourceSets.create("performance")
+
+dependencies {
+    "performanceImplementation"(sourceSets.main.get().output)
+    "performanceImplementation"(gradleApi())
+}
+
+tasks.register<JavaExec>("generateSyntheticBuilds") {
+    classpath = performance.runtimeClasspath
+    mainClass = "org.gradlex.jvm.dependency.conflict.performance.SyntheticBuildGenerator"
+    val projectCounts = providers.gradleProperty("synthetic.projects").orElse("100,500,2000")
+    argumentProviders.add(
+        CommandLineArgumentProvider {
+            listOf(
+                layout.buildDirectory.dir("synthetic-builds").get().asFile.absolutePath,
+                layout.projectDirectory.asFile.absolutePath,
+            ) + projectCounts.get().split(",")
+        }
+    )
+}
+
 // Task to update expectations in 'all' samples
 tasks.register<UpdateSampleExpectation>("updateSampleAllExpectations") {
     samples = layout.projectDirectory.dir("samples")
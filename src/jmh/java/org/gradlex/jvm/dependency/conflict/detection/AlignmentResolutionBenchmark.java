@@ -0,0 +1,115 @@
+// SPDX-License-Identifier: Apache-2.0
+package org.gradlex.jvm.dependency.conflict.detection;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.gradle.api.Project;
+import org.gradle.api.artifacts.Configuration;
+import org.gradle.api.artifacts.result.ResolutionResult;
+import org.gradle.testfixtures.ProjectBuilder;
+import org.gradlex.jvm.dependency.conflict.detection.rules.AlignmentDefinition;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Resolution time, allocation (with the 'gc' profiler) and graph size of a graph that contains all modules of the
+ * alignment definitions without BOM in two different versions, comparing alignment through constraints (default)
+ * with alignment through virtual platforms. The modules are served from a generated local Maven repository.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class AlignmentResolutionBenchmark {
+
+    private static final String OLD_VERSION = "1.0";
+    private static final String NEW_VERSION = "2.0";
+
+    @Param({"false", "true"})
+    public boolean virtualPlatformAlignment;
+
+    private File repository;
+    private Configuration classpath;
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class GraphSize {
+        public long nodes;
+        public long edges;
+    }
+
+    @Setup(Level.Trial)
+    public void createRepository() throws IOException {
+        repository = Files.createTempDirectory("alignment-benchmark-repo").toFile();
+        for (AlignmentDefinition definition : AlignmentDefinition.values()) {
+            if (!definition.hasBom()) {
+                List<String> modules = definition.getModules();
+                for (String module : modules) {
+                    publish(module, OLD_VERSION, modules.get(0));
+                    publish(module, NEW_VERSION, modules.get(0));
+                }
+            }
+        }
+    }
+
+    @Setup(Level.Invocation)
+    public void createProject() {
+        Project project = ProjectBuilder.builder().build();
+        project.getRepositories().maven(r -> r.setUrl(repository));
+        JvmDependencyConflictDetectionPlugin.registerRules(
+                project.getDependencies().getComponents(), false, virtualPlatformAlignment);
+        classpath = project.getConfigurations().create("classpath");
+        boolean useNewVersion = false;
+        for (AlignmentDefinition definition : AlignmentDefinition.values()) {
+            if (!definition.hasBom()) {
+                for (String module : definition.getModules()) {
+                    String version = useNewVersion ? NEW_VERSION : OLD_VERSION;
+                    classpath.getDependencies().add(project.getDependencies().create(module + ":" + version));
+                    useNewVersion = !useNewVersion;
+                }
+            }
+        }
+    }
+
+    @Benchmark
+    public ResolutionResult resolve(GraphSize graphSize) {
+        ResolutionResult result = classpath.getIncoming().getResolutionResult();
+        graphSize.nodes += result.getAllComponents().size();
+        graphSize.edges += result.getAllDependencies().size();
+        return result;
+    }
+
+    private void publish(String module, String version, String firstModule) {
+        String group = module.substring(0, module.indexOf(':'));
+        String name = module.substring(module.indexOf(':') + 1);
+        String dependency = "";
+        if (!module.equals(firstModule)) {
+            dependency = "<dependencies><dependency><groupId>" + group + "</groupId><artifactId>"
+                    + firstModule.substring(firstModule.indexOf(':') + 1) + "</artifactId><version>" + version
+                    + "</version></dependency></dependencies>";
+        }
+        String pom = "<project><modelVersion>4.0.0</modelVersion><groupId>" + group + "</groupId><artifactId>" + name
+                + "</artifactId><version>" + version + "</version><packaging>pom</packaging>" + dependency
+                + "</project>";
+        File dir = new File(repository, group.replace('.', '/') + "/" + name + "/" + version);
+        try {
+            Files.createDirectories(dir.toPath());
+            Files.write(
+                    new File(dir, name + "-" + version + ".pom").toPath(), pom.getBytes(StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,41 @@
+// SPDX-License-Identifier: Apache-2.0
+package org.gradlex.jvm.dependency.conflict.detection;
+
+import java.util.concurrent.TimeUnit;
+import org.gradle.api.artifacts.dsl.ComponentMetadataHandler;
+import org.gradle.testfixtures.ProjectBuilder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Configuration time cost of registering the detection rules in a project,
+ * comparing one rule per module (default) with indexed dispatch.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class RuleRegistrationBenchmark {
+
+    @Param({"false", "true"})
+    public boolean indexedDispatch;
+
+    private ComponentMetadataHandler components;
+
+    @Setup(Level.Invocation)
+    public void createProject() {
+        components = ProjectBuilder.builder().build().getDependencies().getComponents();
+    }
+
+    @Benchmark
+    public ComponentMetadataHandler registerRules() {
+        JvmDependencyConflictDetectionPlugin.registerRules(components, indexedDispatch, false);
+        return components;
+    }
+}
@@ -0,0 +1,58 @@
+// SPDX-License-Identifier: Apache-2.0
+package org.gradlex.jvm.dependency.conflict.detection.rules;
+
+import java.util.concurrent.TimeUnit;
+import org.gradle.api.Project;
+import org.gradle.api.artifacts.ComponentMetadataContext;
+import org.gradle.testfixtures.ProjectBuilder;
+import org.gradlex.jvm.dependency.conflict.fixture.FakeComponentMetadata;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Cost of the rule of each {@link AlignmentDefinition}, executed for the first module of the definition, with
+ * alignment through constraints (default) or through a virtual platform.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(time = 1)
+@Measurement(time = 1)
+public class AlignmentDefinitionRuleBenchmark {
+
+    @Param
+    public AlignmentDefinition definition;
+
+    @Param({"false", "true"})
+    public boolean virtualPlatformAlignment;
+
+    private ComponentMetadataContext context;
+    private AlignmentDefinitionRule rule;
+
+    @Setup
+    public void createRule() {
+        Project project = ProjectBuilder.builder().build();
+        rule = project.getObjects().newInstance(definition.getRuleClass(), definition);
+        context = new FakeComponentMetadata(
+                definition.getModules().get(0) + ":10.0",
+                project.getConfigurations().detachedConfiguration().getAttributes());
+    }
+
+    @Benchmark
+    public ComponentMetadataContext execute() {
+        if (virtualPlatformAlignment) {
+            rule.executeWithVirtualPlatform(context);
+        } else {
+            rule.execute(context);
+        }
+        return context;
+    }
+}
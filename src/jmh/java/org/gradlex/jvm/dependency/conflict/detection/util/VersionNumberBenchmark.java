@@ -0,0 +1,99 @@
+// SPDX-License-Identifier: Apache-2.0
+package org.gradlex.jvm.dependency.conflict.detection.util;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Parsing and comparing version strings as they are found on Maven Central. With 'distinct' versions, the set of
+ * version strings is much larger than the parse cache, so that most calls to {@link VersionNumber#parse(String)}
+ * parse the string again.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class VersionNumberBenchmark {
+
+    private static final String[] MAVEN_CENTRAL_VERSIONS = {
+        "1.0",
+        "1.2.17",
+        "1.7.36",
+        "2.0.16",
+        "2.0.0-alpha1",
+        "2.24.3",
+        "3.2.10",
+        "3.9.9",
+        "4.13.2",
+        "5.3.39",
+        "5.11.4",
+        "6.2.1",
+        "9.7.1",
+        "1.0.2.Final",
+        "2.0.1.Final",
+        "6.6.4.Final",
+        "4.3.0.RELEASE",
+        "2.7.18.RELEASE",
+        "33.4.0-jre",
+        "33.4.0-android",
+        "1.6.7",
+        "2.1.3",
+        "3.0.0-M1",
+        "3.1.0-RC2",
+        "9.4.56.v20240826",
+        "12.0.16",
+        "10.1.34",
+        "3.3.6",
+        "1.78.1",
+        "2.18.2",
+        "1.1.1-SNAPSHOT",
+        "20240303"
+    };
+
+    private static final VersionNumber THRESHOLD = VersionNumber.parse("3.0.0");
+
+    @Param({"maven-central", "distinct"})
+    public String versions;
+
+    private String[] versionStrings;
+    private int next;
+
+    @Setup
+    public void createVersions() {
+        if ("distinct".equals(versions)) {
+            versionStrings = new String[16 * 1024];
+            for (int i = 0; i < versionStrings.length; i++) {
+                versionStrings[i] = MAVEN_CENTRAL_VERSIONS[i % MAVEN_CENTRAL_VERSIONS.length] + "." + i;
+            }
+        } else {
+            versionStrings = MAVEN_CENTRAL_VERSIONS.clone();
+        }
+    }
+
+    @Benchmark
+    public VersionNumber parse() {
+        return VersionNumber.parse(nextVersion());
+    }
+
+    @Benchmark
+    public int parseAndCompareWithParsedConstant() {
+        return VersionNumber.parse(nextVersion()).compareTo(VersionNumber.parse("3.0.0"));
+    }
+
+    @Benchmark
+    public int compareWithConstant() {
+        return VersionNumber.compare(nextVersion(), THRESHOLD);
+    }
+
+    private String nextVersion() {
+        String version = versionStrings[next];
+        next = (next + 1) % versionStrings.length;
+        return version;
+    }
+}
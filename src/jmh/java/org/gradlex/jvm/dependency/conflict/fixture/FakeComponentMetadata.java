@@ -0,0 +1,521 @@
+// SPDX-License-Identifier: Apache-2.0
+package org.gradlex.jvm.dependency.conflict.fixture;
+
+import java.util.AbstractCollection;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.gradle.api.Action;
+import org.gradle.api.artifacts.ComponentMetadataContext;
+import org.gradle.api.artifacts.ComponentMetadataDetails;
+import org.gradle.api.artifacts.DependenciesMetadata;
+import org.gradle.api.artifacts.DependencyArtifact;
+import org.gradle.api.artifacts.DependencyConstraintMetadata;
+import org.gradle.api.artifacts.DependencyConstraintsMetadata;
+import org.gradle.api.artifacts.DependencyMetadata;
+import org.gradle.api.artifacts.DirectDependenciesMetadata;
+import org.gradle.api.artifacts.DirectDependencyMetadata;
+import org.gradle.api.artifacts.ModuleIdentifier;
+import org.gradle.api.artifacts.ModuleVersionIdentifier;
+import org.gradle.api.artifacts.MutableVariantFilesMetadata;
+import org.gradle.api.artifacts.MutableVersionConstraint;
+import org.gradle.api.artifacts.VariantMetadata;
+import org.gradle.api.artifacts.VersionConstraint;
+import org.gradle.api.attributes.AttributeContainer;
+import org.gradle.api.capabilities.CapabilitiesMetadata;
+import org.gradle.api.capabilities.Capability;
+import org.gradle.api.capabilities.MutableCapabilitiesMetadata;
+
+/**
+ * In-memory implementations of the metadata API that component metadata rules work with. Actions are executed
+ * right away, instead of being deferred as in Gradle. Modifications of dependencies and variants are not kept, so
+ * that a rule can be executed repeatedly on the same instance.
+ * <p>
+ * All attributes are written to one shared container, as the rules only write attributes.
+ * The context has no 'metadata' field, so that variant discovery falls back to the Maven 'compile' and 'runtime'
+ * variants, which are the variants of the fake component.
+ */
+public final class FakeComponentMetadata implements ComponentMetadataContext {
+
+    private final Details details;
+
+    /**
+     * @param module 'group:name:version' of the component
+     * @param attributes container that receives all attributes written by a rule
+     * @param dependencies 'group:name:version' of the dependencies of the 'compile' and 'runtime' variants
+     */
+    public FakeComponentMetadata(String module, AttributeContainer attributes, String... dependencies) {
+        String[] coordinates = module.split(":");
+        Id id = new Id(coordinates[0], coordinates[1], coordinates[2]);
+        this.details = new Details(id, attributes, Arrays.asList(dependencies));
+    }
+
+    @Override
+    public <T> T getDescriptor(Class<T> descriptorClass) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public ComponentMetadataDetails getDetails() {
+        return details;
+    }
+
+    private static final class Details implements ComponentMetadataDetails {
+        private final Id id;
+        private final AttributeContainer attributes;
+        private final Map<String, Variant> variants = new LinkedHashMap<>();
+        private String status = "release";
+        private List<String> statusScheme = Arrays.asList("integration", "milestone", "release");
+        private boolean changing;
+        private Object platform = "";
+
+        Details(Id id, AttributeContainer attributes, List<String> dependencies) {
+            this.id = id;
+            this.attributes = attributes;
+            for (String name : Arrays.asList("compile", "runtime")) {
+                variants.put(name, new Variant(id, attributes, dependencies));
+            }
+        }
+
+        @Override
+        public void setChanging(boolean changing) {
+            this.changing = changing;
+        }
+
+        @Override
+        public void setStatus(String status) {
+            this.status = status;
+        }
+
+        @Override
+        public void setStatusScheme(List<String> statusScheme) {
+            this.statusScheme = statusScheme;
+        }
+
+        @Override
+        public void withVariant(String name, Action<? super VariantMetadata> action) {
+            Variant variant = variants.get(name);
+            if (variant != null) {
+                action.execute(variant);
+            }
+        }
+
+        @Override
+        public void allVariants(Action<? super VariantMetadata> action) {
+            for (Variant variant : variants.values()) {
+                action.execute(variant);
+            }
+        }
+
+        @Override
+        public void addVariant(String name, Action<? super VariantMetadata> action) {
+            action.execute(new Variant(id, attributes, Collections.emptyList()));
+        }
+
+        @Override
+        public void addVariant(String name, String base, Action<? super VariantMetadata> action) {
+            Variant baseVariant = variants.get(base);
+            action.execute(new Variant(
+                    id, attributes, baseVariant == null ? Collections.emptyList() : baseVariant.dependencies));
+        }
+
+        @Override
+        public void maybeAddVariant(String name, String base, Action<? super VariantMetadata> action) {
+            addVariant(name, base, action);
+        }
+
+        @Override
+        public void belongsTo(Object notation) {
+            belongsTo(notation, true);
+        }
+
+        @Override
+        public void belongsTo(Object notation, boolean virtual) {
+            this.platform = notation;
+        }
+
+        @Override
+        public ModuleVersionIdentifier getId() {
+            return id;
+        }
+
+        @Override
+        public boolean isChanging() {
+            return changing;
+        }
+
+        @Override
+        public String getStatus() {
+            return status;
+        }
+
+        @Override
+        public List<String> getStatusScheme() {
+            return statusScheme;
+        }
+
+        @Override
+        public ComponentMetadataDetails attributes(Action<? super AttributeContainer> action) {
+            action.execute(attributes);
+            return this;
+        }
+
+        @Override
+        public AttributeContainer getAttributes() {
+            return attributes;
+        }
+    }
+
+    private static final class Variant implements VariantMetadata {
+        private final AttributeContainer attributes;
+        private final List<String> dependencies;
+        private final Capabilities capabilities;
+        private final Files files = new Files();
+
+        Variant(Id id, AttributeContainer attributes, List<String> dependencies) {
+            this.attributes = attributes;
+            this.dependencies = dependencies;
+            this.capabilities = new Capabilities(id);
+        }
+
+        @Override
+        public void withDependencies(Action<? super DirectDependenciesMetadata> action) {
+            action.execute(new DirectDependencies(attributes, dependencies));
+        }
+
+        @Override
+        public void withDependencyConstraints(Action<? super DependencyConstraintsMetadata> action) {
+            action.execute(new DependencyConstraints(attributes));
+        }
+
+        @Override
+        public void withCapabilities(Action<? super MutableCapabilitiesMetadata> action) {
+            action.execute(capabilities);
+        }
+
+        @Override
+        public void withFiles(Action<? super MutableVariantFilesMetadata> action) {
+            action.execute(files);
+        }
+
+        @Override
+        public VariantMetadata attributes(Action<? super AttributeContainer> action) {
+            action.execute(attributes);
+            return this;
+        }
+
+        @Override
+        public AttributeContainer getAttributes() {
+            return attributes;
+        }
+    }
+
+    private abstract static class FakeDependencies<T extends DependencyMetadata<T>> extends AbstractCollection<T>
+            implements DependenciesMetadata<T> {
+        final AttributeContainer attributes;
+        private final List<T> dependencies = new ArrayList<>();
+
+        FakeDependencies(AttributeContainer attributes, List<String> dependencies) {
+            this.attributes = attributes;
+            for (String dependency : dependencies) {
+                add(dependency);
+            }
+        }
+
+        abstract T create(String group, String name, String version);
+
+        @Override
+        public void add(String notation) {
+            add(notation, d -> {});
+        }
+
+        @Override
+        public void add(Map<String, String> notation) {
+            add(notation, d -> {});
+        }
+
+        @Override
+        public void add(String notation, Action<? super T> action) {
+            String[] coordinates = notation.split(":");
+            T dependency = create(coordinates[0], coordinates[1], coordinates.length > 2 ? coordinates[2] : "");
+            action.execute(dependency);
+            dependencies.add(dependency);
+        }
+
+        @Override
+        public void add(Map<String, String> notation, Action<? super T> action) {
+            add(
+                    notation.get("group") + ":" + notation.get("name") + ":" + notation.getOrDefault("version", ""),
+                    action);
+        }
+
+        @Override
+        public Iterator<T> iterator() {
+            return dependencies.iterator();
+        }
+
+        @Override
+        public int size() {
+            return dependencies.size();
+        }
+    }
+
+    private static final class DirectDependencies extends FakeDependencies<DirectDependencyMetadata>
+            implements DirectDependenciesMetadata {
+        DirectDependencies(AttributeContainer attributes, List<String> dependencies) {
+            super(attributes, dependencies);
+        }
+
+        @Override
+        DirectDependencyMetadata create(String group, String name, String version) {
+            return new DirectDependency(group, name, attributes);
+        }
+    }
+
+    private static final class DependencyConstraints extends FakeDependencies<DependencyConstraintMetadata>
+            implements DependencyConstraintsMetadata {
+        DependencyConstraints(AttributeContainer attributes) {
+            super(attributes, Collections.emptyList());
+        }
+
+        @Override
+        DependencyConstraintMetadata create(String group, String name, String version) {
+            return new DependencyConstraint(group, name, attributes);
+        }
+    }
+
+    private abstract static class FakeDependency<T extends DependencyMetadata<T>> implements DependencyMetadata<T> {
+        private final ModuleId module;
+        private final AttributeContainer attributes;
+        private String reason = "";
+
+        FakeDependency(String group, String name, AttributeContainer attributes) {
+            this.module = new ModuleId(group, name);
+            this.attributes = attributes;
+        }
+
+        abstract T self();
+
+        @Override
+        public String getGroup() {
+            return module.getGroup();
+        }
+
+        @Override
+        public String getName() {
+            return module.getName();
+        }
+
+        @Override
+        public VersionConstraint getVersionConstraint() {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public T version(Action<? super MutableVersionConstraint> action) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public String getReason() {
+            return reason;
+        }
+
+        @Override
+        public T because(String reason) {
+            this.reason = reason;
+            return self();
+        }
+
+        @Override
+        public AttributeContainer getAttributes() {
+            return attributes;
+        }
+
+        @Override
+        public T attributes(Action<? super AttributeContainer> action) {
+            action.execute(attributes);
+            return self();
+        }
+
+        @Override
+        public ModuleIdentifier getModule() {
+            return module;
+        }
+    }
+
+    private static final class DirectDependency extends FakeDependency<DirectDependencyMetadata>
+            implements DirectDependencyMetadata {
+        private boolean endorsingStrictVersions;
+
+        DirectDependency(String group, String name, AttributeContainer attributes) {
+            super(group, name, attributes);
+        }
+
+        @Override
+        DirectDependencyMetadata self() {
+            return this;
+        }
+
+        @Override
+        public void endorseStrictVersions() {
+            endorsingStrictVersions = true;
+        }
+
+        @Override
+        public void doNotEndorseStrictVersions() {
+            endorsingStrictVersions = false;
+        }
+
+        @Override
+        public boolean isEndorsingStrictVersions() {
+            return endorsingStrictVersions;
+        }
+
+        @Override
+        public List<DependencyArtifact> getArtifactSelectors() {
+            return Collections.emptyList();
+        }
+    }
+
+    private static final class DependencyConstraint extends FakeDependency<DependencyConstraintMetadata>
+            implements DependencyConstraintMetadata {
+        DependencyConstraint(String group, String name, AttributeContainer attributes) {
+            super(group, name, attributes);
+        }
+
+        @Override
+        DependencyConstraintMetadata self() {
+            return this;
+        }
+    }
+
+    private static final class Capabilities implements MutableCapabilitiesMetadata {
+        private final List<Capability> capabilities = new ArrayList<>();
+
+        Capabilities(Id id) {
+            capabilities.add(new FakeCapability(id.getGroup(), id.getName(), id.getVersion()));
+        }
+
+        @Override
+        public void addCapability(String group, String name, String version) {
+            removeCapability(group, name);
+            capabilities.add(new FakeCapability(group, name, version));
+        }
+
+        @Override
+        public void removeCapability(String group, String name) {
+            capabilities.removeIf(c -> c.getGroup().equals(group) && c.getName().equals(name));
+        }
+
+        @Override
+        public CapabilitiesMetadata asImmutable() {
+            List<Capability> copy = Collections.unmodifiableList(new ArrayList<>(capabilities));
+            return () -> copy;
+        }
+
+        @Override
+        public List<? extends Capability> getCapabilities() {
+            return capabilities;
+        }
+    }
+
+    private static final class FakeCapability implements Capability {
+        private final String group;
+        private final String name;
+        private final String version;
+
+        FakeCapability(String group, String name, String version) {
+            this.group = group;
+            this.name = name;
+            this.version = version;
+        }
+
+        @Override
+        public String getGroup() {
+            return group;
+        }
+
+        @Override
+        public String getName() {
+            return name;
+        }
+
+        @Override
+        public String getVersion() {
+            return version;
+        }
+    }
+
+    private static final class Files implements MutableVariantFilesMetadata {
+        private final List<String> files = new ArrayList<>();
+
+        @Override
+        public void removeAllFiles() {
+            files.clear();
+        }
+
+        @Override
+        public void addFile(String name) {
+            addFile(name, name);
+        }
+
+        @Override
+        public void addFile(String name, String url) {
+            files.add(url);
+        }
+    }
+
+    private static class ModuleId implements ModuleIdentifier {
+        private final String group;
+        private final String name;
+
+        ModuleId(String group, String name) {
+            this.group = group;
+            this.name = name;
+        }
+
+        @Override
+        public String getGroup() {
+            return group;
+        }
+
+        @Override
+        public String getName() {
+            return name;
+        }
+
+        @Override
+        public String toString() {
+            return group + ":" + name;
+        }
+    }
+
+    private static final class Id extends ModuleId implements ModuleVersionIdentifier {
+        private final String version;
+
+        Id(String group, String name, String version) {
+            super(group, name);
+            this.version = version;
+        }
+
+        @Override
+        public String getVersion() {
+            return version;
+        }
+
+        @Override
+        public ModuleIdentifier getModule() {
+            return this;
+        }
+
+        @Override
+        public String toString() {
+            return super.toString() + ":" + version;
+        }
+    }
+}
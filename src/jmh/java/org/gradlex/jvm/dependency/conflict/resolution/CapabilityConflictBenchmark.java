@@ -0,0 +1,119 @@
+// SPDX-License-Identifier: Apache-2.0
+package org.gradlex.jvm.dependency.conflict.resolution;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.gradle.api.artifacts.CapabilityResolutionDetails;
+import org.gradle.api.artifacts.ComponentVariantIdentifier;
+import org.gradle.api.artifacts.component.ComponentIdentifier;
+import org.gradle.api.capabilities.Capability;
+import org.gradle.testfixtures.ProjectBuilder;
+import org.gradlex.jvm.dependency.conflict.detection.rules.CapabilityDefinition;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Resolution time cost of the capability conflict handler for a graph in which every known capability is in
+ * conflict, and of looking up the deactivated strategies in the snapshot compared to reading the property.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class CapabilityConflictBenchmark {
+
+    private ConflictResolution conflictResolution;
+    private CapabilityConflictHandler handler;
+    private List<ConflictDetails> conflicts;
+
+    @Setup
+    public void createConflicts() {
+        conflictResolution = ProjectBuilder.builder().build().getObjects().newInstance(ConflictResolution.class);
+        conflictResolution.deactivateResolutionStrategy(CapabilityDefinition.CGLIB);
+        conflictResolution.deactivateResolutionStrategy(CapabilityDefinition.JAVAX_MAIL_API);
+        conflictResolution.deactivateResolutionStrategy(CapabilityDefinition.JAKARTA_SERVLET_API);
+        handler = new CapabilityConflictHandler(conflictResolution);
+        conflicts = new ArrayList<>();
+        for (CapabilityDefinition definition : CapabilityDefinition.values()) {
+            conflicts.add(new ConflictDetails(definition));
+        }
+    }
+
+    @Benchmark
+    public void readProperty(Blackhole blackhole) {
+        for (ConflictDetails conflict : conflicts) {
+            blackhole.consume(
+                    conflictResolution.getDeactivatedResolutionStrategies().get().contains(conflict.definition));
+        }
+    }
+
+    @Benchmark
+    public void readSnapshot(Blackhole blackhole) {
+        for (ConflictDetails conflict : conflicts) {
+            blackhole.consume(conflictResolution.isDeactivated(conflict.definition));
+        }
+    }
+
+    @Benchmark
+    public List<ConflictDetails> resolveConflicts() {
+        for (ConflictDetails conflict : conflicts) {
+            handler.resolve(conflict.definition, conflict);
+        }
+        return conflicts;
+    }
+
+    private static final class ConflictDetails implements CapabilityResolutionDetails, ComponentVariantIdentifier {
+        private final CapabilityDefinition definition;
+
+        ConflictDetails(CapabilityDefinition definition) {
+            this.definition = definition;
+        }
+
+        @Override
+        public Capability getCapability() {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public List<ComponentVariantIdentifier> getCandidates() {
+            return Collections.singletonList(this);
+        }
+
+        @Override
+        public CapabilityResolutionDetails select(ComponentVariantIdentifier candidate) {
+            return this;
+        }
+
+        @Override
+        public CapabilityResolutionDetails select(Object notation) {
+            return this;
+        }
+
+        @Override
+        public CapabilityResolutionDetails selectHighestVersion() {
+            return this;
+        }
+
+        @Override
+        public CapabilityResolutionDetails because(String reason) {
+            return this;
+        }
+
+        @Override
+        public ComponentIdentifier getId() {
+            return () -> definition.getCapability();
+        }
+
+        @Override
+        public String getVariantName() {
+            return "runtime";
+        }
+    }
+}
@@ -0,0 +1,58 @@
+// SPDX-License-Identifier: Apache-2.0
+package org.gradlex.jvm.dependency.conflict.resolution;
+
+import java.util.concurrent.TimeUnit;
+import org.gradle.api.Project;
+import org.gradle.api.artifacts.ConfigurationContainer;
+import org.gradle.api.plugins.JavaLibraryPlugin;
+import org.gradle.api.tasks.SourceSetContainer;
+import org.gradle.testfixtures.ProjectBuilder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Configuration time cost (time and, with the 'gc' profiler, allocation) of registering the capability conflict
+ * handlers in a project with a typical number of configurations, comparing one handler per capability definition
+ * (default) with a single handler per configuration.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class CapabilityHandlerRegistrationBenchmark {
+
+    private static final int ADDITIONAL_CONFIGURATIONS = 40;
+
+    @Param({"false", "true"})
+    public boolean singleCapabilityHandler;
+
+    private ConfigurationContainer configurations;
+    private JvmDependencyConflictsExtension jvmDependencyConflicts;
+
+    @Setup(Level.Invocation)
+    public void createProject() {
+        Project project = ProjectBuilder.builder().build();
+        project.getPlugins().apply(JavaLibraryPlugin.class);
+        configurations = project.getConfigurations();
+        jvmDependencyConflicts = project.getObjects()
+                .newInstance(
+                        JvmDependencyConflictsExtension.class,
+                        project.getExtensions().getByType(SourceSetContainer.class));
+    }
+
+    @Benchmark
+    public ConfigurationContainer registerHandlers() {
+        JvmDependencyConflictResolutionPlugin.configureResolutionStrategies(
+                configurations, jvmDependencyConflicts, singleCapabilityHandler);
+        for (int i = 0; i < ADDITIONAL_CONFIGURATIONS; i++) {
+            configurations.create("additional" + i);
+        }
+        return configurations;
+    }
+}
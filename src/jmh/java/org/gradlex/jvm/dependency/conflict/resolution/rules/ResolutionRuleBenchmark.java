@@ -0,0 +1,112 @@
+// SPDX-License-Identifier: Apache-2.0
+package org.gradlex.jvm.dependency.conflict.resolution.rules;
+
+import static org.gradle.nativeplatform.MachineArchitecture.X86_64;
+import static org.gradle.nativeplatform.OperatingSystemFamily.LINUX;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import org.gradle.api.Project;
+import org.gradle.api.artifacts.ComponentMetadataContext;
+import org.gradle.api.artifacts.ComponentMetadataRule;
+import org.gradle.api.model.ObjectFactory;
+import org.gradle.testfixtures.ProjectBuilder;
+import org.gradlex.jvm.dependency.conflict.fixture.FakeComponentMetadata;
+import org.gradlex.jvm.dependency.conflict.resolution.rules.ModulePatchPlan.Kind;
+import org.gradlex.jvm.dependency.conflict.resolution.rules.ModulePatchPlan.Step;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Cost of each rule used by the 'patch' DSL and of the built-in rules of the resolution plugin, executed against
+ * a component with a 'compile' and a 'runtime' variant.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(time = 1)
+@Measurement(time = 1)
+public class ResolutionRuleBenchmark {
+
+    private static final String[] DEPENDENCIES = {
+        "com.google.guava:failureaccess:1.0.1",
+        "org.checkerframework:checker-qual:3.12.0",
+        "com.google.code.findbugs:jsr305:3.0.2"
+    };
+
+    @SuppressWarnings("deprecation")
+    public enum Rule {
+        ADD_API_DEPENDENCY(objects -> objects.newInstance(
+                AddApiDependencyMetadataRule.class, "org.apache.commons:commons-lang3:3.17.0", "")),
+        ADD_RUNTIME_ONLY_DEPENDENCY(objects -> objects.newInstance(
+                AddRuntimeOnlyDependencyMetadataRule.class, "org.apache.commons:commons-lang3:3.17.0", "")),
+        ADD_COMPILE_ONLY_API_DEPENDENCY(objects -> objects.newInstance(
+                AddCompileOnlyApiDependencyMetadataRule.class, "org.apache.commons:commons-lang3:3.17.0", "")),
+        REMOVE_DEPENDENCY(objects ->
+                objects.newInstance(RemoveDependencyMetadataRule.class, "com.google.code.findbugs:jsr305")),
+        REDUCE_TO_RUNTIME_ONLY_DEPENDENCY(objects -> objects.newInstance(
+                ReduceToRuntimeOnlyDependencyMetadataRule.class, "com.google.code.findbugs:jsr305")),
+        REDUCE_TO_COMPILE_ONLY_API_DEPENDENCY(objects -> objects.newInstance(
+                ReduceToCompileOnlyApiDependencyMetadataRule.class, "com.google.code.findbugs:jsr305")),
+        ADD_CAPABILITY(objects ->
+                objects.newInstance(AddCapabilityMetadataRule.class, "com.google.collections:google-collections")),
+        REMOVE_CAPABILITY(objects ->
+                objects.newInstance(RemoveCapabilityMetadataRule.class, "com.google.guava:listenablefuture")),
+        ADD_FEATURE(objects -> objects.newInstance(AddFeatureMetadataRule.class, "jdk8")),
+        ADD_TARGET_PLATFORM_VARIANT(objects -> objects.newInstance(
+                AddTargetPlatformVariantsMetadataRule.class, "", "linux-x86_64", LINUX, X86_64)),
+        ADD_ALIGNMENT_CONSTRAINTS(objects -> objects.newInstance(
+                AddAlignmentConstraintsMetadataRule.class, Arrays.asList("guava", "guava-testlib", "guava-gwt"))),
+        ADD_BOM_DEPENDENCY(objects ->
+                objects.newInstance(AddBomDependencyMetadataRule.class, "com.google.guava:guava-bom")),
+        ADD_VIRTUAL_PLATFORM(objects ->
+                objects.newInstance(AddVirtualPlatformMetadataRule.class, "org.gradlex:guava-virtual-platform")),
+        COMPONENT_STATUS(objects -> objects.newInstance(
+                ComponentStatusRule.class, Arrays.asList("-alpha", "-beta", "-rc", "-snapshot"))),
+        MODULE_PATCH(objects -> objects.newInstance(
+                ModulePatchRule.class,
+                new ModulePatchPlan(Arrays.asList(
+                        new Step(Kind.REMOVE_DEPENDENCY, "com.google.code.findbugs:jsr305"),
+                        new Step(Kind.REDUCE_TO_COMPILE_ONLY_API_DEPENDENCY, "org.checkerframework:checker-qual"),
+                        new Step(Kind.ADD_CAPABILITY, "com.google.collections:google-collections"),
+                        new Step(Kind.ADD_FEATURE, "jdk8"))))),
+        GUAVA(objects -> objects.newInstance(GuavaComponentRule.class)),
+        LWJGL_TARGET_PLATFORM(objects -> objects.newInstance(LWJGLTargetPlatformRule.class));
+
+        private final Function<ObjectFactory, ComponentMetadataRule> factory;
+
+        Rule(Function<ObjectFactory, ComponentMetadataRule> factory) {
+            this.factory = factory;
+        }
+    }
+
+    @Param
+    public Rule rule;
+
+    private ComponentMetadataContext context;
+    private ComponentMetadataRule instance;
+
+    @Setup
+    public void createRule() {
+        Project project = ProjectBuilder.builder().build();
+        instance = rule.factory.apply(project.getObjects());
+        String module = rule == Rule.LWJGL_TARGET_PLATFORM ? "org.lwjgl:lwjgl:3.3.4" : "com.google.guava:guava:31.1-jre";
+        context = new FakeComponentMetadata(
+                module, project.getConfigurations().detachedConfiguration().getAttributes(), DEPENDENCIES);
+    }
+
+    @Benchmark
+    public ComponentMetadataContext execute() {
+        instance.execute(context);
+        return context;
+    }
+}
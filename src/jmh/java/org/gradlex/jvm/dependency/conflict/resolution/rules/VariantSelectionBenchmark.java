@@ -0,0 +1,110 @@
+// SPDX-License-Identifier: Apache-2.0
+package org.gradlex.jvm.dependency.conflict.resolution.rules;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.gradle.api.Project;
+import org.gradle.api.artifacts.ComponentMetadataContext;
+import org.gradle.api.artifacts.ComponentMetadataDetails;
+import org.gradle.api.attributes.AttributeContainer;
+import org.gradle.api.attributes.Category;
+import org.gradle.api.attributes.Usage;
+import org.gradle.api.internal.attributes.AttributeContainerInternal;
+import org.gradle.internal.component.external.model.ModuleComponentResolveMetadata;
+import org.gradle.internal.component.model.VariantResolveMetadata;
+import org.gradle.testfixtures.ProjectBuilder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Cost of a dependency modification rule that discovers variants through internal API, executed against a stub
+ * {@link ComponentMetadataContext} of a module with Gradle Module Metadata ('gmm') or a POM only ('pom').
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class VariantSelectionBenchmark {
+
+    @Param({"gmm", "pom"})
+    public String metadata;
+
+    private ComponentMetadataContext context;
+    private AddApiDependencyMetadataRule rule;
+
+    @Setup
+    public void createContext() throws ReflectiveOperationException {
+        Project project = ProjectBuilder.builder().build();
+        List<Object> variants = new ArrayList<>();
+        if ("gmm".equals(metadata)) {
+            variants.add(variant(project, "apiElements", Usage.JAVA_API));
+            variants.add(variant(project, "runtimeElements", Usage.JAVA_RUNTIME));
+            variants.add(variant(project, "sourcesElements", "sources"));
+        }
+        Object variantList = Class.forName("com.google.common.collect.ImmutableList")
+                .getMethod("copyOf", Collection.class)
+                .invoke(null, variants);
+        ModuleComponentResolveMetadata resolveMetadata =
+                stub(ModuleComponentResolveMetadata.class, (method, args) -> variantList);
+        ComponentMetadataDetails details = stub(ComponentMetadataDetails.class, (method, args) -> null);
+        context = new StubContext(resolveMetadata, details);
+        rule = project.getObjects().newInstance(AddApiDependencyMetadataRule.class, "org.example:dependency", "");
+    }
+
+    @Benchmark
+    public ComponentMetadataContext executeRule() {
+        rule.execute(context);
+        return context;
+    }
+
+    private static VariantResolveMetadata variant(Project project, String name, String usage) {
+        AttributeContainer attributes = project.getConfigurations().create(name).getAttributes();
+        attributes.attribute(Usage.USAGE_ATTRIBUTE, project.getObjects().named(Usage.class, usage));
+        attributes.attribute(
+                Category.CATEGORY_ATTRIBUTE, project.getObjects().named(Category.class, Category.LIBRARY));
+        Object immutableAttributes = ((AttributeContainerInternal) attributes).asImmutable();
+        return stub(
+                VariantResolveMetadata.class,
+                (method, args) -> "getName".equals(method) ? name : immutableAttributes);
+    }
+
+    private static <T> T stub(Class<T> type, StubAnswer answer) {
+        return type.cast(Proxy.newProxyInstance(
+                type.getClassLoader(),
+                new Class<?>[] {type},
+                (proxy, method, args) -> answer.answer(method.getName(), args)));
+    }
+
+    private interface StubAnswer {
+        Object answer(String method, Object[] args);
+    }
+
+    private static final class StubContext implements ComponentMetadataContext {
+        // Same name as the field of Gradle's implementation that is accessed by VariantSelection
+        private final ModuleComponentResolveMetadata metadata;
+        private final ComponentMetadataDetails details;
+
+        StubContext(ModuleComponentResolveMetadata metadata, ComponentMetadataDetails details) {
+            this.metadata = metadata;
+            this.details = details;
+        }
+
+        @Override
+        public <T> T getDescriptor(Class<T> descriptorClass) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public ComponentMetadataDetails getDetails() {
+            return details;
+        }
+    }
+}
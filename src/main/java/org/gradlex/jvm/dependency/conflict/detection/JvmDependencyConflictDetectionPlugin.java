@@ -1,20 +1,37 @@
 // SPDX-License-Identifier: Apache-2.0
 package org.gradlex.jvm.dependency.conflict.detection;
 
+import java.io.File;
+import java.util.List;
+import javax.inject.Inject;
 import org.gradle.api.Plugin;
 import org.gradle.api.Project;
+import org.gradle.api.artifacts.ConfigurationContainer;
 import org.gradle.api.artifacts.dsl.ComponentMetadataHandler;
+import org.gradle.api.file.RegularFileProperty;
 import org.gradle.api.initialization.Settings;
+import org.gradle.api.invocation.Gradle;
+import org.gradle.api.model.ObjectFactory;
 import org.gradle.api.plugins.ExtensionAware;
 import org.gradle.api.plugins.JvmEcosystemPlugin;
+import org.gradle.api.provider.Provider;
+import org.gradle.api.provider.ProviderFactory;
+import org.gradle.build.event.BuildEventsListenerRegistry;
 import org.gradle.util.GradleVersion;
 import org.gradlex.jvm.dependency.conflict.detection.rules.AlignmentDefinition;
+import org.gradlex.jvm.dependency.conflict.detection.rules.CapabilityCatalogue;
 import org.gradlex.jvm.dependency.conflict.detection.rules.CapabilityDefinition;
+import org.gradlex.jvm.dependency.conflict.detection.rules.CapabilityPatternRule;
+import org.gradlex.jvm.dependency.conflict.detection.rules.CatalogueCapabilityRule;
+import org.gradlex.jvm.dependency.conflict.detection.rules.DefinitionIndex;
+import org.gradlex.jvm.dependency.conflict.detection.rules.IndexedDefinitionRule;
+import org.gradlex.jvm.dependency.conflict.detection.rules.VirtualPlatformAlignmentRule;
 import org.gradlex.jvm.dependency.conflict.resolution.rules.LWJGLTargetPlatformRule;
+import org.gradlex.jvm.dependency.conflict.resolution.rules.NativesMatrix;
 import org.jspecify.annotations.NullMarked;
 
 @NullMarked
-public class JvmDependencyConflictDetectionPlugin implements Plugin<ExtensionAware> {
+public abstract class JvmDependencyConflictDetectionPlugin implements Plugin<ExtensionAware> {
 
     // Minimal version that works reliably with alignment, has the substitution rules `using` API
     // and has rulesMode setting in dependencyResolutionManagement
@@ -24,6 +41,35 @@ public class JvmDependencyConflictDetectionPlugin implements Plugin<ExtensionAwa
     // For more detail see: https://github.com/gradle/gradle/issues/30088
     public static final GradleVersion MINIMUM_SUPPORTED_VERSION_DEPENDENCY_CAPABILITY = GradleVersion.version("8.11.1");
 
+    // Opt-in: register one rule for all components that dispatches through an index,
+    // instead of one rule per module of each definition
+    public static final String INDEXED_DISPATCH_PROPERTY =
+            "org.gradlex.jvm-dependency-conflict-detection.indexed-dispatch";
+
+    // Opt-in: align modules of definitions without BOM through a virtual platform,
+    // instead of adding constraints to all other modules of the definition
+    public static final String VIRTUAL_PLATFORM_ALIGNMENT_PROPERTY =
+            "org.gradlex.jvm-dependency-conflict-detection.virtual-platform-alignment";
+
+    // Opt-in: record executions and execution times of the rules and write them to
+    // 'build/reports/jvm-dependency-conflict-detection/rule-statistics.json' at the end of the build
+    public static final String RULE_STATISTICS_PROPERTY =
+            "org.gradlex.jvm-dependency-conflict-detection.rule-statistics";
+
+    // Path, relative to the root directory, of a catalogue file with additional capabilities
+    // (see CapabilityCatalogue for the format)
+    public static final String CAPABILITY_CATALOGUE_PROPERTY =
+            "org.gradlex.jvm-dependency-conflict-detection.capability-catalogue";
+
+    private static final String RULE_STATISTICS_REPORT =
+            "build/reports/jvm-dependency-conflict-detection/rule-statistics.json";
+
+    @Inject
+    protected abstract BuildEventsListenerRegistry getBuildEvents();
+
+    @Inject
+    protected abstract ObjectFactory getObjects();
+
     @Override
     public void apply(ExtensionAware projectOrSettings) {
         if (GradleVersion.current().compareTo(MINIMUM_SUPPORTED_VERSION) < 0) {
@@ -32,53 +78,123 @@ public class JvmDependencyConflictDetectionPlugin implements Plugin<ExtensionAwa
         }
 
         ComponentMetadataHandler components;
+        ProviderFactory providers;
+        Gradle gradle;
+        File rootDir;
         if (projectOrSettings instanceof Project) {
             // Make sure 'jvm-ecosystem' is applied which adds the schemas for the attributes this plugin relies on
             ((Project) projectOrSettings).getPlugins().apply(JvmEcosystemPlugin.class);
             components = ((Project) projectOrSettings).getDependencies().getComponents();
+            providers = ((Project) projectOrSettings).getProviders();
+            gradle = ((Project) projectOrSettings).getGradle();
+            rootDir = ((Project) projectOrSettings).getRootDir();
         } else if (projectOrSettings instanceof Settings) {
             components = ((Settings) projectOrSettings)
                     .getDependencyResolutionManagement()
                     .getComponents();
+            providers = ((Settings) projectOrSettings).getProviders();
+            gradle = ((Settings) projectOrSettings).getGradle();
+            rootDir = ((Settings) projectOrSettings).getRootDir();
         } else {
             throw new IllegalStateException(
                     "Cannot apply plugin to: " + projectOrSettings.getClass().getName());
         }
-        registerRules(components);
+        if (isEnabled(providers, RULE_STATISTICS_PROPERTY)) {
+            Provider<RuleStatisticsService> service = registerRuleStatisticsService(gradle, rootDir);
+            if (projectOrSettings instanceof Project) {
+                createOnResolve(((Project) projectOrSettings).getConfigurations(), service);
+            } else {
+                gradle.allprojects(project -> createOnResolve(project.getConfigurations(), service));
+            }
+        }
+        registerRules(
+                components,
+                isEnabled(providers, INDEXED_DISPATCH_PROPERTY),
+                isEnabled(providers, VIRTUAL_PLATFORM_ALIGNMENT_PROPERTY));
+        Provider<String> cataloguePath = providers.gradleProperty(CAPABILITY_CATALOGUE_PROPERTY);
+        if (cataloguePath.isPresent()) {
+            registerCapabilityCatalogue(components, providers, new File(rootDir, cataloguePath.get()));
+        }
     }
 
-    private void registerRules(ComponentMetadataHandler components) {
-        for (CapabilityDefinition definition : CapabilityDefinition.values()) {
-            registerCapabilityRule(definition, components);
+    private void registerCapabilityCatalogue(
+            ComponentMetadataHandler components, ProviderFactory providers, File file) {
+        if (!file.isFile()) {
+            throw new IllegalStateException("Capability catalogue does not exist: " + file);
         }
-        for (AlignmentDefinition definition : AlignmentDefinition.values()) {
-            registerAlignmentRule(definition, components);
+        RegularFileProperty catalogueFile = getObjects().fileProperty().fileValue(file);
+        // Read through the provider so that the content is an input of the configuration cache
+        String content = providers.fileContents(catalogueFile).getAsText().get();
+        CapabilityCatalogue catalogue = CapabilityCatalogue.parse(content, file.getPath());
+        if (!catalogue.getEntries().isEmpty()) {
+            components.all(CatalogueCapabilityRule.class, ac -> ac.params(catalogue.getEntries()));
         }
-        if (GradleVersion.current().compareTo(MINIMUM_SUPPORTED_VERSION_DEPENDENCY_CAPABILITY) >= 0) {
-            for (String module : AlignmentDefinition.LWJGL.getModules()) {
-                switch (module) {
-                    case "org.lwjgl:lwjgl-cuda":
-                    case "org.lwjgl:lwjgl-egl":
-                    case "org.lwjgl:lwjgl-fmod":
-                    case "org.lwjgl:lwjgl-jawt":
-                    case "org.lwjgl:lwjgl-odbc":
-                    case "org.lwjgl:lwjgl-opencl":
-                        continue;
+    }
+
+    private Provider<RuleStatisticsService> registerRuleStatisticsService(Gradle gradle, File rootDir) {
+        Provider<RuleStatisticsService> service = gradle.getSharedServices()
+                .registerIfAbsent(
+                        "jvmDependencyConflictRuleStatistics",
+                        RuleStatisticsService.class,
+                        spec -> spec.getParameters().getOutputFile().set(new File(rootDir, RULE_STATISTICS_REPORT)));
+        getBuildEvents().onTaskCompletion(service);
+        return service;
+    }
+
+    // Rules are executed when a configuration is resolved, which may already happen during configuration.
+    // Create the service before that, as rules can only record while it exists.
+    private static void createOnResolve(
+            ConfigurationContainer configurations, Provider<RuleStatisticsService> service) {
+        configurations.configureEach(c -> c.getIncoming().beforeResolve(r -> service.get()));
+    }
+
+    static void registerRules(
+            ComponentMetadataHandler components, boolean indexedDispatch, boolean virtualPlatformAlignment) {
+        if (indexedDispatch) {
+            components.all(IndexedDefinitionRule.class, ac -> ac.params(virtualPlatformAlignment));
+        } else {
+            for (CapabilityDefinition definition : CapabilityDefinition.values()) {
+                registerCapabilityRule(definition, components);
+            }
+            List<String> patternGroups = DefinitionIndex.capabilityPatternGroups();
+            if (!patternGroups.isEmpty()) {
+                components.all(CapabilityPatternRule.class, ac -> ac.params(patternGroups));
+            }
+            for (AlignmentDefinition definition : AlignmentDefinition.values()) {
+                if (virtualPlatformAlignment && !definition.hasBom()) {
+                    registerVirtualPlatformAlignmentRule(definition, components);
+                } else {
+                    registerAlignmentRule(definition, components);
                 }
+            }
+        }
+        if (GradleVersion.current().compareTo(MINIMUM_SUPPORTED_VERSION_DEPENDENCY_CAPABILITY) >= 0) {
+            for (String module : NativesMatrix.LWJGL.getModules()) {
                 components.withModule(module, LWJGLTargetPlatformRule.class);
             }
         }
     }
 
-    private void registerCapabilityRule(CapabilityDefinition definition, ComponentMetadataHandler components) {
+    private static void registerCapabilityRule(CapabilityDefinition definition, ComponentMetadataHandler components) {
         for (String module : definition.getModules()) {
             components.withModule(module, definition.getRuleClass(), ac -> ac.params(definition));
         }
     }
 
-    private void registerAlignmentRule(AlignmentDefinition definition, ComponentMetadataHandler components) {
+    private static void registerAlignmentRule(AlignmentDefinition definition, ComponentMetadataHandler components) {
         for (String module : definition.getModules()) {
             components.withModule(module, definition.getRuleClass(), ac -> ac.params(definition));
         }
     }
+
+    private static void registerVirtualPlatformAlignmentRule(
+            AlignmentDefinition definition, ComponentMetadataHandler components) {
+        for (String module : definition.getModules()) {
+            components.withModule(module, VirtualPlatformAlignmentRule.class, ac -> ac.params(definition));
+        }
+    }
+
+    private static boolean isEnabled(ProviderFactory providers, String property) {
+        return Boolean.parseBoolean(providers.gradleProperty(property).getOrElse("false"));
+    }
 }
@@ -0,0 +1,46 @@
+// SPDX-License-Identifier: Apache-2.0
+package org.gradlex.jvm.dependency.conflict.detection;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import org.gradle.api.file.RegularFileProperty;
+import org.gradle.api.services.BuildService;
+import org.gradle.api.services.BuildServiceParameters;
+import org.gradle.tooling.events.FinishEvent;
+import org.gradle.tooling.events.OperationCompletionListener;
+import org.gradlex.jvm.dependency.conflict.detection.util.RuleStatistics;
+import org.jspecify.annotations.NullMarked;
+
+/**
+ * Holds the {@link RuleStatistics} of one build, which are recorded while the service exists, and writes them as JSON
+ * when it is closed at the end of the build. It listens to task completion only so that Gradle creates it in every
+ * build, also if the configuration is reused from the configuration cache.
+ */
+@NullMarked
+public abstract class RuleStatisticsService
+        implements BuildService<RuleStatisticsService.Parameters>, OperationCompletionListener, AutoCloseable {
+
+    public interface Parameters extends BuildServiceParameters {
+        RegularFileProperty getOutputFile();
+    }
+
+    private final RuleStatistics statistics = RuleStatistics.activate();
+
+    @Override
+    public void onFinish(FinishEvent event) {}
+
+    @Override
+    public void close() {
+        statistics.deactivate();
+        File outputFile = getParameters().getOutputFile().get().getAsFile();
+        try {
+            Files.createDirectories(outputFile.getParentFile().toPath());
+            Files.write(outputFile.toPath(), statistics.toJson().getBytes(StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
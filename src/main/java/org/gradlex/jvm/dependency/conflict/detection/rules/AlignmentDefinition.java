@@ -320,4 +320,12 @@ public enum AlignmentDefinition {
     public boolean hasBom() {
         return bom != null;
     }
+
+    /**
+     * @return coordinates of the virtual platform that all modules belong to if the definition is applied
+     * without a BOM in virtual platform mode
+     */
+    public String getVirtualPlatform() {
+        return "org.gradlex:" + name().toLowerCase().replace("_", "-") + "-virtual-platform";
+    }
 }
@@ -5,15 +5,17 @@ import javax.inject.Inject;
 import org.gradle.api.artifacts.CacheableRule;
 import org.gradle.api.artifacts.ComponentMetadataContext;
 import org.gradle.api.artifacts.ComponentMetadataDetails;
-import org.gradle.api.artifacts.ComponentMetadataRule;
 import org.gradle.api.artifacts.ModuleVersionIdentifier;
 import org.gradle.api.attributes.Category;
 import org.gradle.api.model.ObjectFactory;
+import org.gradlex.jvm.dependency.conflict.detection.util.InstrumentedRule;
+import org.gradlex.jvm.dependency.conflict.detection.util.RuleStatistics;
 import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
 
 @NullMarked
 @CacheableRule
-public abstract class AlignmentDefinitionRule implements ComponentMetadataRule {
+public abstract class AlignmentDefinitionRule extends InstrumentedRule {
 
     private final AlignmentDefinition definition;
 
@@ -26,11 +28,37 @@ public abstract class AlignmentDefinitionRule implements ComponentMetadataRule {
     protected abstract ObjectFactory getObjects();
 
     @Override
-    public final void execute(ComponentMetadataContext context) {
-        ComponentMetadataDetails details = context.getDetails();
+    protected final Enum<?> recordedDefinition() {
+        return definition;
+    }
+
+    @Override
+    protected final void doExecute(ComponentMetadataContext context) {
+        apply(context.getDetails(), null);
+    }
+
+    /**
+     * Variant of {@link #execute} that, if there is no BOM, lets each module belong to a virtual platform
+     * instead of adding constraints to all other modules.
+     */
+    final void executeWithVirtualPlatform(ComponentMetadataContext context) {
+        RuleStatistics statistics = RuleStatistics.current();
+        long start = statistics == null ? 0 : System.nanoTime();
+        try {
+            apply(context.getDetails(), definition.getVirtualPlatform());
+        } finally {
+            if (statistics != null) {
+                record(statistics, start);
+            }
+        }
+    }
+
+    private void apply(ComponentMetadataDetails details, @Nullable String virtualPlatform) {
         if (shouldApply(details.getId())) {
             if (definition.hasBom()) {
                 applyWithBom(details);
+            } else if (virtualPlatform != null) {
+                details.belongsTo(virtualPlatform + ":" + details.getId().getVersion(), true);
             } else {
                 applyWithoutBom(details);
             }
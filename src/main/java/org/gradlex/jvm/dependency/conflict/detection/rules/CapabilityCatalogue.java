@@ -0,0 +1,167 @@
+// SPDX-License-Identifier: Apache-2.0
+package org.gradlex.jvm.dependency.conflict.detection.rules;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import org.gradlex.jvm.dependency.conflict.detection.util.ModulePatterns;
+import org.gradlex.jvm.dependency.conflict.detection.util.RuleStatistics;
+import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * Capabilities that are defined in a catalogue file of the build instead of in {@link CapabilityDefinition}. The
+ * file has one capability per line followed by the modules that provide it. Lines starting with '#' are comments.
+ * <pre>
+ * com.example:logging = com.example:logging-legacy, com.example.new:logging
+ * com.example:client = com.example:client-*
+ * </pre>
+ * Modules ending with '*' are patterns (see {@link ModulePatterns}).
+ * A build has one catalogue, so only the catalogue that was parsed or created last is kept for the lifetime of the
+ * Gradle daemon. It is reused as long as the checksum of the file content, or the entries that are passed to
+ * {@link CatalogueCapabilityRule}, do not change.
+ */
+@NullMarked
+public final class CapabilityCatalogue {
+
+    public static final String CACHE_NAME = "CapabilityCatalogue";
+
+    private static volatile @Nullable CapabilityCatalogue last;
+
+    private final @Nullable String checksum;
+    private final Map<String, List<String>> entries;
+    private final Map<String, Map<String, List<String>>> capabilitiesByModule = new HashMap<>();
+    private final ModulePatterns<String> capabilityPatterns = new ModulePatterns<>();
+
+    private CapabilityCatalogue(@Nullable String checksum, Map<String, List<String>> entries) {
+        this.checksum = checksum;
+        this.entries = entries;
+        for (Map.Entry<String, List<String>> entry : entries.entrySet()) {
+            for (String module : entry.getValue()) {
+                if (ModulePatterns.isPattern(module)) {
+                    capabilityPatterns.add(module, entry.getKey());
+                    continue;
+                }
+                String group = module.substring(0, module.indexOf(':'));
+                String name = module.substring(module.indexOf(':') + 1);
+                capabilitiesByModule
+                        .computeIfAbsent(group, g -> new HashMap<>())
+                        .computeIfAbsent(name, n -> new ArrayList<>())
+                        .add(entry.getKey());
+            }
+        }
+    }
+
+    /**
+     * @param content the content of a catalogue file
+     * @param source the file the content was read from, for error messages
+     */
+    public static CapabilityCatalogue parse(String content, String source) {
+        String checksum = checksum(content);
+        CapabilityCatalogue catalogue = last;
+        if (catalogue != null && checksum.equals(catalogue.checksum)) {
+            RuleStatistics.recordCacheLookup(CACHE_NAME, true);
+            return catalogue;
+        }
+        RuleStatistics.recordCacheLookup(CACHE_NAME, false);
+        catalogue = new CapabilityCatalogue(checksum, readEntries(content, source));
+        last = catalogue;
+        return catalogue;
+    }
+
+    /**
+     * @param entries the entries of a catalogue, as returned by {@link #getEntries()}
+     */
+    public static CapabilityCatalogue of(Map<String, List<String>> entries) {
+        CapabilityCatalogue catalogue = last;
+        if (catalogue == null || !catalogue.entries.equals(entries)) {
+            catalogue = new CapabilityCatalogue(null, entries);
+            last = catalogue;
+        }
+        return catalogue;
+    }
+
+    /**
+     * @return the modules of each capability, sorted by capability
+     */
+    public Map<String, List<String>> getEntries() {
+        return entries;
+    }
+
+    /**
+     * @return the capabilities, as 'group:name', that the given module provides
+     */
+    public List<String> capabilitiesOf(String group, String name) {
+        Map<String, List<String>> byName = capabilitiesByModule.get(group);
+        List<String> byModule = byName == null ? null : byName.get(name);
+        List<String> byPattern = capabilityPatterns.match(group, name);
+        if (byPattern.isEmpty()) {
+            return byModule == null ? Collections.emptyList() : byModule;
+        }
+        Set<String> capabilities = new LinkedHashSet<>();
+        if (byModule != null) {
+            capabilities.addAll(byModule);
+        }
+        capabilities.addAll(byPattern);
+        return new ArrayList<>(capabilities);
+    }
+
+    private static Map<String, List<String>> readEntries(String content, String source) {
+        Map<String, List<String>> entries = new TreeMap<>();
+        String[] lines = content.split("\\R");
+        for (int i = 0; i < lines.length; i++) {
+            String line = lines[i].trim();
+            if (line.isEmpty() || line.startsWith("#")) {
+                continue;
+            }
+            int separator = line.indexOf('=');
+            if (separator < 0) {
+                throw new IllegalArgumentException("Invalid line " + (i + 1) + " in " + source + ": '" + line
+                        + "' (expected 'group:name = group:name, ...')");
+            }
+            String capability = checkCoordinates(line.substring(0, separator).trim(), source);
+            List<String> modules = new ArrayList<>(entries.getOrDefault(capability, Collections.emptyList()));
+            for (String module : line.substring(separator + 1).split(",")) {
+                if (!module.trim().isEmpty()) {
+                    modules.add(checkCoordinates(module.trim(), source));
+                }
+            }
+            entries.put(capability, Collections.unmodifiableList(modules));
+        }
+        return Collections.unmodifiableMap(entries);
+    }
+
+    private static String checkCoordinates(String coordinates, String source) {
+        String[] parts = coordinates.split(":");
+        if (parts.length != 2 || parts[0].isEmpty() || parts[1].isEmpty()) {
+            throw new IllegalArgumentException(
+                    "Invalid coordinates in " + source + ": '" + coordinates + "' (expected 'group:name')");
+        }
+        if (coordinates.indexOf(ModulePatterns.WILDCARD) >= 0 && !ModulePatterns.isValidPattern(coordinates)) {
+            throw new IllegalArgumentException("Invalid pattern in " + source + ": '" + coordinates
+                    + "' (expected a single '" + ModulePatterns.WILDCARD + "' at the end)");
+        }
+        return coordinates;
+    }
+
+    private static String checksum(String content) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(content.getBytes(StandardCharsets.UTF_8));
+            StringBuilder checksum = new StringBuilder();
+            for (byte b : digest) {
+                checksum.append(String.format("%02x", b));
+            }
+            return checksum.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
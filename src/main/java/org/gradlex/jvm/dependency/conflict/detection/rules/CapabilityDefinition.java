@@ -6,7 +6,9 @@ import static org.gradlex.jvm.dependency.conflict.resolution.DefaultResolutionSt
 import static org.gradlex.jvm.dependency.conflict.resolution.DefaultResolutionStrategy.NONE;
 
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
+import java.util.stream.Collectors;
 import org.gradlex.jvm.dependency.conflict.detection.rules.aopalliance.AopallianceRule;
 import org.gradlex.jvm.dependency.conflict.detection.rules.bouncycastle.BouncyCastleRule;
 import org.gradlex.jvm.dependency.conflict.detection.rules.guava.GuavaListenableFutureRule;
@@ -38,6 +40,7 @@ import org.gradlex.jvm.dependency.conflict.detection.rules.jakarta.JavaxWsRsApiR
 import org.gradlex.jvm.dependency.conflict.detection.rules.jakarta.JavaxXmlBindApiRule;
 import org.gradlex.jvm.dependency.conflict.detection.rules.jakarta.JavaxXmlWsApiRule;
 import org.gradlex.jvm.dependency.conflict.detection.rules.logging.LoggingModuleIdentifiers;
+import org.gradlex.jvm.dependency.conflict.detection.util.ModulePatterns;
 import org.gradlex.jvm.dependency.conflict.resolution.DefaultResolutionStrategy;
 import org.jspecify.annotations.NullMarked;
 
@@ -49,6 +52,8 @@ public enum CapabilityDefinition {
     BOUNCYCASTLE_BCMAIL(
             HIGHEST_VERSION,
             BouncyCastleRule.class,
+            "org.bouncycastle:bcmail-*",
+            "org.bouncycastle:bcjmail-*",
             "org.bouncycastle:bcmail-fips",
             "org.bouncycastle:bcmail-jdk14",
             "org.bouncycastle:bcmail-jdk15",
@@ -65,6 +70,7 @@ public enum CapabilityDefinition {
     BOUNCYCASTLE_BCPG(
             HIGHEST_VERSION,
             BouncyCastleRule.class,
+            "org.bouncycastle:bcpg-*",
             "org.bouncycastle:bcpg-fips",
             "org.bouncycastle:bcpg-jdk12",
             "org.bouncycastle:bcpg-jdk14",
@@ -78,6 +84,7 @@ public enum CapabilityDefinition {
     BOUNCYCASTLE_BCPKIX(
             HIGHEST_VERSION,
             BouncyCastleRule.class,
+            "org.bouncycastle:bcpkix-*",
             "org.bouncycastle:bcpkix-fips",
             "org.bouncycastle:bcpkix-jdk14",
             "org.bouncycastle:bcpkix-jdk15on",
@@ -87,6 +94,7 @@ public enum CapabilityDefinition {
     BOUNCYCASTLE_BCPROV(
             HIGHEST_VERSION,
             BouncyCastleRule.class,
+            "org.bouncycastle:bcprov-*",
             "org.bouncycastle:bcprov-debug-jdk14",
             "org.bouncycastle:bcprov-debug-jdk15on",
             "org.bouncycastle:bcprov-debug-jdk15to18",
@@ -115,6 +123,7 @@ public enum CapabilityDefinition {
     BOUNCYCASTLE_BCTLS(
             HIGHEST_VERSION,
             BouncyCastleRule.class,
+            "org.bouncycastle:bctls-*",
             "org.bouncycastle:bctls-jdk14",
             "org.bouncycastle:bctls-jdk15on",
             "org.bouncycastle:bctls-jdk15to18",
@@ -124,6 +133,7 @@ public enum CapabilityDefinition {
     BOUNCYCASTLE_BCTSP(
             HIGHEST_VERSION,
             BouncyCastleRule.class,
+            "org.bouncycastle:bctsp-*",
             "org.bouncycastle:bctsp-jdk14",
             "org.bouncycastle:bctsp-jdk15",
             "org.bouncycastle:bctsp-jdk15+",
@@ -132,6 +142,7 @@ public enum CapabilityDefinition {
     BOUNCYCASTLE_BCUTIL(
             HIGHEST_VERSION,
             BouncyCastleRule.class,
+            "org.bouncycastle:bcutil-*",
             "org.bouncycastle:bcutil-jdk14",
             "org.bouncycastle:bcutil-jdk15on",
             "org.bouncycastle:bcutil-jdk15to18",
@@ -510,6 +521,7 @@ public enum CapabilityDefinition {
     private final String group;
     private final String capabilityName;
     private final List<String> modules;
+    private final List<String> modulePatterns;
     private final DefaultResolutionStrategy defaultStrategy;
     private final Class<? extends CapabilityDefinitionRule> ruleClass;
 
@@ -531,7 +543,11 @@ public enum CapabilityDefinition {
             String... modules) {
         this.group = group;
         this.capabilityName = nameInKebabCase();
-        this.modules = Arrays.asList(modules);
+        this.modules = Collections.unmodifiableList(Arrays.stream(modules)
+                .filter(module -> !ModulePatterns.isPattern(module))
+                .collect(Collectors.toList()));
+        this.modulePatterns = Collections.unmodifiableList(
+                Arrays.stream(modules).filter(ModulePatterns::isPattern).collect(Collectors.toList()));
         this.defaultStrategy = defaultStrategy;
         this.ruleClass = ruleClass;
     }
@@ -553,6 +569,13 @@ public enum CapabilityDefinition {
         return modules;
     }
 
+    /**
+     * @return patterns, like 'org.bouncycastle:bcprov-*', matching modules in addition to {@link #getModules()}
+     */
+    public List<String> getModulePatterns() {
+        return modulePatterns;
+    }
+
     public DefaultResolutionStrategy getDefaultStrategy() {
         return defaultStrategy;
     }
@@ -4,14 +4,14 @@ package org.gradlex.jvm.dependency.conflict.detection.rules;
 import javax.inject.Inject;
 import org.gradle.api.artifacts.CacheableRule;
 import org.gradle.api.artifacts.ComponentMetadataContext;
-import org.gradle.api.artifacts.ComponentMetadataRule;
 import org.gradle.api.artifacts.ModuleVersionIdentifier;
 import org.gradle.api.artifacts.VariantMetadata;
+import org.gradlex.jvm.dependency.conflict.detection.util.InstrumentedRule;
 import org.jspecify.annotations.NullMarked;
 
 @NullMarked
 @CacheableRule
-public abstract class CapabilityDefinitionRule implements ComponentMetadataRule {
+public abstract class CapabilityDefinitionRule extends InstrumentedRule {
 
     private final CapabilityDefinition definition;
 
@@ -21,7 +21,12 @@ public abstract class CapabilityDefinitionRule implements ComponentMetadataRule
     }
 
     @Override
-    public final void execute(ComponentMetadataContext context) {
+    protected final Enum<?> recordedDefinition() {
+        return definition;
+    }
+
+    @Override
+    protected final void doExecute(ComponentMetadataContext context) {
         if (shouldApply(context.getDetails().getId())) {
             context.getDetails().allVariants(variant -> {
                 variant.withCapabilities(capabilities -> {
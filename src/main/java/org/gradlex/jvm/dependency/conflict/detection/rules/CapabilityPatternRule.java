@@ -0,0 +1,54 @@
+// SPDX-License-Identifier: Apache-2.0
+package org.gradlex.jvm.dependency.conflict.detection.rules;
+
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import javax.inject.Inject;
+import org.gradle.api.artifacts.CacheableRule;
+import org.gradle.api.artifacts.ComponentMetadataContext;
+import org.gradle.api.artifacts.ComponentMetadataRule;
+import org.gradle.api.artifacts.ModuleVersionIdentifier;
+import org.gradle.api.model.ObjectFactory;
+import org.jspecify.annotations.NullMarked;
+
+/**
+ * Fallback for modules that are not listed in a capability definition, but match one of its
+ * {@link CapabilityDefinition#getModulePatterns() patterns}, such as a new flavour of a BouncyCastle module. Listed
+ * modules have their own rules. The rule is registered for all components, as rules cannot be registered for a
+ * group, and returns right away for components outside the groups of the patterns.
+ */
+@NullMarked
+@CacheableRule
+public abstract class CapabilityPatternRule implements ComponentMetadataRule {
+
+    private final Map<CapabilityDefinition, CapabilityDefinitionRule> capabilityRules =
+            new EnumMap<>(CapabilityDefinition.class);
+
+    private final List<String> groups;
+
+    @Inject
+    protected abstract ObjectFactory getObjects();
+
+    /**
+     * @param groups the groups of the patterns, see {@link DefinitionIndex#capabilityPatternGroups()}
+     */
+    @Inject
+    public CapabilityPatternRule(List<String> groups) {
+        this.groups = groups;
+    }
+
+    @Override
+    public void execute(ComponentMetadataContext context) {
+        ModuleVersionIdentifier id = context.getDetails().getId();
+        if (!groups.contains(id.getGroup())) {
+            return;
+        }
+        for (CapabilityDefinition definition :
+                DefinitionIndex.capabilitiesMatchingPatterns(id.getGroup(), id.getName())) {
+            capabilityRules
+                    .computeIfAbsent(definition, d -> getObjects().newInstance(d.getRuleClass(), d))
+                    .execute(context);
+        }
+    }
+}
@@ -0,0 +1,43 @@
+// SPDX-License-Identifier: Apache-2.0
+package org.gradlex.jvm.dependency.conflict.detection.rules;
+
+import java.util.List;
+import java.util.Map;
+import javax.inject.Inject;
+import org.gradle.api.artifacts.CacheableRule;
+import org.gradle.api.artifacts.ComponentMetadataContext;
+import org.gradle.api.artifacts.ModuleVersionIdentifier;
+import org.gradlex.jvm.dependency.conflict.detection.util.InstrumentedRule;
+import org.jspecify.annotations.NullMarked;
+
+/**
+ * Single rule, registered for all components, that adds the capabilities of a {@link CapabilityCatalogue} to the
+ * modules providing them. The capability version is the version of the module.
+ */
+@NullMarked
+@CacheableRule
+public abstract class CatalogueCapabilityRule extends InstrumentedRule {
+
+    private final CapabilityCatalogue catalogue;
+
+    @Inject
+    public CatalogueCapabilityRule(Map<String, List<String>> entries) {
+        this.catalogue = CapabilityCatalogue.of(entries);
+    }
+
+    @Override
+    protected void doExecute(ComponentMetadataContext context) {
+        ModuleVersionIdentifier id = context.getDetails().getId();
+        List<String> capabilities = catalogue.capabilitiesOf(id.getGroup(), id.getName());
+        if (!capabilities.isEmpty()) {
+            context.getDetails().allVariants(variant -> variant.withCapabilities(c -> {
+                for (String capability : capabilities) {
+                    String group = capability.substring(0, capability.indexOf(':'));
+                    String name = capability.substring(capability.indexOf(':') + 1);
+                    c.removeCapability(group, name);
+                    c.addCapability(group, name, id.getVersion());
+                }
+            }));
+        }
+    }
+}
@@ -0,0 +1,179 @@
+// SPDX-License-Identifier: Apache-2.0
+package org.gradlex.jvm.dependency.conflict.detection.rules;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import org.gradlex.jvm.dependency.conflict.detection.util.ModulePatterns;
+import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * Index over all {@link CapabilityDefinition} and {@link AlignmentDefinition} entries, keyed by 'group' and 'name'
+ * of the modules they apply to and by capability coordinates. The {@link CapabilityDefinition#getModulePatterns()}
+ * are compiled into one {@link ModulePatterns} trie. Computed once when the class is loaded.
+ */
+@NullMarked
+public final class DefinitionIndex {
+
+    private static final Map<String, Map<String, List<CapabilityDefinition>>> CAPABILITIES_BY_MODULE =
+            indexCapabilities();
+    private static final Map<String, Map<String, List<AlignmentDefinition>>> ALIGNMENTS_BY_MODULE = indexAlignments();
+    private static final Map<String, CapabilityDefinition> CAPABILITIES_BY_COORDINATES = indexCoordinates();
+    private static final ModulePatterns<CapabilityDefinition> CAPABILITY_PATTERNS = indexCapabilityPatterns();
+    private static final List<String> CAPABILITY_PATTERN_GROUPS = indexCapabilityPatternGroups();
+
+    private DefinitionIndex() {}
+
+    /**
+     * @return the capability definitions applying to the given module, including the ones matching through a
+     *     pattern, in declaration order
+     */
+    public static List<CapabilityDefinition> capabilitiesOf(String group, String name) {
+        List<CapabilityDefinition> byModule = lookup(CAPABILITIES_BY_MODULE, group, name);
+        List<CapabilityDefinition> byPattern = CAPABILITY_PATTERNS.match(group, name);
+        if (byPattern.isEmpty()) {
+            return byModule;
+        }
+        Set<CapabilityDefinition> definitions = EnumSet.noneOf(CapabilityDefinition.class);
+        definitions.addAll(byModule);
+        definitions.addAll(byPattern);
+        return new ArrayList<>(definitions);
+    }
+
+    /**
+     * @return the capability definitions applying to the given module only through one of their patterns, because
+     *     the module is not listed in {@link CapabilityDefinition#getModules()}
+     */
+    public static List<CapabilityDefinition> capabilitiesMatchingPatterns(String group, String name) {
+        List<CapabilityDefinition> byPattern = CAPABILITY_PATTERNS.match(group, name);
+        if (byPattern.isEmpty()) {
+            return byPattern;
+        }
+        List<CapabilityDefinition> byModule = lookup(CAPABILITIES_BY_MODULE, group, name);
+        if (byModule.isEmpty()) {
+            return byPattern;
+        }
+        List<CapabilityDefinition> unlisted = new ArrayList<>(byPattern);
+        unlisted.removeAll(byModule);
+        return unlisted;
+    }
+
+    /**
+     * @return the sorted groups of all {@link CapabilityDefinition#getModulePatterns() patterns}, empty if there are
+     *     no patterns
+     */
+    public static List<String> capabilityPatternGroups() {
+        return CAPABILITY_PATTERN_GROUPS;
+    }
+
+    /**
+     * @return the alignment definitions applying to the given module, in declaration order
+     */
+    public static List<AlignmentDefinition> alignmentsOf(String group, String name) {
+        return lookup(ALIGNMENTS_BY_MODULE, group, name);
+    }
+
+    /**
+     * @param capability capability coordinates in the form 'group:name'
+     * @return the capability definition with the given coordinates, or null if there is none
+     */
+    public static @Nullable CapabilityDefinition capability(String capability) {
+        return CAPABILITIES_BY_COORDINATES.get(capability);
+    }
+
+    private static <T> List<T> lookup(Map<String, Map<String, List<T>>> index, String group, String name) {
+        Map<String, List<T>> byName = index.get(group);
+        if (byName == null) {
+            return Collections.emptyList();
+        }
+        List<T> definitions = byName.get(name);
+        return definitions == null ? Collections.emptyList() : definitions;
+    }
+
+    private static Map<String, Map<String, List<CapabilityDefinition>>> indexCapabilities() {
+        Map<String, Map<String, List<CapabilityDefinition>>> index = new HashMap<>();
+        for (CapabilityDefinition definition : CapabilityDefinition.values()) {
+            for (String module : definition.getModules()) {
+                add(index, module, definition);
+            }
+        }
+        return freeze(index);
+    }
+
+    private static ModulePatterns<CapabilityDefinition> indexCapabilityPatterns() {
+        ModulePatterns<CapabilityDefinition> patterns = new ModulePatterns<>();
+        for (CapabilityDefinition definition : CapabilityDefinition.values()) {
+            for (String module : definition.getModules()) {
+                if (module.indexOf(ModulePatterns.WILDCARD) >= 0) {
+                    throw invalidPattern(definition, module);
+                }
+            }
+            for (String pattern : definition.getModulePatterns()) {
+                if (!ModulePatterns.isValidPattern(pattern)) {
+                    throw invalidPattern(definition, pattern);
+                }
+                patterns.add(pattern, definition);
+            }
+        }
+        return patterns;
+    }
+
+    // Patterns of capability definitions only use the wildcard in the name (see indexCapabilityPatterns),
+    // so that each of them applies to a single group
+    private static List<String> indexCapabilityPatternGroups() {
+        Set<String> groups = new TreeSet<>();
+        for (CapabilityDefinition definition : CapabilityDefinition.values()) {
+            for (String pattern : definition.getModulePatterns()) {
+                groups.add(pattern.substring(0, pattern.indexOf(':')));
+            }
+        }
+        return Collections.unmodifiableList(new ArrayList<>(groups));
+    }
+
+    private static IllegalStateException invalidPattern(CapabilityDefinition definition, String module) {
+        return new IllegalStateException("Invalid module pattern in " + definition + ": '" + module
+                + "' (expected 'group:name" + ModulePatterns.WILDCARD + "' with a single '" + ModulePatterns.WILDCARD
+                + "' at the end of the name)");
+    }
+
+    private static Map<String, Map<String, List<AlignmentDefinition>>> indexAlignments() {
+        Map<String, Map<String, List<AlignmentDefinition>>> index = new HashMap<>();
+        for (AlignmentDefinition definition : AlignmentDefinition.values()) {
+            for (String module : definition.getModules()) {
+                add(index, module, definition);
+            }
+        }
+        return freeze(index);
+    }
+
+    private static Map<String, CapabilityDefinition> indexCoordinates() {
+        Map<String, CapabilityDefinition> index = new HashMap<>();
+        for (CapabilityDefinition definition : CapabilityDefinition.values()) {
+            index.putIfAbsent(definition.getCapability(), definition);
+        }
+        return index;
+    }
+
+    private static <T> void add(Map<String, Map<String, List<T>>> index, String module, T definition) {
+        String group = module.substring(0, module.indexOf(':'));
+        String name = module.substring(module.indexOf(':') + 1);
+        List<T> definitions = index.computeIfAbsent(group, g -> new HashMap<>())
+                .computeIfAbsent(name, n -> new ArrayList<>());
+        if (!definitions.contains(definition)) {
+            definitions.add(definition);
+        }
+    }
+
+    private static <T> Map<String, Map<String, List<T>>> freeze(Map<String, Map<String, List<T>>> index) {
+        for (Map<String, List<T>> byName : index.values()) {
+            byName.replaceAll((name, definitions) -> Collections.unmodifiableList(definitions));
+        }
+        return index;
+    }
+}
@@ -0,0 +1,58 @@
+// SPDX-License-Identifier: Apache-2.0
+package org.gradlex.jvm.dependency.conflict.detection.rules;
+
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import javax.inject.Inject;
+import org.gradle.api.artifacts.CacheableRule;
+import org.gradle.api.artifacts.ComponentMetadataContext;
+import org.gradle.api.artifacts.ComponentMetadataRule;
+import org.gradle.api.artifacts.ModuleVersionIdentifier;
+import org.gradle.api.model.ObjectFactory;
+import org.jspecify.annotations.NullMarked;
+
+/**
+ * Single rule, registered for all components, that looks up the definitions applying to a component in the
+ * {@link DefinitionIndex} and executes the corresponding definition rules. The effect is the same as registering
+ * each definition rule for each of its modules individually.
+ */
+@NullMarked
+@CacheableRule
+public abstract class IndexedDefinitionRule implements ComponentMetadataRule {
+
+    private final Map<CapabilityDefinition, CapabilityDefinitionRule> capabilityRules =
+            new EnumMap<>(CapabilityDefinition.class);
+    private final Map<AlignmentDefinition, AlignmentDefinitionRule> alignmentRules =
+            new EnumMap<>(AlignmentDefinition.class);
+    private final boolean virtualPlatformAlignment;
+
+    @Inject
+    public IndexedDefinitionRule(boolean virtualPlatformAlignment) {
+        this.virtualPlatformAlignment = virtualPlatformAlignment;
+    }
+
+    @Inject
+    protected abstract ObjectFactory getObjects();
+
+    @Override
+    public void execute(ComponentMetadataContext context) {
+        ModuleVersionIdentifier id = context.getDetails().getId();
+        List<CapabilityDefinition> capabilities = DefinitionIndex.capabilitiesOf(id.getGroup(), id.getName());
+        List<AlignmentDefinition> alignments = DefinitionIndex.alignmentsOf(id.getGroup(), id.getName());
+        for (CapabilityDefinition definition : capabilities) {
+            capabilityRules
+                    .computeIfAbsent(definition, d -> getObjects().newInstance(d.getRuleClass(), d))
+                    .execute(context);
+        }
+        for (AlignmentDefinition definition : alignments) {
+            AlignmentDefinitionRule rule =
+                    alignmentRules.computeIfAbsent(definition, d -> getObjects().newInstance(d.getRuleClass(), d));
+            if (virtualPlatformAlignment) {
+                rule.executeWithVirtualPlatform(context);
+            } else {
+                rule.execute(context);
+            }
+        }
+    }
+}
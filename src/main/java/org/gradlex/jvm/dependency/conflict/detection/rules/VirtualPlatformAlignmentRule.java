@@ -0,0 +1,34 @@
+// SPDX-License-Identifier: Apache-2.0
+package org.gradlex.jvm.dependency.conflict.detection.rules;
+
+import javax.inject.Inject;
+import org.gradle.api.artifacts.CacheableRule;
+import org.gradle.api.artifacts.ComponentMetadataContext;
+import org.gradle.api.artifacts.ComponentMetadataRule;
+import org.gradle.api.model.ObjectFactory;
+import org.jspecify.annotations.NullMarked;
+
+/**
+ * Applies an {@link AlignmentDefinition} that has no BOM through a virtual platform. Each module adds one
+ * 'belongs to' edge to the platform, instead of one constraint for each other module of the definition.
+ * The conditions of the definition's rule ({@link AlignmentDefinition#getRuleClass()}) still apply.
+ */
+@NullMarked
+@CacheableRule
+public abstract class VirtualPlatformAlignmentRule implements ComponentMetadataRule {
+
+    private final AlignmentDefinition definition;
+
+    @Inject
+    public VirtualPlatformAlignmentRule(AlignmentDefinition definition) {
+        this.definition = definition;
+    }
+
+    @Inject
+    protected abstract ObjectFactory getObjects();
+
+    @Override
+    public void execute(ComponentMetadataContext context) {
+        getObjects().newInstance(definition.getRuleClass(), definition).executeWithVirtualPlatform(context);
+    }
+}
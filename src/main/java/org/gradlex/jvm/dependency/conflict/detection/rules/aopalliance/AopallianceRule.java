@@ -14,7 +14,7 @@ import org.jspecify.annotations.NullMarked;
 public abstract class AopallianceRule extends CapabilityDefinitionRule {
 
     // the conflict starts from Spring 4.3.0, before that it is effectively a correct dependency
-    private static final String FIRST_AOP_EMBEDDED_VERSION = "4.3.0";
+    private static final VersionNumber FIRST_AOP_EMBEDDED_VERSION = VersionNumber.parse("4.3.0");
 
     @Inject
     public AopallianceRule(CapabilityDefinition rule) {
@@ -24,6 +24,6 @@ public abstract class AopallianceRule extends CapabilityDefinitionRule {
     @Override
     protected boolean shouldApply(ModuleVersionIdentifier id) {
         return "aopalliance".equals(id.getGroup())
-                || VersionNumber.parse(id.getVersion()).compareTo(VersionNumber.parse(FIRST_AOP_EMBEDDED_VERSION)) >= 0;
+                || VersionNumber.compare(id.getVersion(), FIRST_AOP_EMBEDDED_VERSION) >= 0;
     }
 }
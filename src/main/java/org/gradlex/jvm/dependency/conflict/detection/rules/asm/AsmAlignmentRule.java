@@ -13,6 +13,9 @@ import org.jspecify.annotations.NullMarked;
 @CacheableRule
 public abstract class AsmAlignmentRule extends AlignmentDefinitionRule {
 
+    // first version that is aligned through the BOM
+    private static final VersionNumber FIRST_BOM_VERSION = VersionNumber.parse("9.3");
+
     @Inject
     public AsmAlignmentRule(AlignmentDefinition definition) {
         super(definition);
@@ -20,6 +23,6 @@ public abstract class AsmAlignmentRule extends AlignmentDefinitionRule {
 
     @Override
     protected boolean shouldApply(ModuleVersionIdentifier id) {
-        return VersionNumber.parse(id.getVersion()).compareTo(VersionNumber.parse("9.3")) >= 0;
+        return VersionNumber.compare(id.getVersion(), FIRST_BOM_VERSION) >= 0;
     }
 }
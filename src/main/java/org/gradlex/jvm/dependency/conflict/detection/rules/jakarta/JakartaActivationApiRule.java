@@ -20,8 +20,6 @@ public abstract class JakartaActivationApiRule extends CapabilityDefinitionRule
 
     @Override
     protected boolean shouldApply(ModuleVersionIdentifier id) {
-        return VersionNumber.parse(id.getVersion())
-                        .compareTo(VersionNumber.parse(JavaxActivationApiRule.FIRST_JAKARTA_VERSION))
-                >= 0;
+        return VersionNumber.compare(id.getVersion(), JavaxActivationApiRule.FIRST_JAKARTA_VERSION) >= 0;
     }
 }
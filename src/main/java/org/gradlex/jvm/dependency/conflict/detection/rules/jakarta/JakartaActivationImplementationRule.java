@@ -15,6 +15,7 @@ public abstract class JakartaActivationImplementationRule extends CapabilityDefi
 
     // Starting with this version the implementation moved to the 'org.eclipse' package and is no longer a conflict
     public static final String FIRST_ECLIPSE_VERSION = "2.0.0";
+    private static final VersionNumber FIRST_ECLIPSE_VERSION_NUMBER = VersionNumber.parse(FIRST_ECLIPSE_VERSION);
 
     @Inject
     public JakartaActivationImplementationRule(CapabilityDefinition rule) {
@@ -28,13 +29,11 @@ public abstract class JakartaActivationImplementationRule extends CapabilityDefi
 
     private boolean isSunJakartaActivationImpl(ModuleVersionIdentifier id) {
         return "com.sun.activation".equals(id.getGroup())
-                && VersionNumber.parse(id.getVersion())
-                                .compareTo(VersionNumber.parse(JavaxActivationApiRule.FIRST_JAKARTA_VERSION))
-                        >= 0;
+                && VersionNumber.compare(id.getVersion(), JavaxActivationApiRule.FIRST_JAKARTA_VERSION) >= 0;
     }
 
     private boolean isAngusJakartaActivationImpl(ModuleVersionIdentifier id) {
         return "org.eclipse.angus".equals(id.getGroup())
-                && VersionNumber.parse(id.getVersion()).compareTo(VersionNumber.parse(FIRST_ECLIPSE_VERSION)) < 0;
+                && VersionNumber.compare(id.getVersion(), FIRST_ECLIPSE_VERSION_NUMBER) < 0;
     }
 }
@@ -28,9 +28,7 @@ public abstract class JakartaAnnotationApiRule extends CapabilityDefinitionRule
 
     @Override
     protected boolean shouldApply(ModuleVersionIdentifier id) {
-        return VersionNumber.parse(getVersion(id))
-                        .compareTo(VersionNumber.parse(JavaxAnnotationApiRule.FIRST_JAKARTA_VERSION))
-                >= 0;
+        return VersionNumber.compare(getVersion(id), JavaxAnnotationApiRule.FIRST_JAKARTA_VERSION) >= 0;
     }
 
     // This is probably 100% accurate - older Tomcat versions might ship older 1.x specs
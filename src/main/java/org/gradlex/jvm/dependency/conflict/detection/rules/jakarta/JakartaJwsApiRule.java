@@ -13,7 +13,7 @@ import org.jspecify.annotations.NullMarked;
 @CacheableRule
 public abstract class JakartaJwsApiRule extends CapabilityDefinitionRule {
 
-    private static final String JWS_MERGER_VERSION = "4.0.0";
+    private static final VersionNumber JWS_MERGER_VERSION = VersionNumber.parse("4.0.0");
 
     @Inject
     public JakartaJwsApiRule(CapabilityDefinition rule) {
@@ -23,7 +23,7 @@ public abstract class JakartaJwsApiRule extends CapabilityDefinitionRule {
     @Override
     protected boolean shouldApply(ModuleVersionIdentifier id) {
         if (id.getName().equals("jakarta.xml.ws-api")) {
-            return VersionNumber.parse(getVersion(id)).compareTo(VersionNumber.parse(JWS_MERGER_VERSION)) >= 0;
+            return VersionNumber.compare(getVersion(id), JWS_MERGER_VERSION) >= 0;
         }
         return true;
     }
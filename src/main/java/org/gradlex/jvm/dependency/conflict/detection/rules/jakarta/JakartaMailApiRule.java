@@ -22,8 +22,6 @@ public abstract class JakartaMailApiRule extends CapabilityDefinitionRule {
     protected boolean shouldApply(ModuleVersionIdentifier id) {
         // org.eclipse.angus has its own versioning, and everything is Jakarta
         return "org.eclipse.angus".equals(id.getGroup())
-                || VersionNumber.parse(id.getVersion())
-                                .compareTo(VersionNumber.parse(JavaxMailApiRule.FIRST_JAKARTA_VERSION))
-                        >= 0;
+                || VersionNumber.compare(id.getVersion(), JavaxMailApiRule.FIRST_JAKARTA_VERSION) >= 0;
     }
 }
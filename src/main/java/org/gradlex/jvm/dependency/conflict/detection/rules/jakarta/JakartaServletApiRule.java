@@ -28,8 +28,6 @@ public abstract class JakartaServletApiRule extends CapabilityDefinitionRule {
 
     @Override
     protected boolean shouldApply(ModuleVersionIdentifier id) {
-        return VersionNumber.parse(getVersion(id))
-                        .compareTo(VersionNumber.parse(JavaxServletApiRule.FIRST_JAKARTA_VERSION))
-                >= 0;
+        return VersionNumber.compare(getVersion(id), JavaxServletApiRule.FIRST_JAKARTA_VERSION) >= 0;
     }
 }
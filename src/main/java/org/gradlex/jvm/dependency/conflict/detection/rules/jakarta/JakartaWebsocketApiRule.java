@@ -28,8 +28,6 @@ public abstract class JakartaWebsocketApiRule extends CapabilityDefinitionRule {
 
     @Override
     protected boolean shouldApply(ModuleVersionIdentifier id) {
-        return VersionNumber.parse(getVersion(id))
-                        .compareTo(VersionNumber.parse(JavaxWebsocketApiRule.FIRST_JAKARTA_VERSION))
-                >= 0;
+        return VersionNumber.compare(getVersion(id), JavaxWebsocketApiRule.FIRST_JAKARTA_VERSION) >= 0;
     }
 }
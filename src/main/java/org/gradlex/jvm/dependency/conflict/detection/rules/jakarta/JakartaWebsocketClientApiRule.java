@@ -28,8 +28,6 @@ public abstract class JakartaWebsocketClientApiRule extends CapabilityDefinition
 
     @Override
     protected boolean shouldApply(ModuleVersionIdentifier id) {
-        return VersionNumber.parse(id.getVersion())
-                        .compareTo(VersionNumber.parse(JavaxWebsocketApiRule.FIRST_JAKARTA_VERSION))
-                >= 0;
+        return VersionNumber.compare(id.getVersion(), JavaxWebsocketApiRule.FIRST_JAKARTA_VERSION) >= 0;
     }
 }
@@ -13,7 +13,7 @@ import org.jspecify.annotations.NullMarked;
 @CacheableRule
 public abstract class JavaxAnnotationApiRule extends CapabilityDefinitionRule {
 
-    static final String FIRST_JAKARTA_VERSION = "2.0.0";
+    static final VersionNumber FIRST_JAKARTA_VERSION = VersionNumber.parse("2.0.0");
 
     @Inject
     public JavaxAnnotationApiRule(CapabilityDefinition rule) {
@@ -22,7 +22,7 @@ public abstract class JavaxAnnotationApiRule extends CapabilityDefinitionRule {
 
     @Override
     protected boolean shouldApply(ModuleVersionIdentifier id) {
-        return VersionNumber.parse(getVersion(id)).compareTo(VersionNumber.parse(FIRST_JAKARTA_VERSION)) < 0;
+        return VersionNumber.compare(getVersion(id), FIRST_JAKARTA_VERSION) < 0;
     }
 
     @Override
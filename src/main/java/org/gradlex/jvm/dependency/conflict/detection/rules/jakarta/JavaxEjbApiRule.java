@@ -13,7 +13,7 @@ import org.jspecify.annotations.NullMarked;
 @CacheableRule
 public abstract class JavaxEjbApiRule extends CapabilityDefinitionRule {
 
-    static final String FIRST_JAKARTA_VERSION = "4.0.0";
+    static final VersionNumber FIRST_JAKARTA_VERSION = VersionNumber.parse("4.0.0");
 
     @Inject
     public JavaxEjbApiRule(CapabilityDefinition rule) {
@@ -22,6 +22,6 @@ public abstract class JavaxEjbApiRule extends CapabilityDefinitionRule {
 
     @Override
     protected boolean shouldApply(ModuleVersionIdentifier id) {
-        return VersionNumber.parse(id.getVersion()).compareTo(VersionNumber.parse(FIRST_JAKARTA_VERSION)) < 0;
+        return VersionNumber.compare(id.getVersion(), FIRST_JAKARTA_VERSION) < 0;
     }
 }
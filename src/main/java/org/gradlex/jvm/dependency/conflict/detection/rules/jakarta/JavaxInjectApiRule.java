@@ -14,6 +14,7 @@ import org.jspecify.annotations.NullMarked;
 public abstract class JavaxInjectApiRule extends CapabilityDefinitionRule {
 
     public static final String FIRST_JAKARTA_VERSION = "2.0.0";
+    private static final VersionNumber FIRST_JAKARTA_VERSION_NUMBER = VersionNumber.parse(FIRST_JAKARTA_VERSION);
 
     @Inject
     public JavaxInjectApiRule(CapabilityDefinition rule) {
@@ -22,7 +23,7 @@ public abstract class JavaxInjectApiRule extends CapabilityDefinitionRule {
 
     @Override
     protected boolean shouldApply(ModuleVersionIdentifier id) {
-        return VersionNumber.parse(getVersion(id)).compareTo(VersionNumber.parse(FIRST_JAKARTA_VERSION)) < 0;
+        return VersionNumber.compare(getVersion(id), FIRST_JAKARTA_VERSION_NUMBER) < 0;
     }
 
     @Override
@@ -13,7 +13,7 @@ import org.jspecify.annotations.NullMarked;
 @CacheableRule
 public abstract class JavaxJwsApisRule extends CapabilityDefinitionRule {
 
-    static final String FIRST_JAKARTA_VERSION = "3.0.0";
+    static final VersionNumber FIRST_JAKARTA_VERSION = VersionNumber.parse("3.0.0");
 
     @Inject
     public JavaxJwsApisRule(CapabilityDefinition rule) {
@@ -22,6 +22,6 @@ public abstract class JavaxJwsApisRule extends CapabilityDefinitionRule {
 
     @Override
     protected boolean shouldApply(ModuleVersionIdentifier id) {
-        return VersionNumber.parse(getVersion(id)).compareTo(VersionNumber.parse(FIRST_JAKARTA_VERSION)) < 0;
+        return VersionNumber.compare(getVersion(id), FIRST_JAKARTA_VERSION) < 0;
     }
 }
@@ -13,7 +13,7 @@ import org.jspecify.annotations.NullMarked;
 @CacheableRule
 public abstract class JavaxServletApiRule extends CapabilityDefinitionRule {
 
-    static final String FIRST_JAKARTA_VERSION = "5.0.0";
+    static final VersionNumber FIRST_JAKARTA_VERSION = VersionNumber.parse("5.0.0");
 
     @Inject
     public JavaxServletApiRule(CapabilityDefinition rule) {
@@ -22,9 +22,7 @@ public abstract class JavaxServletApiRule extends CapabilityDefinitionRule {
 
     @Override
     protected boolean shouldApply(ModuleVersionIdentifier id) {
-        return VersionNumber.parse(getVersion(id))
-                        .compareTo(VersionNumber.parse(JavaxServletApiRule.FIRST_JAKARTA_VERSION))
-                < 0;
+        return VersionNumber.compare(getVersion(id), JavaxServletApiRule.FIRST_JAKARTA_VERSION) < 0;
     }
 
     @Override
@@ -13,7 +13,7 @@ import org.jspecify.annotations.NullMarked;
 @CacheableRule
 public abstract class JavaxWsRsApiRule extends CapabilityDefinitionRule {
 
-    static final String FIRST_JAKARTA_VERSION = "3.0.0";
+    static final VersionNumber FIRST_JAKARTA_VERSION = VersionNumber.parse("3.0.0");
 
     @Inject
     public JavaxWsRsApiRule(CapabilityDefinition rule) {
@@ -23,7 +23,7 @@ public abstract class JavaxWsRsApiRule extends CapabilityDefinitionRule {
     @Override
     protected boolean shouldApply(ModuleVersionIdentifier id) {
         return "org.jboss.resteasy".equals(id.getGroup())
-                || VersionNumber.parse(getVersion(id)).compareTo(VersionNumber.parse(FIRST_JAKARTA_VERSION)) < 0;
+                || VersionNumber.compare(getVersion(id), FIRST_JAKARTA_VERSION) < 0;
     }
 
     @Override
@@ -13,6 +13,9 @@ import org.jspecify.annotations.NullMarked;
 @CacheableRule
 public abstract class Log4J2Alignment extends AlignmentDefinitionRule {
 
+    // first version that is aligned through the BOM
+    private static final VersionNumber FIRST_BOM_VERSION = VersionNumber.parse("2.0");
+
     @Inject
     public Log4J2Alignment(AlignmentDefinition definition) {
         super(definition);
@@ -20,6 +23,6 @@ public abstract class Log4J2Alignment extends AlignmentDefinitionRule {
 
     @Override
     protected boolean shouldApply(ModuleVersionIdentifier id) {
-        return VersionNumber.parse(id.getVersion()).compareTo(VersionNumber.parse("2.0")) >= 0;
+        return VersionNumber.compare(id.getVersion(), FIRST_BOM_VERSION) >= 0;
     }
 }
@@ -20,6 +20,6 @@ public abstract class Slf4JAlignment extends AlignmentDefinitionRule {
 
     @Override
     protected boolean shouldApply(ModuleVersionIdentifier id) {
-        return VersionNumber.parse(id.getVersion()).compareTo(VersionNumber.parse("2.0.8")) < 0;
+        return VersionNumber.compare(id.getVersion(), Slf4J2Alignment.FIRST_BOM_VERSION) < 0;
     }
 }
@@ -13,6 +13,9 @@ import org.jspecify.annotations.NullMarked;
 @CacheableRule
 public abstract class LWJGLAlignmentRule extends AlignmentDefinitionRule {
 
+    // first version that is aligned through the BOM
+    private static final VersionNumber FIRST_BOM_VERSION = VersionNumber.parse("3.2.3");
+
     @Inject
     public LWJGLAlignmentRule(AlignmentDefinition definition) {
         super(definition);
@@ -20,6 +23,6 @@ public abstract class LWJGLAlignmentRule extends AlignmentDefinitionRule {
 
     @Override
     protected boolean shouldApply(ModuleVersionIdentifier id) {
-        return VersionNumber.parse(id.getVersion()).compareTo(VersionNumber.parse("3.2.3")) >= 0;
+        return VersionNumber.compare(id.getVersion(), FIRST_BOM_VERSION) >= 0;
     }
 }
@@ -0,0 +1,58 @@
+// SPDX-License-Identifier: Apache-2.0
+package org.gradlex.jvm.dependency.conflict.detection.util;
+
+import org.gradle.api.artifacts.ComponentMetadataContext;
+import org.gradle.api.artifacts.ComponentMetadataRule;
+import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * Base class of the component metadata rules of this plugin, which records each execution in
+ * {@link RuleStatistics}.
+ */
+@NullMarked
+public abstract class InstrumentedRule implements ComponentMetadataRule {
+
+    // Gradle instantiates a generated subclass of each rule, which is synthetic
+    private static final ClassValue<Class<?>> RULE_CLASS = new ClassValue<Class<?>>() {
+        @Override
+        protected Class<?> computeValue(Class<?> type) {
+            Class<?> rule = type;
+            while (rule.isSynthetic() && rule.getSuperclass() != null) {
+                rule = rule.getSuperclass();
+            }
+            return rule;
+        }
+    };
+
+    @Override
+    public void execute(ComponentMetadataContext context) {
+        RuleStatistics statistics = RuleStatistics.current();
+        if (statistics == null) {
+            doExecute(context);
+            return;
+        }
+        long start = System.nanoTime();
+        try {
+            doExecute(context);
+        } finally {
+            record(statistics, start);
+        }
+    }
+
+    protected abstract void doExecute(ComponentMetadataContext context);
+
+    /**
+     * @return the definition the rule is executed for, if any
+     */
+    protected @Nullable Enum<?> recordedDefinition() {
+        return null;
+    }
+
+    /**
+     * Records an execution of this rule that started at the given {@link System#nanoTime()}.
+     */
+    protected final void record(RuleStatistics statistics, long start) {
+        statistics.record(RULE_CLASS.get(getClass()), recordedDefinition(), System.nanoTime() - start);
+    }
+}
@@ -0,0 +1,112 @@
+// SPDX-License-Identifier: Apache-2.0
+package org.gradlex.jvm.dependency.conflict.detection.util;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * Prefix patterns for module coordinates, such as 'org.bouncycastle:bcprov-*', compiled into a trie. A module is
+ * matched against all patterns in one pass over its 'group:name' coordinates, independent of the number of patterns.
+ *
+ * @param <T> the type of the values the patterns are mapped to
+ */
+@NullMarked
+public final class ModulePatterns<T> {
+
+    public static final char WILDCARD = '*';
+
+    private final Node<T> root = new Node<>();
+    private boolean empty = true;
+
+    /**
+     * @return true if the given module notation ends with {@link #WILDCARD}
+     */
+    public static boolean isPattern(String module) {
+        return !module.isEmpty() && module.charAt(module.length() - 1) == WILDCARD;
+    }
+
+    /**
+     * @return true if the given module notation are 'group:name' coordinates with a single {@link #WILDCARD}, which is
+     *     at the end of the name
+     */
+    public static boolean isValidPattern(String module) {
+        int separator = module.indexOf(':');
+        return separator > 0
+                && module.indexOf(':', separator + 1) < 0
+                && module.indexOf(WILDCARD) == module.length() - 1;
+    }
+
+    /**
+     * @param pattern 'group:name' coordinates that end with {@link #WILDCARD}, which matches any suffix
+     */
+    public void add(String pattern, T value) {
+        if (!isValidPattern(pattern)) {
+            throw new IllegalArgumentException("Not a module pattern: '" + pattern + "' (expected 'group:name"
+                    + WILDCARD + "' with a single '" + WILDCARD + "' at the end of the name)");
+        }
+        Node<T> node = root;
+        for (int i = 0; i < pattern.length() - 1; i++) {
+            node = node.childOrCreate(pattern.charAt(i));
+        }
+        if (!node.values.contains(value)) {
+            node.values.add(value);
+        }
+        empty = false;
+    }
+
+    public boolean isEmpty() {
+        return empty;
+    }
+
+    /**
+     * @return the values of all patterns matching the module, ordered from the shortest to the longest pattern
+     */
+    public List<T> match(String group, String name) {
+        if (empty) {
+            return Collections.emptyList();
+        }
+        List<T> result = new ArrayList<>(root.values);
+        Node<T> node = walk(root, group, result);
+        if (node != null) {
+            node = node.child(':');
+            if (node != null) {
+                result.addAll(node.values);
+                walk(node, name, result);
+            }
+        }
+        return result;
+    }
+
+    private static <T> @Nullable Node<T> walk(Node<T> start, String segment, List<T> result) {
+        Node<T> node = start;
+        for (int i = 0; i < segment.length(); i++) {
+            node = node.child(segment.charAt(i));
+            if (node == null) {
+                return null;
+            }
+            result.addAll(node.values);
+        }
+        return node;
+    }
+
+    private static final class Node<T> {
+        private final List<T> values = new ArrayList<>(1);
+        private @Nullable Map<Character, Node<T>> children;
+
+        @Nullable Node<T> child(char c) {
+            return children == null ? null : children.get(c);
+        }
+
+        Node<T> childOrCreate(char c) {
+            if (children == null) {
+                children = new HashMap<>();
+            }
+            return children.computeIfAbsent(c, k -> new Node<>());
+        }
+    }
+}
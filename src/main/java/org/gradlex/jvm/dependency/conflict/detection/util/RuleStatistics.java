@@ -0,0 +1,130 @@
+// SPDX-License-Identifier: Apache-2.0
+package org.gradlex.jvm.dependency.conflict.detection.util;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * Opt-in instrumentation of the component metadata rules of this plugin. The values of one build are recorded in
+ * the instance that {@code RuleStatisticsService} activates for that build. Rules are instantiated by Gradle and
+ * cannot access build services, so they find the active instance through {@link #current()}. If there is none,
+ * nothing is recorded.
+ * <p>
+ * Rules are executed concurrently, so all counters are {@link LongAdder}s. Gradle does not execute a cacheable rule
+ * if the result is in its metadata rule cache. Hence, each recorded execution is a miss of that cache. The caches of
+ * the plugin itself report their hits and misses through {@link #recordCacheLookup}.
+ */
+@NullMarked
+public final class RuleStatistics {
+
+    private static final String NO_DEFINITION = "";
+
+    private static final AtomicReference<@Nullable RuleStatistics> CURRENT = new AtomicReference<>();
+
+    private final Map<Class<?>, Map<String, Counters>> rules = new ConcurrentHashMap<>();
+    private final Map<String, CacheCounters> caches = new ConcurrentHashMap<>();
+
+    private RuleStatistics() {}
+
+    /**
+     * Starts recording into a new instance, which replaces the instance of a previous build that was not deactivated.
+     */
+    public static RuleStatistics activate() {
+        RuleStatistics statistics = new RuleStatistics();
+        CURRENT.set(statistics);
+        return statistics;
+    }
+
+    /**
+     * Stops recording into this instance.
+     */
+    public void deactivate() {
+        CURRENT.compareAndSet(this, null);
+    }
+
+    /**
+     * @return the instance to record into, or null if recording is not enabled for the running build
+     */
+    public static @Nullable RuleStatistics current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Records an execution of a rule.
+     *
+     * @param rule the rule class (not the class of the instance, which is generated by Gradle)
+     * @param definition the definition the rule was executed for, if any
+     * @param nanos the execution time
+     */
+    public void record(Class<?> rule, @Nullable Enum<?> definition, long nanos) {
+        Counters counters = rules.computeIfAbsent(rule, r -> new ConcurrentHashMap<>())
+                .computeIfAbsent(definition == null ? NO_DEFINITION : definition.name(), d -> new Counters());
+        counters.executions.increment();
+        counters.nanos.add(nanos);
+    }
+
+    public static void recordCacheLookup(String cache, boolean hit) {
+        RuleStatistics statistics = CURRENT.get();
+        if (statistics == null) {
+            return;
+        }
+        CacheCounters counters = statistics.caches.computeIfAbsent(cache, c -> new CacheCounters());
+        (hit ? counters.hits : counters.misses).increment();
+    }
+
+    /**
+     * @return the recorded values as JSON, with rules, definitions and caches sorted by name
+     */
+    public String toJson() {
+        Map<String, Map<String, Counters>> rules = new TreeMap<>();
+        this.rules.forEach((rule, definitions) -> rules.put(rule.getName(), new TreeMap<>(definitions)));
+        StringBuilder json = new StringBuilder("{\n  \"rules\": [");
+        String separator = "\n";
+        for (Map.Entry<String, Map<String, Counters>> rule : rules.entrySet()) {
+            for (Map.Entry<String, Counters> definition : rule.getValue().entrySet()) {
+                json.append(separator)
+                        .append("    {\"rule\": \"")
+                        .append(rule.getKey())
+                        .append('"');
+                if (!definition.getKey().isEmpty()) {
+                    json.append(", \"definition\": \"").append(definition.getKey()).append('"');
+                }
+                json.append(", \"executions\": ")
+                        .append(definition.getValue().executions.sum())
+                        .append(", \"nanos\": ")
+                        .append(definition.getValue().nanos.sum())
+                        .append('}');
+                separator = ",\n";
+            }
+        }
+        json.append("\n  ],\n  \"caches\": [");
+        separator = "\n";
+        for (Map.Entry<String, CacheCounters> cache : new TreeMap<>(caches).entrySet()) {
+            json.append(separator)
+                    .append("    {\"cache\": \"")
+                    .append(cache.getKey())
+                    .append("\", \"hits\": ")
+                    .append(cache.getValue().hits.sum())
+                    .append(", \"misses\": ")
+                    .append(cache.getValue().misses.sum())
+                    .append('}');
+            separator = ",\n";
+        }
+        return json.append("\n  ]\n}\n").toString();
+    }
+
+    private static final class Counters {
+        private final LongAdder executions = new LongAdder();
+        private final LongAdder nanos = new LongAdder();
+    }
+
+    private static final class CacheCounters {
+        private final LongAdder hits = new LongAdder();
+        private final LongAdder misses = new LongAdder();
+    }
+}
@@ -2,17 +2,26 @@
 package org.gradlex.jvm.dependency.conflict.detection.util;
 
 import java.util.Objects;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 import org.jspecify.annotations.NullMarked;
 import org.jspecify.annotations.Nullable;
 
 /**
  * Inspired by: org.gradle.util.internal.VersionNumber
+ * <p>
+ * Rules that compare the version of each module against a constant should parse the constant once and use
+ * {@link #compare(CharSequence, VersionNumber)}, which does not allocate. Results of {@link #parse(String)} are kept
+ * in a small direct-mapped cache, as the same version strings are parsed again and again during resolution.
  */
 @NullMarked
 public class VersionNumber implements Comparable<VersionNumber> {
 
     private static final VersionNumber UNKNOWN = version(0, 0);
 
+    private static final String CACHE_NAME = "VersionNumber.parse";
+    private static final int CACHE_SIZE = 512;
+    private static final AtomicReferenceArray<CacheEntry> CACHE = new AtomicReferenceArray<>(CACHE_SIZE);
+
     private final int major;
     private final int minor;
     private final int micro;
@@ -41,11 +50,7 @@ public class VersionNumber implements Comparable<VersionNumber> {
         if (patch != other.patch) {
             return patch - other.patch;
         }
-        return toLowerCase(qualifier).compareTo(toLowerCase(other.qualifier));
-    }
-
-    private String toLowerCase(@Nullable String string) {
-        return string == null ? "" : string.toLowerCase();
+        return compareQualifier(qualifier == null ? "" : qualifier, 0, other.qualifier);
     }
 
     @Override
@@ -76,87 +81,149 @@ public class VersionNumber implements Comparable<VersionNumber> {
         if (versionString == null || versionString.isEmpty()) {
             return UNKNOWN;
         }
-        Scanner scanner = new Scanner(versionString);
+        int hash = versionString.hashCode();
+        int slot = (hash ^ (hash >>> 16)) & (CACHE_SIZE - 1);
+        CacheEntry entry = CACHE.get(slot);
+        if (entry != null && entry.versionString.equals(versionString)) {
+            RuleStatistics.recordCacheLookup(CACHE_NAME, true);
+            return entry.versionNumber;
+        }
+        RuleStatistics.recordCacheLookup(CACHE_NAME, false);
+        VersionNumber versionNumber = parseUncached(versionString);
+        CACHE.lazySet(slot, new CacheEntry(versionString, versionNumber));
+        return versionNumber;
+    }
 
-        int major;
+    /**
+     * Compares a version string with a parsed version, with the same result as
+     * {@code parse(versionString).compareTo(other)} but without creating a {@link VersionNumber}.
+     */
+    public static int compare(@Nullable CharSequence versionString, VersionNumber other) {
+        int length = versionString == null ? 0 : versionString.length();
+        if (versionString == null || !hasDigit(versionString, 0)) {
+            return UNKNOWN.compareTo(other);
+        }
+        int pos = digitsEnd(versionString, 0);
+        int major = number(versionString, 0, pos);
         int minor = 0;
         int micro = 0;
-        int patch = 0;
+        if (isDotAndDigit(versionString, pos)) {
+            int start = pos + 1;
+            pos = digitsEnd(versionString, start);
+            minor = number(versionString, start, pos);
+            if (isDotAndDigit(versionString, pos)) {
+                start = pos + 1;
+                pos = digitsEnd(versionString, start);
+                micro = number(versionString, start, pos);
+            }
+        }
+        if (pos != length && !isQualifier(versionString, pos)) {
+            return UNKNOWN.compareTo(other);
+        }
+        if (major != other.major) {
+            return major - other.major;
+        }
+        if (minor != other.minor) {
+            return minor - other.minor;
+        }
+        if (micro != other.micro) {
+            return micro - other.micro;
+        }
+        if (other.patch != 0) {
+            return -other.patch;
+        }
+        return compareQualifier(versionString, pos == length ? length : pos + 1, other.qualifier);
+    }
 
-        if (!scanner.hasDigit()) {
+    private static VersionNumber parseUncached(CharSequence versionString) {
+        if (!hasDigit(versionString, 0)) {
             return UNKNOWN;
         }
-        major = scanner.scanDigit();
-        if (scanner.isSeparatorAndDigit('.')) {
-            scanner.skipSeparator();
-            minor = scanner.scanDigit();
-            if (scanner.isSeparatorAndDigit('.')) {
-                scanner.skipSeparator();
-                micro = scanner.scanDigit();
+        int pos = digitsEnd(versionString, 0);
+        int major = number(versionString, 0, pos);
+        int minor = 0;
+        int micro = 0;
+        int patch = 0;
+        if (isDotAndDigit(versionString, pos)) {
+            int start = pos + 1;
+            pos = digitsEnd(versionString, start);
+            minor = number(versionString, start, pos);
+            if (isDotAndDigit(versionString, pos)) {
+                start = pos + 1;
+                pos = digitsEnd(versionString, start);
+                micro = number(versionString, start, pos);
             }
         }
 
-        if (scanner.isEnd()) {
+        if (pos == versionString.length()) {
             return new VersionNumber(major, minor, micro, patch, null);
         }
 
-        if (scanner.isQualifier()) {
-            scanner.skipSeparator();
-            return new VersionNumber(major, minor, micro, patch, scanner.remainder());
+        if (isQualifier(versionString, pos)) {
+            String qualifier = versionString.subSequence(pos + 1, versionString.length()).toString();
+            return new VersionNumber(major, minor, micro, patch, qualifier);
         }
 
         return UNKNOWN;
     }
 
-    private static class Scanner {
-        int pos;
-        final String str;
+    private static boolean hasDigit(CharSequence str, int pos) {
+        return pos < str.length() && Character.isDigit(str.charAt(pos));
+    }
 
-        private Scanner(String string) {
-            this.str = string;
-        }
+    private static boolean isDotAndDigit(CharSequence str, int pos) {
+        return pos < str.length() - 1 && str.charAt(pos) == '.' && Character.isDigit(str.charAt(pos + 1));
+    }
 
-        boolean hasDigit() {
-            return pos < str.length() && Character.isDigit(str.charAt(pos));
-        }
+    private static boolean isQualifier(CharSequence str, int pos) {
+        return pos < str.length() - 1 && (str.charAt(pos) == '.' || str.charAt(pos) == '-');
+    }
 
-        boolean isSeparatorAndDigit(char... separators) {
-            return pos < str.length() - 1 && oneOf(separators) && Character.isDigit(str.charAt(pos + 1));
+    private static int digitsEnd(CharSequence str, int start) {
+        int pos = start;
+        while (hasDigit(str, pos)) {
+            pos++;
         }
+        return pos;
+    }
 
-        private boolean oneOf(char... separators) {
-            char current = str.charAt(pos);
-            for (char separator : separators) {
-                if (current == separator) {
-                    return true;
-                }
+    private static int number(CharSequence str, int start, int end) {
+        int result = 0;
+        for (int pos = start; pos < end; pos++) {
+            int digit = Character.digit(str.charAt(pos), 10);
+            if (result > (Integer.MAX_VALUE - digit) / 10) {
+                throw new NumberFormatException("For input string: \"" + str.subSequence(start, end) + "\"");
             }
-            return false;
-        }
-
-        boolean isQualifier() {
-            return pos < str.length() - 1 && oneOf('.', '-');
+            result = result * 10 + digit;
         }
+        return result;
+    }
 
-        int scanDigit() {
-            int start = pos;
-            while (hasDigit()) {
-                pos++;
+    /**
+     * Compares the qualifier that starts at 'start' in 'str' with another qualifier, ignoring case. A missing
+     * qualifier is the same as an empty one.
+     */
+    private static int compareQualifier(CharSequence str, int start, @Nullable String other) {
+        String otherQualifier = other == null ? "" : other;
+        int length = str.length() - start;
+        int otherLength = otherQualifier.length();
+        for (int i = 0; i < Math.min(length, otherLength); i++) {
+            char c1 = Character.toLowerCase(str.charAt(start + i));
+            char c2 = Character.toLowerCase(otherQualifier.charAt(i));
+            if (c1 != c2) {
+                return c1 - c2;
             }
-            return Integer.parseInt(str.substring(start, pos));
-        }
-
-        public boolean isEnd() {
-            return pos == str.length();
         }
+        return length - otherLength;
+    }
 
-        public void skipSeparator() {
-            pos++;
-        }
+    private static final class CacheEntry {
+        final String versionString;
+        final VersionNumber versionNumber;
 
-        @Nullable
-        public String remainder() {
-            return pos == str.length() ? null : str.substring(pos);
+        CacheEntry(String versionString, VersionNumber versionNumber) {
+            this.versionString = versionString;
+            this.versionNumber = versionNumber;
         }
     }
 }
@@ -0,0 +1,77 @@
+// SPDX-License-Identifier: Apache-2.0
+package org.gradlex.jvm.dependency.conflict.resolution;
+
+import static org.gradlex.jvm.dependency.conflict.resolution.DefaultResolutionStrategy.FIRST_MODULE;
+import static org.gradlex.jvm.dependency.conflict.resolution.DefaultResolutionStrategy.HIGHEST_VERSION;
+
+import java.util.EnumMap;
+import java.util.Map;
+import org.gradle.api.Action;
+import org.gradle.api.artifacts.CapabilityResolutionDetails;
+import org.gradle.api.artifacts.ComponentVariantIdentifier;
+import org.gradle.api.artifacts.component.ModuleComponentIdentifier;
+import org.gradle.api.capabilities.Capability;
+import org.gradlex.jvm.dependency.conflict.detection.rules.CapabilityDefinition;
+import org.gradlex.jvm.dependency.conflict.detection.rules.DefinitionIndex;
+import org.jspecify.annotations.NullMarked;
+
+/**
+ * Applies the default resolution strategy of a {@link CapabilityDefinition} to a capability conflict, unless the
+ * strategy was deactivated. Can be registered for all capabilities of a configuration, in which case the
+ * definition is looked up in the {@link DefinitionIndex}.
+ */
+@NullMarked
+final class CapabilityConflictHandler implements Action<CapabilityResolutionDetails> {
+
+    private static final Map<CapabilityDefinition, String[]> FIRST_MODULES = firstModules();
+
+    private final ConflictResolution conflictResolution;
+
+    CapabilityConflictHandler(ConflictResolution conflictResolution) {
+        this.conflictResolution = conflictResolution;
+    }
+
+    @Override
+    public void execute(CapabilityResolutionDetails details) {
+        Capability capability = details.getCapability();
+        CapabilityDefinition definition =
+                DefinitionIndex.capability(capability.getGroup() + ":" + capability.getName());
+        if (definition != null) {
+            resolve(definition, details);
+        }
+    }
+
+    void resolve(CapabilityDefinition definition, CapabilityResolutionDetails details) {
+        if (!conflictResolution.isDeactivated(definition)) {
+            if (definition.getDefaultStrategy() == HIGHEST_VERSION) {
+                details.selectHighestVersion();
+            } else if (definition.getDefaultStrategy() == FIRST_MODULE) {
+                String[] firstModule = FIRST_MODULES.get(definition);
+                select(details, firstModule[0], firstModule[1]);
+            }
+        }
+    }
+
+    private static void select(CapabilityResolutionDetails details, String group, String name) {
+        for (ComponentVariantIdentifier candidate : details.getCandidates()) {
+            if (candidate.getId() instanceof ModuleComponentIdentifier) {
+                ModuleComponentIdentifier id = (ModuleComponentIdentifier) candidate.getId();
+                if (id.getGroup().equals(group) && id.getModule().equals(name)) {
+                    details.select(candidate);
+                    return;
+                }
+            }
+        }
+    }
+
+    private static Map<CapabilityDefinition, String[]> firstModules() {
+        Map<CapabilityDefinition, String[]> firstModules = new EnumMap<>(CapabilityDefinition.class);
+        for (CapabilityDefinition definition : CapabilityDefinition.values()) {
+            String module = definition.getModules().get(0);
+            int separator = module.indexOf(':');
+            firstModules.put(
+                    definition, new String[] {module.substring(0, separator), module.substring(separator + 1)});
+        }
+        return firstModules;
+    }
+}
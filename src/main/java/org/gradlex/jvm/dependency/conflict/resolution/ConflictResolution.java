@@ -1,8 +1,10 @@
 // SPDX-License-Identifier: Apache-2.0
 package org.gradlex.jvm.dependency.conflict.resolution;
 
-import java.util.Arrays;
-import java.util.Optional;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
 import javax.inject.Inject;
 import org.gradle.api.artifacts.CapabilityResolutionDetails;
 import org.gradle.api.artifacts.ComponentVariantIdentifier;
@@ -11,25 +13,56 @@ import org.gradle.api.artifacts.component.ComponentIdentifier;
 import org.gradle.api.artifacts.component.ModuleComponentIdentifier;
 import org.gradle.api.provider.SetProperty;
 import org.gradlex.jvm.dependency.conflict.detection.rules.CapabilityDefinition;
+import org.gradlex.jvm.dependency.conflict.detection.rules.DefinitionIndex;
+import org.gradlex.jvm.dependency.conflict.resolution.tasks.CapabilityConflictStrategy;
 import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
 
 @NullMarked
 public abstract class ConflictResolution {
 
+    private volatile @Nullable Set<CapabilityDefinition> deactivatedSnapshot;
+    private final Map<String, String> selections = new LinkedHashMap<>();
+
     @Inject
     protected abstract ConfigurationContainer getConfigurations();
 
     abstract SetProperty<CapabilityDefinition> getDeactivatedResolutionStrategies();
 
+    /**
+     * The deactivated strategies are copied into an EnumSet on first read, which happens when the first capability
+     * conflict is resolved. The copy is dropped whenever another strategy is deactivated.
+     */
+    boolean isDeactivated(CapabilityDefinition capability) {
+        Set<CapabilityDefinition> snapshot = deactivatedSnapshot;
+        if (snapshot == null) {
+            snapshot = EnumSet.noneOf(CapabilityDefinition.class);
+            snapshot.addAll(getDeactivatedResolutionStrategies().get());
+            deactivatedSnapshot = snapshot;
+        }
+        return snapshot.contains(capability);
+    }
+
+    /**
+     * The strategies selected for individual capabilities, for the capability conflict report.
+     *
+     * @see CapabilityConflictStrategy#encode
+     */
+    Map<String, String> getSelections() {
+        return selections;
+    }
+
     public void deactivateResolutionStrategy(CapabilityDefinition capability) {
         getDeactivatedResolutionStrategies().add(capability);
+        deactivatedSnapshot = null;
     }
 
     public void deactivateResolutionStrategy(String capability) {
-        Optional<CapabilityDefinition> definition = Arrays.stream(CapabilityDefinition.values())
-                .filter(c -> capability.equals(c.getCapability()))
-                .findFirst();
-        definition.ifPresent(c -> getDeactivatedResolutionStrategies().add(c));
+        CapabilityDefinition definition = DefinitionIndex.capability(capability);
+        if (definition != null) {
+            getDeactivatedResolutionStrategies().add(definition);
+            deactivatedSnapshot = null;
+        }
     }
 
     public void selectHighestVersion(CapabilityDefinition capability) {
@@ -63,6 +96,7 @@ public abstract class ConflictResolution {
     }
 
     private void doSelectHighestVersion(String capability) {
+        selections.put(capability, CapabilityConflictStrategy.encode(CapabilityConflictStrategy.HIGHEST_VERSION, null));
         getConfigurations().configureEach(conf -> conf.getResolutionStrategy()
                 .getCapabilitiesResolution()
                 .withCapability(capability, CapabilityResolutionDetails::selectHighestVersion));
@@ -71,6 +105,11 @@ public abstract class ConflictResolution {
     private void doSelect(String capability, String module, boolean lenient) {
         String group = module.split(":")[0];
         String name = module.split(":")[1];
+        selections.put(
+                capability,
+                CapabilityConflictStrategy.encode(
+                        lenient ? CapabilityConflictStrategy.SELECT_LENIENT : CapabilityConflictStrategy.SELECT,
+                        group + ":" + name));
         getConfigurations().configureEach(conf -> conf.getResolutionStrategy()
                 .getCapabilitiesResolution()
                 .withCapability(capability, c -> {
@@ -4,27 +4,55 @@ package org.gradlex.jvm.dependency.conflict.resolution;
 import static org.gradlex.jvm.dependency.conflict.resolution.JvmDependencyConflictResolutionPlugin.INTERNAL_CONFIGURATION_NAME;
 import static org.gradlex.jvm.dependency.conflict.resolution.JvmDependencyConflictResolutionPlugin.MAIN_RUNTIME_CLASSPATH_CONFIGURATION_NAME;
 
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.List;
+import java.util.function.Supplier;
 import javax.inject.Inject;
 import org.gradle.api.NamedDomainObjectProvider;
 import org.gradle.api.artifacts.Configuration;
 import org.gradle.api.artifacts.ConfigurationContainer;
 import org.gradle.api.artifacts.Dependency;
+import org.gradle.api.artifacts.DependencyConstraint;
+import org.gradle.api.artifacts.ModuleDependency;
 import org.gradle.api.artifacts.dsl.DependencyHandler;
+import org.gradle.api.artifacts.result.ResolvedComponentResult;
 import org.gradle.api.attributes.Bundling;
 import org.gradle.api.attributes.Category;
 import org.gradle.api.attributes.LibraryElements;
 import org.gradle.api.attributes.Usage;
 import org.gradle.api.attributes.java.TargetJvmEnvironment;
+import org.gradle.api.file.ConfigurableFileCollection;
+import org.gradle.api.file.ProjectLayout;
+import org.gradle.api.file.RegularFile;
 import org.gradle.api.model.ObjectFactory;
+import org.gradle.api.provider.Provider;
+import org.gradle.api.provider.ProviderFactory;
 import org.gradle.api.tasks.SourceSetContainer;
+import org.gradle.api.tasks.TaskContainer;
 import org.gradle.util.GradleVersion;
+import org.gradlex.jvm.dependency.conflict.resolution.tasks.UpdateVersionsLock;
+import org.gradlex.jvm.dependency.conflict.resolution.tasks.VerifyVersionsLock;
+import org.gradlex.jvm.dependency.conflict.resolution.tasks.VersionsLock;
 import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
 
 @NullMarked
 public abstract class ConsistentResolution {
 
+    // Minimal version that supports the resolution result as provider, from which the versions platform is created
+    static final GradleVersion MINIMUM_SUPPORTED_VERSION_VERSIONS_PLATFORM = GradleVersion.version("7.4");
+
+    private static final String VERSIONS_PLATFORM_CAPABILITY_GROUP = "org.gradlex.jvm-dependency-conflict-resolution";
+
+    static final String VERSIONS_LOCK_CONFIGURATION_NAME = "versionsLock";
+    static final String UPDATE_VERSIONS_LOCK_TASK_NAME = "updateVersionsLock";
+    static final String VERIFY_VERSIONS_LOCK_TASK_NAME = "verifyVersionsLock";
+
     private final SourceSetContainer sourceSets;
+    private boolean resolvesConsistently = false;
+    private @Nullable RegularFile versionsLockFile;
+    private @Nullable Runnable versionsPlatform;
 
     @Inject
     public ConsistentResolution(SourceSetContainer sourceSets) {
@@ -40,26 +68,143 @@ public abstract class ConsistentResolution {
     @Inject
     protected abstract DependencyHandler getDependencies();
 
+    @Inject
+    protected abstract ProjectLayout getLayout();
+
+    @Inject
+    protected abstract ProviderFactory getProviders();
+
+    @Inject
+    protected abstract TaskContainer getTasks();
+
+    /**
+     * The files that declare the versions of the projects that provide versions, for example version catalogs and
+     * build files. If they did not change since the lock file was written, the
+     * '{@value VERIFY_VERSIONS_LOCK_TASK_NAME}' task does not resolve the runtime classpath (see
+     * {@link #providesVersionsFromLock(String, String)}).
+     */
+    public abstract ConfigurableFileCollection getVersionsLockInputs();
+
     /**
      * The runtime classpath of the given project always respected in version conflict detection and resolution.
      */
     public NamedDomainObjectProvider<Configuration> providesVersions(String versionProvidingProject) {
         NamedDomainObjectProvider<Configuration> mainRuntimeClasspath = maybeCreateMainRuntimeClasspathConfiguration();
         getDependencies().add(mainRuntimeClasspath.getName(), createDependency(versionProvidingProject));
+        if (!resolvesConsistently) {
+            resolvesConsistently = true;
+            resolveConsistentlyWith(mainRuntimeClasspath);
+        }
+        return mainRuntimeClasspath;
+    }
+
+    /**
+     * Like {@link #providesVersions(String)}, but the classpaths of this project use the versions of a lock file as
+     * strict constraints. The runtime classpath of the given project is only resolved by the
+     * '{@value UPDATE_VERSIONS_LOCK_TASK_NAME}' task, which writes the lock file, and by the
+     * '{@value VERIFY_VERSIONS_LOCK_TASK_NAME}' task if the {@link #getVersionsLockInputs() inputs} changed.
+     * Requires Gradle 7.4 or newer.
+     *
+     * @param lockFile path of the lock file, relative to the project directory
+     */
+    public NamedDomainObjectProvider<Configuration> providesVersionsFromLock(
+            String versionProvidingProject, String lockFile) {
+        if (GradleVersion.current().compareTo(MINIMUM_SUPPORTED_VERSION_VERSIONS_PLATFORM) < 0) {
+            throw new IllegalStateException("providesVersionsFromLock() requires at least Gradle "
+                    + MINIMUM_SUPPORTED_VERSION_VERSIONS_PLATFORM.getVersion());
+        }
+        NamedDomainObjectProvider<Configuration> mainRuntimeClasspath = maybeCreateMainRuntimeClasspathConfiguration();
+        getDependencies().add(mainRuntimeClasspath.getName(), createDependency(versionProvidingProject));
+        RegularFile file = getLayout().getProjectDirectory().file(lockFile);
+        if (versionsLockFile == null) {
+            versionsLockFile = file;
+            registerVersionsLock(mainRuntimeClasspath, file);
+        } else if (!versionsLockFile.equals(file)) {
+            throw new IllegalStateException(
+                    "Only one versions lock per project is supported, already using: " + versionsLockFile);
+        }
         return mainRuntimeClasspath;
     }
 
+    /**
+     * Like {@link #providesVersions(String)}, but the versions are taken from a platform that the given project
+     * publishes (see {@link #publishesVersionsPlatform()}). The platform is computed once by the given project,
+     * instead of resolving its runtime classpath again in each project. Requires Gradle 7.4 or newer.
+     */
+    public void providesVersionsViaPlatform(String versionProvidingProject) {
+        if (GradleVersion.current().compareTo(MINIMUM_SUPPORTED_VERSION_VERSIONS_PLATFORM) < 0) {
+            throw new IllegalStateException("providesVersionsViaPlatform() requires at least Gradle "
+                    + MINIMUM_SUPPORTED_VERSION_VERSIONS_PLATFORM.getVersion());
+        }
+        addToInternalConfiguration(() -> {
+            String capability = versionsPlatformCapability(versionProvidingProject);
+            ModuleDependency projectDependency = (ModuleDependency) createDependency(versionProvidingProject);
+            projectDependency.capabilities(c -> c.requireCapability(capability));
+            return getDependencies().platform(projectDependency);
+        });
+    }
+
+    /**
+     * Publishes a platform with the versions of the runtime classpath of this project to the other projects of the
+     * build, which use it through {@link #providesVersionsViaPlatform(String)}. Requires Gradle 7.4 or newer and the
+     * 'java' plugin.
+     */
+    public void publishesVersionsPlatform() {
+        if (GradleVersion.current().compareTo(MINIMUM_SUPPORTED_VERSION_VERSIONS_PLATFORM) < 0) {
+            throw new IllegalStateException("publishesVersionsPlatform() requires at least Gradle "
+                    + MINIMUM_SUPPORTED_VERSION_VERSIONS_PLATFORM.getVersion());
+        }
+        if (versionsPlatform != null) {
+            versionsPlatform.run();
+            versionsPlatform = null;
+        }
+    }
+
     /**
      * A platform/BOM (<a href="https://docs.gradle.org/current/userguide/java_platform_plugin.html">Java Platform Plugin</a>)
      * used to provide versions not available through consistent resolution alone.
      * Useful if additional dependencies are needed only for tests.
      */
     public void platform(String platform) {
+        addToInternalConfiguration(() -> getDependencies().platform(createDependency(platform)));
+    }
+
+    /**
+     * @param register registers the versions platform of this project, see {@link VersionsPlatform#register}
+     */
+    void setVersionsPlatform(Runnable register) {
+        this.versionsPlatform = register;
+    }
+
+    /**
+     * @return the capability of the platform published by the given project (see {@link VersionsPlatform})
+     */
+    static String versionsPlatformCapability(String projectPath) {
+        return VERSIONS_PLATFORM_CAPABILITY_GROUP + ":versions" + projectPath.replace(':', '-') + ":1.0";
+    }
+
+    /**
+     * Sets the attributes of a resolvable runtime classpath of a Java library.
+     */
+    static void runtimeClasspathAttributes(Configuration c, ObjectFactory objects) {
+        c.getAttributes().attribute(Usage.USAGE_ATTRIBUTE, objects.named(Usage.class, Usage.JAVA_RUNTIME));
+        c.getAttributes().attribute(Category.CATEGORY_ATTRIBUTE, objects.named(Category.class, Category.LIBRARY));
+        c.getAttributes()
+                .attribute(
+                        LibraryElements.LIBRARY_ELEMENTS_ATTRIBUTE,
+                        objects.named(LibraryElements.class, LibraryElements.JAR));
+        c.getAttributes().attribute(Bundling.BUNDLING_ATTRIBUTE, objects.named(Bundling.class, Bundling.EXTERNAL));
+        if (GradleVersion.current().compareTo(GradleVersion.version("7.0")) >= 0) {
+            c.getAttributes()
+                    .attribute(
+                            TargetJvmEnvironment.TARGET_JVM_ENVIRONMENT_ATTRIBUTE,
+                            objects.named(TargetJvmEnvironment.class, TargetJvmEnvironment.STANDARD_JVM));
+        }
+    }
+
+    private void addToInternalConfiguration(Supplier<Dependency> dependency) {
         NamedDomainObjectProvider<Configuration> internal = maybeCreateInternalConfiguration();
-        internal.configure(conf -> conf.withDependencies(d -> {
-            Dependency platformDependency = getDependencies().platform(createDependency(platform));
-            d.add(platformDependency);
-        }));
+        internal.configure(conf -> conf.withDependencies(d -> d.add(dependency.get())));
 
         sourceSets.configureEach(sourceSet -> {
             ConfigurationContainer configurations = getConfigurations();
@@ -78,26 +223,15 @@ public abstract class ConsistentResolution {
         NamedDomainObjectProvider<Configuration> internal = maybeCreateInternalConfiguration();
         NamedDomainObjectProvider<Configuration> mainRuntimeClasspath = getConfigurations()
                 .register(MAIN_RUNTIME_CLASSPATH_CONFIGURATION_NAME, c -> {
-                    ObjectFactory objects = getObjects();
                     c.setCanBeResolved(true);
                     c.setCanBeConsumed(false);
                     c.extendsFrom(internal.get());
-                    c.getAttributes().attribute(Usage.USAGE_ATTRIBUTE, objects.named(Usage.class, Usage.JAVA_RUNTIME));
-                    c.getAttributes()
-                            .attribute(Category.CATEGORY_ATTRIBUTE, objects.named(Category.class, Category.LIBRARY));
-                    c.getAttributes()
-                            .attribute(
-                                    LibraryElements.LIBRARY_ELEMENTS_ATTRIBUTE,
-                                    objects.named(LibraryElements.class, LibraryElements.JAR));
-                    c.getAttributes()
-                            .attribute(Bundling.BUNDLING_ATTRIBUTE, objects.named(Bundling.class, Bundling.EXTERNAL));
-                    if (GradleVersion.current().compareTo(GradleVersion.version("7.0")) >= 0) {
-                        c.getAttributes()
-                                .attribute(
-                                        TargetJvmEnvironment.TARGET_JVM_ENVIRONMENT_ATTRIBUTE,
-                                        objects.named(TargetJvmEnvironment.class, TargetJvmEnvironment.STANDARD_JVM));
-                    }
+                    runtimeClasspathAttributes(c, getObjects());
                 });
+        return mainRuntimeClasspath;
+    }
+
+    private void resolveConsistentlyWith(NamedDomainObjectProvider<Configuration> mainRuntimeClasspath) {
         sourceSets.configureEach(sourceSet -> {
             ConfigurationContainer configurations = getConfigurations();
             NamedDomainObjectProvider<Configuration> runtime = configurations.named(
@@ -110,7 +244,78 @@ public abstract class ConsistentResolution {
                     sourceSet.getAnnotationProcessorConfigurationName(),
                     c -> c.shouldResolveConsistentlyWith(runtime.get()));
         });
-        return mainRuntimeClasspath;
+    }
+
+    private void registerVersionsLock(NamedDomainObjectProvider<Configuration> mainRuntimeClasspath, RegularFile file) {
+        // The lock file is read lazily and only becomes a configuration input when a classpath is resolved
+        NamedDomainObjectProvider<Configuration> versionsLock =
+                getConfigurations().register(VERSIONS_LOCK_CONFIGURATION_NAME, c -> {
+                    c.setCanBeResolved(false);
+                    c.setCanBeConsumed(false);
+                    c.setDescription("Strict versions of the versions lock " + file.getAsFile().getName() + ".");
+                    c.getDependencyConstraints()
+                            .addAllLater(getProviders()
+                                    .fileContents(file)
+                                    .getAsText()
+                                    .map(text -> strictConstraints(VersionsLock.parse(text)))
+                                    .orElse(Collections.emptyList()));
+                });
+        sourceSets.configureEach(sourceSet -> {
+            ConfigurationContainer configurations = getConfigurations();
+            configurations.named(
+                    sourceSet.getRuntimeClasspathConfigurationName(), c -> c.extendsFrom(versionsLock.get()));
+            configurations.named(
+                    sourceSet.getCompileClasspathConfigurationName(), c -> c.extendsFrom(versionsLock.get()));
+            configurations.named(
+                    sourceSet.getAnnotationProcessorConfigurationName(), c -> c.extendsFrom(versionsLock.get()));
+        });
+
+        Provider<ResolvedComponentResult> rootComponent = mainRuntimeClasspath.flatMap(
+                c -> c.getIncoming().getResolutionResult().getRootComponent());
+        getTasks().register(UPDATE_VERSIONS_LOCK_TASK_NAME, UpdateVersionsLock.class, task -> {
+            task.setGroup("help");
+            task.setDescription("Writes the versions of '" + MAIN_RUNTIME_CLASSPATH_CONFIGURATION_NAME
+                    + "' to the versions lock.");
+            task.getRootComponent().set(rootComponent);
+            task.getInputsToHash().from(getVersionsLockInputs());
+            task.getLockFile().set(file);
+        });
+        getTasks().register(VERIFY_VERSIONS_LOCK_TASK_NAME, VerifyVersionsLock.class, task -> {
+            task.setGroup("verification");
+            task.setDescription("Verifies that the versions lock is up to date.");
+            // Only resolve if the inputs changed since the lock file was written
+            task.getRootComponent()
+                    .set(getProviders()
+                            .fileContents(file)
+                            .getAsText()
+                            .map(text -> isCurrent(VersionsLock.parse(text)))
+                            .orElse(false)
+                            .flatMap(current -> current ? getProviders().provider(() -> null) : rootComponent));
+            task.getInputsToHash().from(getVersionsLockInputs());
+            task.getLockFile().set(file);
+        });
+    }
+
+    private boolean isCurrent(VersionsLock lock) {
+        String inputsHash = VersionsLock.hash(
+                new ArrayList<>(getVersionsLockInputs().getFiles()),
+                input -> getProviders()
+                        .fileContents(getObjects().fileProperty().fileValue(input))
+                        .getAsBytes()
+                        .getOrNull());
+        return inputsHash != null && inputsHash.equals(lock.getInputsHash());
+    }
+
+    private List<DependencyConstraint> strictConstraints(VersionsLock lock) {
+        List<DependencyConstraint> constraints = new ArrayList<>();
+        for (String module : lock.getModules()) {
+            int versionSeparator = module.lastIndexOf(':');
+            String version = module.substring(versionSeparator + 1);
+            constraints.add(getDependencies()
+                    .getConstraints()
+                    .create(module.substring(0, versionSeparator), c -> c.version(v -> v.strictly(version))));
+        }
+        return constraints;
     }
 
     private NamedDomainObjectProvider<Configuration> maybeCreateInternalConfiguration() {
@@ -1,27 +1,50 @@
 // SPDX-License-Identifier: Apache-2.0
 package org.gradlex.jvm.dependency.conflict.resolution;
 
-import static org.gradlex.jvm.dependency.conflict.resolution.DefaultResolutionStrategy.FIRST_MODULE;
-import static org.gradlex.jvm.dependency.conflict.resolution.DefaultResolutionStrategy.HIGHEST_VERSION;
+import static org.gradle.api.artifacts.type.ArtifactTypeDefinition.ARTIFACT_TYPE_ATTRIBUTE;
 
-import java.util.Optional;
+import java.io.File;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
 import org.gradle.api.Plugin;
 import org.gradle.api.Project;
 import org.gradle.api.artifacts.CapabilitiesResolution;
-import org.gradle.api.artifacts.CapabilityResolutionDetails;
-import org.gradle.api.artifacts.ComponentVariantIdentifier;
 import org.gradle.api.artifacts.Configuration;
 import org.gradle.api.artifacts.ConfigurationContainer;
-import org.gradle.api.artifacts.component.ModuleComponentIdentifier;
+import org.gradle.api.artifacts.result.ResolvedArtifactResult;
+import org.gradle.api.artifacts.type.ArtifactTypeDefinition;
+import org.gradle.api.plugins.JavaBasePlugin;
 import org.gradle.api.plugins.JvmEcosystemPlugin;
+import org.gradle.api.provider.Provider;
+import org.gradle.api.tasks.SourceSet;
 import org.gradle.api.tasks.SourceSetContainer;
+import org.gradle.api.tasks.TaskProvider;
+import org.gradle.util.GradleVersion;
 import org.gradlex.jvm.dependency.conflict.detection.rules.CapabilityDefinition;
+import org.gradlex.jvm.dependency.conflict.resolution.overlap.ClassIndexTransform;
+import org.gradlex.jvm.dependency.conflict.resolution.tasks.CapabilityConflictReport;
+import org.gradlex.jvm.dependency.conflict.resolution.tasks.CapabilityConflictStrategy;
+import org.gradlex.jvm.dependency.conflict.resolution.tasks.DetectClasspathOverlaps;
+import org.gradlex.jvm.dependency.conflict.resolution.tasks.GenerateCapabilityPatches;
+import org.gradlex.jvm.dependency.conflict.resolution.tasks.VerifyLoggingSetup;
 import org.jspecify.annotations.NullMarked;
 
 @NullMarked
 public abstract class JvmDependencyConflictResolutionPlugin implements Plugin<Project> {
     public static final String MAIN_RUNTIME_CLASSPATH_CONFIGURATION_NAME = "mainRuntimeClasspath";
     public static final String INTERNAL_CONFIGURATION_NAME = "internal";
+    // Register one handler for all capabilities per configuration instead of one handler per capability definition
+    public static final String SINGLE_CAPABILITY_HANDLER_PROPERTY =
+            "org.gradlex.jvm-dependency-conflict-resolution.single-capability-handler";
+    public static final String CAPABILITY_CONFLICT_REPORT_TASK_NAME = "capabilityConflictReport";
+    public static final String VERIFY_LOGGING_SETUP_TASK_NAME = "verifyLoggingSetup";
+
+    // Minimal version that supports resolution results and resolved artifacts as task inputs
+    // with the configuration cache
+    private static final GradleVersion MINIMUM_SUPPORTED_VERSION_REPORT_TASKS = GradleVersion.version("7.4");
 
     @Override
     public void apply(Project project) {
@@ -36,51 +59,171 @@ public abstract class JvmDependencyConflictResolutionPlugin implements Plugin<Pr
                         JvmDependencyConflictsExtension.class,
                         project.getExtensions().getByType(SourceSetContainer.class));
 
-        configureResolutionStrategies(project.getConfigurations(), jvmDependencyConflicts);
+        configureResolutionStrategies(
+                project.getConfigurations(),
+                jvmDependencyConflicts,
+                Boolean.parseBoolean(project.getProviders()
+                        .gradleProperty(SINGLE_CAPABILITY_HANDLER_PROPERTY)
+                        .getOrElse("false")));
+
+        if (GradleVersion.current().compareTo(MINIMUM_SUPPORTED_VERSION_REPORT_TASKS) >= 0) {
+            registerCapabilityConflictReport(project, jvmDependencyConflicts);
+            project.getDependencies().registerTransform(ClassIndexTransform.class, transform -> {
+                transform.getFrom().attribute(ARTIFACT_TYPE_ATTRIBUTE, ArtifactTypeDefinition.JAR_TYPE);
+                transform.getTo().attribute(ARTIFACT_TYPE_ATTRIBUTE, ClassIndexTransform.CLASS_INDEX_ARTIFACT_TYPE);
+            });
+            project.getPlugins()
+                    .withType(JavaBasePlugin.class, javaBase -> project.getExtensions()
+                            .getByType(SourceSetContainer.class)
+                            .all(sourceSet -> registerClasspathOverlapDetection(project, sourceSet)));
+            project.getPlugins().withType(JavaBasePlugin.class, javaBase -> registerLoggingSetupVerification(project));
+            jvmDependencyConflicts
+                    .getConsistentResolution()
+                    .setVersionsPlatform(() -> VersionsPlatform.register(project));
+        }
     }
 
-    private void configureResolutionStrategies(
-            ConfigurationContainer configurations, JvmDependencyConflictsExtension jvmDependencyConflicts) {
+    static void configureResolutionStrategies(
+            ConfigurationContainer configurations,
+            JvmDependencyConflictsExtension jvmDependencyConflicts,
+            boolean singleCapabilityHandler) {
+        CapabilityConflictHandler handler =
+                new CapabilityConflictHandler(jvmDependencyConflicts.getConflictResolution());
         configurations.configureEach(configuration -> {
-            for (CapabilityDefinition definition : CapabilityDefinition.values()) {
-                defineStrategy(definition, configuration, jvmDependencyConflicts);
+            CapabilitiesResolution resolution =
+                    configuration.getResolutionStrategy().getCapabilitiesResolution();
+            if (singleCapabilityHandler) {
+                resolution.all(handler);
+            } else {
+                for (CapabilityDefinition definition : CapabilityDefinition.values()) {
+                    resolution.withCapability(
+                            definition.getCapability(), details -> handler.resolve(definition, details));
+                }
             }
         });
     }
 
-    private void defineStrategy(
-            CapabilityDefinition definition,
-            Configuration configuration,
-            JvmDependencyConflictsExtension jvmDependencyConflicts) {
-        CapabilitiesResolution resolution =
-                configuration.getResolutionStrategy().getCapabilitiesResolution();
-        resolution.withCapability(definition.getCapability(), details -> {
-            if (!jvmDependencyConflicts
-                    .getConflictResolution()
-                    .getDeactivatedResolutionStrategies()
-                    .get()
-                    .contains(definition)) {
-                if (definition.getDefaultStrategy() == HIGHEST_VERSION) {
-                    details.selectHighestVersion();
-                } else if (definition.getDefaultStrategy() == FIRST_MODULE) {
-                    select(details, definition.getModules().get(0));
-                }
+    private static void registerCapabilityConflictReport(
+            Project project, JvmDependencyConflictsExtension jvmDependencyConflicts) {
+        ConfigurationContainer configurations = project.getConfigurations();
+        project.getTasks().register(CAPABILITY_CONFLICT_REPORT_TASK_NAME, CapabilityConflictReport.class, task -> {
+            task.setGroup("help");
+            task.setDescription("Lists the capability conflicts of all resolvable configurations and how they were"
+                    + " resolved.");
+            task.getProjectPath().set(project.getPath());
+            task.getStrategies().putAll(project.provider(() -> capabilityConflictStrategies(jvmDependencyConflicts)));
+            // Only look at the configurations when the task needs its input, to also see the ones added later
+            task.getConflicts().putAll(project.provider(() -> capabilityConflicts(configurations)));
+            task.getOutputFile()
+                    .set(project.getLayout()
+                            .getBuildDirectory()
+                            .file("reports/jvm-dependency-conflict-resolution/capability-conflicts.json"));
+        });
+    }
+
+    private static Map<String, List<String>> capabilityConflicts(ConfigurationContainer configurations) {
+        Map<String, List<String>> conflicts = new LinkedHashMap<>();
+        for (Configuration configuration : configurations.matching(Configuration::isCanBeResolved)) {
+            // Consumable configurations that are also resolvable are legacy configurations like 'default'.
+            // The classpath of the versions platform is the runtime classpath of the project once more.
+            if (!configuration.isCanBeConsumed()
+                    && !configuration.getName().equals(VersionsPlatform.CLASSPATH_CONFIGURATION_NAME)) {
+                // Reduce each graph to its conflicts right away, so that the task does not keep all graphs
+                conflicts.put(
+                        configuration.getName(),
+                        CapabilityConflictReport.conflicts(
+                                configuration.getIncoming().getResolutionResult().getRoot()));
             }
+        }
+        return conflicts;
+    }
+
+    private static void registerLoggingSetupVerification(Project project) {
+        TaskProvider<VerifyLoggingSetup> verifyLoggingSetup = project.getTasks()
+                .register(VERIFY_LOGGING_SETUP_TASK_NAME, VerifyLoggingSetup.class, task -> {
+                    task.setGroup("verification");
+                    task.setDescription("Verifies the logging setup of the runtime classpaths of all source sets.");
+                    task.getReportFile()
+                            .set(project.getLayout()
+                                    .getBuildDirectory()
+                                    .file("reports/jvm-dependency-conflict-resolution/logging-setup.txt"));
+                });
+        project.getExtensions().getByType(SourceSetContainer.class).all(sourceSet -> {
+            String runtimeClasspath = sourceSet.getRuntimeClasspathConfigurationName();
+            Provider<List<String>> loggingModules = project.getConfigurations()
+                    .named(runtimeClasspath)
+                    .flatMap(c -> c.getIncoming().getResolutionResult().getRootComponent())
+                    .map(VerifyLoggingSetup::loggingModules);
+            verifyLoggingSetup.configure(task -> task.getLoggingModules().put(runtimeClasspath, loggingModules));
+        });
+    }
+
+    private static void registerClasspathOverlapDetection(Project project, SourceSet sourceSet) {
+        // Entries that are not Jars, like class folders of other projects, have no class index and are skipped
+        Provider<Set<ResolvedArtifactResult>> classIndices = project.getConfigurations()
+                .named(sourceSet.getRuntimeClasspathConfigurationName())
+                .flatMap(c -> c.getIncoming()
+                        .artifactView(view -> {
+                            view.lenient(true);
+                            view.getAttributes()
+                                    .attribute(ARTIFACT_TYPE_ATTRIBUTE, ClassIndexTransform.CLASS_INDEX_ARTIFACT_TYPE);
+                        })
+                        .getArtifacts()
+                        .getResolvedArtifacts());
+        Provider<List<File>> classIndexFiles = classIndices.map(set ->
+                set.stream().map(ResolvedArtifactResult::getFile).collect(Collectors.toList()));
+        Provider<List<String>> modules = classIndices.map(set -> set.stream()
+                .map(a -> a.getId().getComponentIdentifier().getDisplayName())
+                .collect(Collectors.toList()));
+        project.getTasks()
+                .register(sourceSet.getTaskName("detect", "ClasspathOverlaps"), DetectClasspathOverlaps.class, task -> {
+                    task.setGroup("help");
+                    task.setDescription("Detects classes that exist in more than one Jar of the runtime classpath of"
+                            + " source set '" + sourceSet.getName() + "'.");
+                    task.getClassIndices().from(classIndexFiles);
+                    task.getModules().set(modules);
+                    task.getReportFile()
+                            .set(project.getLayout()
+                                    .getBuildDirectory()
+                                    .file("reports/jvm-dependency-conflict-resolution/classpath-overlaps-"
+                                            + sourceSet.getName() + ".json"));
+                });
+        String generatePatchesTaskName = sourceSet.getTaskName("generate", "CapabilityPatches");
+        project.getTasks().register(generatePatchesTaskName, GenerateCapabilityPatches.class, task -> {
+            task.setGroup("help");
+            task.setDescription("Generates 'patch' blocks that add capabilities to modules with overlapping classes on"
+                    + " the runtime classpath of source set '" + sourceSet.getName() + "'.");
+            task.getClassIndices().from(classIndexFiles);
+            task.getModules().set(modules);
+            task.getPatchFile()
+                    .set(project.getLayout()
+                            .getBuildDirectory()
+                            .file("reports/jvm-dependency-conflict-resolution/capability-patches-" + sourceSet.getName()
+                                    + ".gradle.kts"));
         });
     }
 
-    private void select(CapabilityResolutionDetails details, String moduleGA) {
-        Optional<ComponentVariantIdentifier> module = details.getCandidates().stream()
-                .filter(c -> {
-                    if (c.getId() instanceof ModuleComponentIdentifier) {
-                        return ((ModuleComponentIdentifier) c.getId())
-                                .getModuleIdentifier()
-                                .toString()
-                                .equals(moduleGA);
-                    }
-                    return false;
-                })
-                .findFirst();
-        module.ifPresent(details::select);
+    private static Map<String, String> capabilityConflictStrategies(
+            JvmDependencyConflictsExtension jvmDependencyConflicts) {
+        ConflictResolution conflictResolution = jvmDependencyConflicts.getConflictResolution();
+        Map<String, String> strategies = new LinkedHashMap<>();
+        for (CapabilityDefinition definition : CapabilityDefinition.values()) {
+            if (!conflictResolution.isDeactivated(definition)) {
+                if (definition.getDefaultStrategy() == DefaultResolutionStrategy.HIGHEST_VERSION) {
+                    strategies.put(
+                            definition.getCapability(),
+                            CapabilityConflictStrategy.encode(CapabilityConflictStrategy.HIGHEST_VERSION, null));
+                } else if (definition.getDefaultStrategy() == DefaultResolutionStrategy.FIRST_MODULE) {
+                    strategies.put(
+                            definition.getCapability(),
+                            CapabilityConflictStrategy.encode(
+                                    CapabilityConflictStrategy.FIRST_MODULE,
+                                    definition.getModules().get(0)));
+                }
+            }
+        }
+        strategies.putAll(conflictResolution.getSelections());
+        strategies.putAll(jvmDependencyConflicts.getLogging().getSelections());
+        return strategies;
     }
 }
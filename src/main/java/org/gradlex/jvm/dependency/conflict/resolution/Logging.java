@@ -1,18 +1,27 @@
 // SPDX-License-Identifier: Apache-2.0
 package org.gradlex.jvm.dependency.conflict.resolution;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import javax.inject.Inject;
-import org.gradle.api.Action;
-import org.gradle.api.artifacts.CapabilitiesResolution;
+import org.gradle.api.artifacts.CapabilityResolutionDetails;
+import org.gradle.api.artifacts.ComponentVariantIdentifier;
 import org.gradle.api.artifacts.ConfigurationContainer;
 import org.gradle.api.artifacts.Dependency;
 import org.gradle.api.artifacts.ExternalDependency;
 import org.gradle.api.artifacts.component.ComponentIdentifier;
 import org.gradle.api.artifacts.component.ModuleComponentIdentifier;
 import org.gradle.api.artifacts.dsl.DependencyHandler;
-import org.gradlex.jvm.dependency.conflict.detection.rules.CapabilityDefinition;
 import org.gradlex.jvm.dependency.conflict.detection.rules.logging.LoggingModuleIdentifiers;
+import org.gradlex.jvm.dependency.conflict.resolution.LoggingDecisionTable.Decision;
+import org.gradlex.jvm.dependency.conflict.resolution.tasks.CapabilityConflictStrategy;
 import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
 
 /**
  * Project extension that enables expressing preference over potential logging capabilities conflicts.
@@ -20,12 +29,30 @@ import org.jspecify.annotations.NullMarked;
 @NullMarked
 public abstract class Logging {
 
+    private final Map<String, String> selections = new LinkedHashMap<>();
+    // Selected winners per capability (or <configuration>/<capability>), the most recent selection last
+    private final Map<String, List<Winner>> winners = new HashMap<>();
+    // Capabilities for which a handler is registered, which reads the selected winners when a conflict is resolved
+    private final Set<String> handledCapabilities = new HashSet<>();
+    // Configurations to which enforcement substitutions are applied, "" for all configurations
+    private final Map<LoggingEnforcementSubstitutions, Set<String>> appliedSubstitutions = new HashMap<>();
+
     @Inject
     protected abstract DependencyHandler getDependencies();
 
     @Inject
     protected abstract ConfigurationContainer getConfigurations();
 
+    /**
+     * The selections for capabilities, for the capability conflict report. Selections for a single configuration
+     * use the key {@code <configuration>/<capability>}.
+     *
+     * @see CapabilityConflictStrategy#encode
+     */
+    Map<String, String> getSelections() {
+        return selections;
+    }
+
     /**
      * Selects the provided module as the Slf4J binding to use.
      * <p>
@@ -34,32 +61,7 @@ public abstract class Logging {
      * @param dependencyNotation the Slf4J binding module as a dependency or {@code group:name:version} notation
      */
     public void selectSlf4JBinding(Object dependencyNotation) {
-        ExternalDependency dependency = validateNotation(dependencyNotation);
-        String because = "Logging capabilities plugin selected Slf4J binding";
-        if (LoggingModuleIdentifiers.SLF4J_LOG4J12.matches(dependency)) {
-            selectCapabilityConflict(CapabilityDefinition.SLF4J_VS_LOG4J.getCapability(), dependency, because);
-            selectCapabilityConflict(CapabilityDefinition.SLF4J_IMPL.getCapability(), dependency, because);
-        } else if (LoggingModuleIdentifiers.SLF4J_JDK14.matches(dependency)) {
-            selectCapabilityConflict(CapabilityDefinition.SLF4J_VS_JUL.getCapability(), dependency, because);
-            selectCapabilityConflict(CapabilityDefinition.SLF4J_IMPL.getCapability(), dependency, because);
-        } else if (LoggingModuleIdentifiers.SLF4J_JCL.matches(dependency)) {
-            selectCapabilityConflict(CapabilityDefinition.SLF4J_VS_JCL.getCapability(), dependency, because);
-            selectCapabilityConflict(CapabilityDefinition.SLF4J_IMPL.getCapability(), dependency, because);
-        } else if (LoggingModuleIdentifiers.LOG4J_SLF4J_IMPL.matches(dependency)
-                || LoggingModuleIdentifiers.LOG4J_SLF4J2_IMPL.matches(dependency)) {
-            selectCapabilityConflict(CapabilityDefinition.LOG4J2_VS_SLF4J.getCapability(), dependency, because);
-            selectCapabilityConflict(CapabilityDefinition.SLF4J_IMPL.getCapability(), dependency, because);
-            // Slf4j binding towards log4j2, so we need to make sure Log4j-core is selected
-            selectCapabilityConflict(
-                    CapabilityDefinition.LOG4J2_IMPL.getCapability(),
-                    validateNotation(LoggingModuleIdentifiers.LOG4J_CORE.moduleId),
-                    because);
-        } else if (LoggingModuleIdentifiers.LOGBACK_CLASSIC.matches(dependency)
-                || LoggingModuleIdentifiers.SLF4J_SIMPLE.matches(dependency)) {
-            selectCapabilityConflict(CapabilityDefinition.SLF4J_IMPL.getCapability(), dependency, because);
-        } else {
-            throw new IllegalArgumentException("Provided dependency '" + dependency + "' is not a valid Slf4J binding");
-        }
+        select(null, LoggingDecisionTable.SLF4J_BINDING, dependencyNotation);
     }
 
     /**
@@ -71,42 +73,7 @@ public abstract class Logging {
      * @param dependencyNotation the Slf4J binding module as a dependency or {@code group:name:version} notation
      */
     public void selectSlf4JBinding(String configurationName, Object dependencyNotation) {
-        ExternalDependency dependency = validateNotation(dependencyNotation);
-        String because = "Logging capabilities plugin selected Slf4J binding";
-        if (LoggingModuleIdentifiers.SLF4J_LOG4J12.matches(dependency)) {
-            selectCapabilityConflict(
-                    configurationName, CapabilityDefinition.SLF4J_VS_LOG4J.getCapability(), dependency, because);
-            selectCapabilityConflict(
-                    configurationName, CapabilityDefinition.SLF4J_IMPL.getCapability(), dependency, because);
-        } else if (LoggingModuleIdentifiers.SLF4J_JDK14.matches(dependency)) {
-            selectCapabilityConflict(
-                    configurationName, CapabilityDefinition.SLF4J_VS_JUL.getCapability(), dependency, because);
-            selectCapabilityConflict(
-                    configurationName, CapabilityDefinition.SLF4J_IMPL.getCapability(), dependency, because);
-        } else if (LoggingModuleIdentifiers.SLF4J_JCL.matches(dependency)) {
-            selectCapabilityConflict(
-                    configurationName, CapabilityDefinition.SLF4J_VS_JCL.getCapability(), dependency, because);
-            selectCapabilityConflict(
-                    configurationName, CapabilityDefinition.SLF4J_IMPL.getCapability(), dependency, because);
-        } else if (LoggingModuleIdentifiers.LOG4J_SLF4J_IMPL.matches(dependency)
-                || LoggingModuleIdentifiers.LOG4J_SLF4J2_IMPL.matches(dependency)) {
-            selectCapabilityConflict(
-                    configurationName, CapabilityDefinition.LOG4J2_VS_SLF4J.getCapability(), dependency, because);
-            selectCapabilityConflict(
-                    configurationName, CapabilityDefinition.SLF4J_IMPL.getCapability(), dependency, because);
-            // Slf4j binding towards log4j2, so we need to make sure Log4j-core is selected
-            selectCapabilityConflict(
-                    configurationName,
-                    CapabilityDefinition.LOG4J2_IMPL.getCapability(),
-                    validateNotation(LoggingModuleIdentifiers.LOG4J_CORE.moduleId),
-                    because);
-        } else if (LoggingModuleIdentifiers.LOGBACK_CLASSIC.matches(dependency)
-                || LoggingModuleIdentifiers.SLF4J_SIMPLE.matches(dependency)) {
-            selectCapabilityConflict(
-                    configurationName, CapabilityDefinition.SLF4J_IMPL.getCapability(), dependency, because);
-        } else {
-            throw new IllegalArgumentException("Provided dependency '" + dependency + "' is not a valid Slf4J binding");
-        }
+        select(configurationName, LoggingDecisionTable.SLF4J_BINDING, dependencyNotation);
     }
 
     /**
@@ -117,16 +84,7 @@ public abstract class Logging {
      * @param dependencyNotation the Log4J 2 implementation as a dependency or {@code group:name:version} notation
      */
     public void selectLog4J2Implementation(Object dependencyNotation) {
-        ExternalDependency dependency = validateNotation(dependencyNotation);
-        String because = "Logging capabilities plugin selected Log4J2 implementation";
-        if (LoggingModuleIdentifiers.LOG4J_CORE.matches(dependency)) {
-            selectCapabilityConflict(CapabilityDefinition.LOG4J2_IMPL.getCapability(), dependency, because);
-        } else if (LoggingModuleIdentifiers.LOG4J_TO_SLF4J.matches(dependency)) {
-            selectCapabilityConflict(CapabilityDefinition.LOG4J2_IMPL.getCapability(), dependency, because);
-        } else {
-            throw new IllegalArgumentException(
-                    "Provided dependency '" + dependency + "' is not a valid Log4J2 implementation");
-        }
+        select(null, LoggingDecisionTable.LOG4J2_IMPLEMENTATION, dependencyNotation);
     }
 
     /**
@@ -138,18 +96,7 @@ public abstract class Logging {
      * @param dependencyNotation the Log4J 2 implementation as a dependency or {@code group:name:version} notation
      */
     public void selectLog4J2Implementation(String configurationName, Object dependencyNotation) {
-        ExternalDependency dependency = validateNotation(dependencyNotation);
-        String because = "Logging capabilities plugin selected Log4J2 implementation";
-        if (LoggingModuleIdentifiers.LOG4J_CORE.matches(dependency)) {
-            selectCapabilityConflict(
-                    configurationName, CapabilityDefinition.LOG4J2_IMPL.getCapability(), dependency, because);
-        } else if (LoggingModuleIdentifiers.LOG4J_TO_SLF4J.matches(dependency)) {
-            selectCapabilityConflict(
-                    configurationName, CapabilityDefinition.LOG4J2_IMPL.getCapability(), dependency, because);
-        } else {
-            throw new IllegalArgumentException(
-                    "Provided dependency '" + dependency + "' is not a valid Log4J2 implementation");
-        }
+        select(configurationName, LoggingDecisionTable.LOG4J2_IMPLEMENTATION, dependencyNotation);
     }
 
     /**
@@ -160,24 +107,7 @@ public abstract class Logging {
      * @param dependencyNotation the Log4J 1.2 implementation module as a dependency or {@code group:name:version} notation
      */
     public void selectLog4J12Implementation(Object dependencyNotation) {
-        ExternalDependency dependency = validateNotation(dependencyNotation);
-        String because = "Logging capabilities plugin selected Log4J implementation";
-        if (LoggingModuleIdentifiers.LOG4J_OVER_SLF4J.matches(dependency)) {
-            selectCapabilityConflict(
-                    CapabilityDefinition.SLF4J_VS_LOG4J2_FOR_LOG4J.getCapability(), dependency, because);
-            selectCapabilityConflict(CapabilityDefinition.SLF4J_VS_LOG4J.getCapability(), dependency, because);
-        } else if (LoggingModuleIdentifiers.LOG4J12API.matches(dependency)) {
-            selectCapabilityConflict(
-                    CapabilityDefinition.SLF4J_VS_LOG4J2_FOR_LOG4J.getCapability(), dependency, because);
-        } else if (LoggingModuleIdentifiers.LOG4J.matches(dependency)) {
-            selectCapabilityConflict(
-                    CapabilityDefinition.SLF4J_VS_LOG4J2_FOR_LOG4J.getCapability(), dependency, because);
-        } else if (LoggingModuleIdentifiers.SLF4J_LOG4J12.matches(dependency)) {
-            selectCapabilityConflict(CapabilityDefinition.SLF4J_VS_LOG4J.getCapability(), dependency, because);
-        } else {
-            throw new IllegalArgumentException(
-                    "Provided dependency '" + dependency + "' is not a valid Log4J implementation");
-        }
+        select(null, LoggingDecisionTable.LOG4J12_IMPLEMENTATION, dependencyNotation);
     }
 
     /**
@@ -189,35 +119,7 @@ public abstract class Logging {
      * @param dependencyNotation the Log4J 1.2 implementation module as a dependency or {@code group:name:version} notation
      */
     public void selectLog4J12Implementation(String configurationName, Object dependencyNotation) {
-        ExternalDependency dependency = validateNotation(dependencyNotation);
-        String because = "Logging capabilities plugin selected Log4J implementation";
-        if (LoggingModuleIdentifiers.LOG4J_OVER_SLF4J.matches(dependency)) {
-            selectCapabilityConflict(
-                    configurationName,
-                    CapabilityDefinition.SLF4J_VS_LOG4J2_FOR_LOG4J.getCapability(),
-                    dependency,
-                    because);
-            selectCapabilityConflict(
-                    configurationName, CapabilityDefinition.SLF4J_VS_LOG4J.getCapability(), dependency, because);
-        } else if (LoggingModuleIdentifiers.LOG4J12API.matches(dependency)) {
-            selectCapabilityConflict(
-                    configurationName,
-                    CapabilityDefinition.SLF4J_VS_LOG4J2_FOR_LOG4J.getCapability(),
-                    dependency,
-                    because);
-        } else if (LoggingModuleIdentifiers.LOG4J.matches(dependency)) {
-            selectCapabilityConflict(
-                    configurationName,
-                    CapabilityDefinition.SLF4J_VS_LOG4J2_FOR_LOG4J.getCapability(),
-                    dependency,
-                    because);
-        } else if (LoggingModuleIdentifiers.SLF4J_LOG4J12.matches(dependency)) {
-            selectCapabilityConflict(
-                    configurationName, CapabilityDefinition.SLF4J_VS_LOG4J.getCapability(), dependency, because);
-        } else {
-            throw new IllegalArgumentException(
-                    "Provided dependency '" + dependency + "' is not a valid Log4J implementation");
-        }
+        select(configurationName, LoggingDecisionTable.LOG4J12_IMPLEMENTATION, dependencyNotation);
     }
 
     /**
@@ -228,19 +130,7 @@ public abstract class Logging {
      * @param dependencyNotation the JUL delegation module as a dependency or {@code group:name:version} notation
      */
     public void selectJulDelegation(Object dependencyNotation) {
-        ExternalDependency dependency = validateNotation(dependencyNotation);
-        String because = "Logging capabilities plugin selected JUL delegation";
-        if (LoggingModuleIdentifiers.JUL_TO_SLF4J.matches(dependency)) {
-            selectCapabilityConflict(CapabilityDefinition.SLF4J_VS_LOG4J2_FOR_JUL.getCapability(), dependency, because);
-            selectCapabilityConflict(CapabilityDefinition.SLF4J_VS_JUL.getCapability(), dependency, because);
-        } else if (LoggingModuleIdentifiers.SLF4J_JDK14.matches(dependency)) {
-            selectCapabilityConflict(CapabilityDefinition.SLF4J_VS_JUL.getCapability(), dependency, because);
-        } else if (LoggingModuleIdentifiers.LOG4J_JUL.matches(dependency)) {
-            selectCapabilityConflict(CapabilityDefinition.SLF4J_VS_LOG4J2_FOR_JUL.getCapability(), dependency, because);
-        } else {
-            throw new IllegalArgumentException(
-                    "Provided dependency '" + dependency + "' is not a valid JUL delegation");
-        }
+        select(null, LoggingDecisionTable.JUL_DELEGATION, dependencyNotation);
     }
 
     /**
@@ -252,29 +142,7 @@ public abstract class Logging {
      * @param dependencyNotation the JUL delegation module as a dependency or {@code group:name:version} notation
      */
     public void selectJulDelegation(String configurationName, Object dependencyNotation) {
-        ExternalDependency dependency = validateNotation(dependencyNotation);
-        String because = "Logging capabilities plugin selected JUL delegation";
-        if (LoggingModuleIdentifiers.JUL_TO_SLF4J.matches(dependency)) {
-            selectCapabilityConflict(
-                    configurationName,
-                    CapabilityDefinition.SLF4J_VS_LOG4J2_FOR_JUL.getCapability(),
-                    dependency,
-                    because);
-            selectCapabilityConflict(
-                    configurationName, CapabilityDefinition.SLF4J_VS_JUL.getCapability(), dependency, because);
-        } else if (LoggingModuleIdentifiers.SLF4J_JDK14.matches(dependency)) {
-            selectCapabilityConflict(
-                    configurationName, CapabilityDefinition.SLF4J_VS_JUL.getCapability(), dependency, because);
-        } else if (LoggingModuleIdentifiers.LOG4J_JUL.matches(dependency)) {
-            selectCapabilityConflict(
-                    configurationName,
-                    CapabilityDefinition.SLF4J_VS_LOG4J2_FOR_JUL.getCapability(),
-                    dependency,
-                    because);
-        } else {
-            throw new IllegalArgumentException(
-                    "Provided dependency '" + dependency + "' is not a valid JUL delegation");
-        }
+        select(configurationName, LoggingDecisionTable.JUL_DELEGATION, dependencyNotation);
     }
 
     /**
@@ -285,25 +153,7 @@ public abstract class Logging {
      * @param dependencyNotation the commons-logging implementation module as a dependency or {@code group:name:version} notation
      */
     public void selectJCLImplementation(Object dependencyNotation) {
-        ExternalDependency dependency = validateNotation(dependencyNotation);
-        String because = "Logging capabilities plugin selected JCL implementation";
-        if (LoggingModuleIdentifiers.JCL_OVER_SLF4J.matches(dependency)) {
-            selectCapabilityConflict(CapabilityDefinition.COMMONS_LOGGING_IMPL.getCapability(), dependency, because);
-            selectCapabilityConflict(CapabilityDefinition.SLF4J_VS_JCL.getCapability(), dependency, because);
-            selectCapabilityConflict(CapabilityDefinition.SLF4J_VS_LOG4J2_FOR_JCL.getCapability(), dependency, because);
-        } else if (LoggingModuleIdentifiers.COMMONS_LOGGING.matches(dependency)) {
-            selectCapabilityConflict(CapabilityDefinition.COMMONS_LOGGING_IMPL.getCapability(), dependency, because);
-        } else if (LoggingModuleIdentifiers.SLF4J_JCL.matches(dependency)) {
-            selectCapabilityConflict(CapabilityDefinition.SLF4J_VS_JCL.getCapability(), dependency, because);
-        } else if (LoggingModuleIdentifiers.LOG4J_JCL.matches(dependency)) {
-            selectCapabilityConflict(CapabilityDefinition.SLF4J_VS_LOG4J2_FOR_JCL.getCapability(), dependency, because);
-            ExternalDependency commonsLogging = validateNotation(LoggingModuleIdentifiers.COMMONS_LOGGING.moduleId);
-            selectCapabilityConflict(
-                    CapabilityDefinition.COMMONS_LOGGING_IMPL.getCapability(), commonsLogging, because);
-        } else {
-            throw new IllegalArgumentException(
-                    "Provided dependency '" + dependency + "' is not a valid JCL implementation");
-        }
+        select(null, LoggingDecisionTable.JCL_IMPLEMENTATION, dependencyNotation);
     }
 
     /**
@@ -315,40 +165,7 @@ public abstract class Logging {
      * @param dependencyNotation the commons-logging implementation module as a dependency or {@code group:name:version} notation
      */
     public void selectJCLImplementation(String configurationName, Object dependencyNotation) {
-        ExternalDependency dependency = validateNotation(dependencyNotation);
-        String because = "Logging capabilities plugin selected JCL implementation";
-        if (LoggingModuleIdentifiers.JCL_OVER_SLF4J.matches(dependency)) {
-            selectCapabilityConflict(
-                    configurationName, CapabilityDefinition.COMMONS_LOGGING_IMPL.getCapability(), dependency, because);
-            selectCapabilityConflict(
-                    configurationName, CapabilityDefinition.SLF4J_VS_JCL.getCapability(), dependency, because);
-            selectCapabilityConflict(
-                    configurationName,
-                    CapabilityDefinition.SLF4J_VS_LOG4J2_FOR_JCL.getCapability(),
-                    dependency,
-                    because);
-        } else if (LoggingModuleIdentifiers.COMMONS_LOGGING.matches(dependency)) {
-            selectCapabilityConflict(
-                    configurationName, CapabilityDefinition.COMMONS_LOGGING_IMPL.getCapability(), dependency, because);
-        } else if (LoggingModuleIdentifiers.SLF4J_JCL.matches(dependency)) {
-            selectCapabilityConflict(
-                    configurationName, CapabilityDefinition.SLF4J_VS_JCL.getCapability(), dependency, because);
-        } else if (LoggingModuleIdentifiers.LOG4J_JCL.matches(dependency)) {
-            selectCapabilityConflict(
-                    configurationName,
-                    CapabilityDefinition.SLF4J_VS_LOG4J2_FOR_JCL.getCapability(),
-                    dependency,
-                    because);
-            ExternalDependency commonsLogging = validateNotation(LoggingModuleIdentifiers.COMMONS_LOGGING.moduleId);
-            selectCapabilityConflict(
-                    configurationName,
-                    CapabilityDefinition.COMMONS_LOGGING_IMPL.getCapability(),
-                    commonsLogging,
-                    because);
-        } else {
-            throw new IllegalArgumentException(
-                    "Provided dependency '" + dependency + "' is not a valid JCL implementation");
-        }
+        select(configurationName, LoggingDecisionTable.JCL_IMPLEMENTATION, dependencyNotation);
     }
 
     /**
@@ -359,19 +176,7 @@ public abstract class Logging {
      * @param dependencyNotation the Slf4J / Log4J 2 interaction module as a dependency or {@code group:name:version} notation
      */
     public void selectSlf4JLog4J2Interaction(Object dependencyNotation) {
-        ExternalDependency dependency = validateNotation(dependencyNotation);
-        String because = "Logging capabilities plugin selected Slf4J Log4J 2 interaction";
-        if (LoggingModuleIdentifiers.LOG4J_TO_SLF4J.matches(dependency)) {
-            selectCapabilityConflict(CapabilityDefinition.LOG4J2_VS_SLF4J.getCapability(), dependency, because);
-            selectCapabilityConflict(CapabilityDefinition.LOG4J2_IMPL.getCapability(), dependency, because);
-        } else if (LoggingModuleIdentifiers.LOG4J_SLF4J_IMPL.matches(dependency)
-                || LoggingModuleIdentifiers.LOG4J_SLF4J2_IMPL.matches(dependency)) {
-            selectCapabilityConflict(CapabilityDefinition.SLF4J_IMPL.getCapability(), dependency, because);
-            selectCapabilityConflict(CapabilityDefinition.LOG4J2_VS_SLF4J.getCapability(), dependency, because);
-        } else {
-            throw new IllegalArgumentException(
-                    "Provided dependency '" + dependency + "' is not a valid Slf4J / Log4J 2 interaction");
-        }
+        select(null, LoggingDecisionTable.SLF4J_LOG4J2_INTERACTION, dependencyNotation);
     }
 
     /**
@@ -383,23 +188,7 @@ public abstract class Logging {
      * @param dependencyNotation the Slf4J / Log4J 2 interaction module as a dependency or {@code group:name:version} notation
      */
     public void selectSlf4JLog4J2Interaction(String configurationName, Object dependencyNotation) {
-        ExternalDependency dependency = validateNotation(dependencyNotation);
-        String because = "Logging capabilities plugin selected Slf4J Log4J 2 interaction";
-        if (LoggingModuleIdentifiers.LOG4J_TO_SLF4J.matches(dependency)) {
-            selectCapabilityConflict(
-                    configurationName, CapabilityDefinition.LOG4J2_VS_SLF4J.getCapability(), dependency, because);
-            selectCapabilityConflict(
-                    configurationName, CapabilityDefinition.LOG4J2_IMPL.getCapability(), dependency, because);
-        } else if (LoggingModuleIdentifiers.LOG4J_SLF4J_IMPL.matches(dependency)
-                || LoggingModuleIdentifiers.LOG4J_SLF4J2_IMPL.matches(dependency)) {
-            selectCapabilityConflict(
-                    configurationName, CapabilityDefinition.SLF4J_IMPL.getCapability(), dependency, because);
-            selectCapabilityConflict(
-                    configurationName, CapabilityDefinition.LOG4J2_VS_SLF4J.getCapability(), dependency, because);
-        } else {
-            throw new IllegalArgumentException(
-                    "Provided dependency '" + dependency + "' is not a valid Slf4J / Log4J 2 interaction");
-        }
+        select(configurationName, LoggingDecisionTable.SLF4J_LOG4J2_INTERACTION, dependencyNotation);
     }
 
     /**
@@ -462,6 +251,7 @@ public abstract class Logging {
         selectJulDelegation(LoggingModuleIdentifiers.LOG4J_JUL.moduleId);
         selectJCLImplementation(LoggingModuleIdentifiers.LOG4J_JCL.moduleId);
         selectLog4J12Implementation(LoggingModuleIdentifiers.LOG4J12API.moduleId);
+        applySubstitutions(LoggingEnforcementSubstitutions.LOG4J2, null);
     }
 
     /**
@@ -478,6 +268,7 @@ public abstract class Logging {
         selectJulDelegation(configurationName, LoggingModuleIdentifiers.LOG4J_JUL.moduleId);
         selectJCLImplementation(configurationName, LoggingModuleIdentifiers.LOG4J_JCL.moduleId);
         selectLog4J12Implementation(configurationName, LoggingModuleIdentifiers.LOG4J12API.moduleId);
+        applySubstitutions(LoggingEnforcementSubstitutions.LOG4J2, configurationName);
     }
 
     private void enforceSlf4JImplementation() {
@@ -487,7 +278,7 @@ public abstract class Logging {
         selectSlf4JLog4J2Interaction(LoggingModuleIdentifiers.LOG4J_TO_SLF4J.moduleId);
         selectLog4J2Implementation(LoggingModuleIdentifiers.LOG4J_TO_SLF4J.moduleId);
 
-        getConfigurations().configureEach(new Slf4JEnforcementSubstitutionsUsing());
+        applySubstitutions(LoggingEnforcementSubstitutions.SLF4J, null);
     }
 
     private void enforceSlf4JImplementation(String configurationName) {
@@ -497,7 +288,17 @@ public abstract class Logging {
         selectSlf4JLog4J2Interaction(configurationName, LoggingModuleIdentifiers.LOG4J_TO_SLF4J.moduleId);
         selectLog4J2Implementation(configurationName, LoggingModuleIdentifiers.LOG4J_TO_SLF4J.moduleId);
 
-        getConfigurations().configureEach(new Slf4JEnforcementSubstitutionsUsing(configurationName));
+        applySubstitutions(LoggingEnforcementSubstitutions.SLF4J, configurationName);
+    }
+
+    private void applySubstitutions(LoggingEnforcementSubstitutions substitutions, @Nullable String configuration) {
+        // Enforcing the same setup more than once, like 'enforceLogback()' and 'enforceSlf4JSimple()', is a no-op
+        Set<String> applied = appliedSubstitutions.computeIfAbsent(substitutions, s -> new HashSet<>());
+        if (configuration == null && applied.add("")) {
+            substitutions.applyTo(getConfigurations());
+        } else if (configuration != null && applied.add(configuration)) {
+            substitutions.applyTo(getConfigurations(), configuration);
+        }
     }
 
     private ExternalDependency validateNotation(Object dependencyNotation) {
@@ -510,36 +311,63 @@ public abstract class Logging {
         }
     }
 
-    private void selectCapabilityConflict(
-            String configuration, String capabilityId, ExternalDependency target, String because) {
-        getConfigurations().configureEach(conf -> {
-            if (conf.getName().equals(configuration)) {
-                conf.getResolutionStrategy()
-                        .capabilitiesResolution(getCapabilitiesResolutionAction(capabilityId, target, because));
+    private void select(@Nullable String configuration, LoggingDecisionTable table, Object dependencyNotation) {
+        ExternalDependency dependency = validateNotation(dependencyNotation);
+        for (Decision decision : table.decisionsFor(dependency)) {
+            String capability = decision.getCapability();
+            String key = configuration == null ? capability : configuration + "/" + capability;
+            LoggingModuleIdentifiers winner = decision.getWinner();
+            selections.put(key, CapabilityConflictStrategy.encode(CapabilityConflictStrategy.SELECT, winner.moduleId));
+            List<Winner> winnersForKey = winners.computeIfAbsent(key, k -> new ArrayList<>());
+            winnersForKey.removeIf(w -> w.module == winner);
+            winnersForKey.add(new Winner(winner, table.getBecause()));
+            if (handledCapabilities.add(capability)) {
+                getConfigurations()
+                        .configureEach(conf -> conf.getResolutionStrategy()
+                                .getCapabilitiesResolution()
+                                .withCapability(capability, details -> resolve(conf.getName(), capability, details)));
             }
-        });
+        }
     }
 
-    private void selectCapabilityConflict(String capabilityId, ExternalDependency target, String because) {
-        getConfigurations().configureEach(conf -> conf.getResolutionStrategy()
-                .capabilitiesResolution(getCapabilitiesResolutionAction(capabilityId, target, because)));
+    private void resolve(String configuration, String capability, CapabilityResolutionDetails details) {
+        // Selections for the configuration take precedence over selections for all configurations
+        if (!select(winners.get(configuration + "/" + capability), details)) {
+            select(winners.get(capability), details);
+        }
     }
 
-    private Action<CapabilitiesResolution> getCapabilitiesResolutionAction(
-            String capabilityId, ExternalDependency target, String because) {
-        return resolution -> resolution.withCapability(capabilityId, details -> {
-            details.getCandidates().stream()
-                    .filter(candidate -> {
-                        ComponentIdentifier id = candidate.getId();
-                        if (!(id instanceof ModuleComponentIdentifier)) {
-                            return false;
-                        }
-                        ModuleComponentIdentifier moduleId = (ModuleComponentIdentifier) id;
-                        return moduleId.getGroup().equals(target.getGroup())
-                                && moduleId.getModule().equals(target.getName());
-                    })
-                    .findFirst()
-                    .ifPresent(candidate -> details.select(candidate).because(because));
-        });
+    /**
+     * Selects the most recently selected winner that is a candidate of the conflict.
+     */
+    private static boolean select(@Nullable List<Winner> winnersForKey, CapabilityResolutionDetails details) {
+        if (winnersForKey == null) {
+            return false;
+        }
+        for (int i = winnersForKey.size() - 1; i >= 0; i--) {
+            Winner winner = winnersForKey.get(i);
+            for (ComponentVariantIdentifier candidate : details.getCandidates()) {
+                ComponentIdentifier id = candidate.getId();
+                if (id instanceof ModuleComponentIdentifier && winner.matches((ModuleComponentIdentifier) id)) {
+                    details.select(candidate).because(winner.because);
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private static final class Winner {
+        private final LoggingModuleIdentifiers module;
+        private final String because;
+
+        private Winner(LoggingModuleIdentifiers module, String because) {
+            this.module = module;
+            this.because = because;
+        }
+
+        private boolean matches(ModuleComponentIdentifier id) {
+            return id.getGroup().equals(module.group) && id.getModule().equals(module.name);
+        }
     }
 }
@@ -0,0 +1,156 @@
+// SPDX-License-Identifier: Apache-2.0
+package org.gradlex.jvm.dependency.conflict.resolution;
+
+import static org.gradlex.jvm.dependency.conflict.detection.rules.CapabilityDefinition.COMMONS_LOGGING_IMPL;
+import static org.gradlex.jvm.dependency.conflict.detection.rules.CapabilityDefinition.LOG4J2_IMPL;
+import static org.gradlex.jvm.dependency.conflict.detection.rules.CapabilityDefinition.LOG4J2_VS_SLF4J;
+import static org.gradlex.jvm.dependency.conflict.detection.rules.CapabilityDefinition.SLF4J_IMPL;
+import static org.gradlex.jvm.dependency.conflict.detection.rules.CapabilityDefinition.SLF4J_VS_JCL;
+import static org.gradlex.jvm.dependency.conflict.detection.rules.CapabilityDefinition.SLF4J_VS_JUL;
+import static org.gradlex.jvm.dependency.conflict.detection.rules.CapabilityDefinition.SLF4J_VS_LOG4J;
+import static org.gradlex.jvm.dependency.conflict.detection.rules.CapabilityDefinition.SLF4J_VS_LOG4J2_FOR_JCL;
+import static org.gradlex.jvm.dependency.conflict.detection.rules.CapabilityDefinition.SLF4J_VS_LOG4J2_FOR_JUL;
+import static org.gradlex.jvm.dependency.conflict.detection.rules.CapabilityDefinition.SLF4J_VS_LOG4J2_FOR_LOG4J;
+import static org.gradlex.jvm.dependency.conflict.detection.rules.logging.LoggingModuleIdentifiers.COMMONS_LOGGING;
+import static org.gradlex.jvm.dependency.conflict.detection.rules.logging.LoggingModuleIdentifiers.JCL_OVER_SLF4J;
+import static org.gradlex.jvm.dependency.conflict.detection.rules.logging.LoggingModuleIdentifiers.JUL_TO_SLF4J;
+import static org.gradlex.jvm.dependency.conflict.detection.rules.logging.LoggingModuleIdentifiers.LOG4J;
+import static org.gradlex.jvm.dependency.conflict.detection.rules.logging.LoggingModuleIdentifiers.LOG4J12API;
+import static org.gradlex.jvm.dependency.conflict.detection.rules.logging.LoggingModuleIdentifiers.LOG4J_CORE;
+import static org.gradlex.jvm.dependency.conflict.detection.rules.logging.LoggingModuleIdentifiers.LOG4J_JCL;
+import static org.gradlex.jvm.dependency.conflict.detection.rules.logging.LoggingModuleIdentifiers.LOG4J_JUL;
+import static org.gradlex.jvm.dependency.conflict.detection.rules.logging.LoggingModuleIdentifiers.LOG4J_OVER_SLF4J;
+import static org.gradlex.jvm.dependency.conflict.detection.rules.logging.LoggingModuleIdentifiers.LOG4J_SLF4J2_IMPL;
+import static org.gradlex.jvm.dependency.conflict.detection.rules.logging.LoggingModuleIdentifiers.LOG4J_SLF4J_IMPL;
+import static org.gradlex.jvm.dependency.conflict.detection.rules.logging.LoggingModuleIdentifiers.LOG4J_TO_SLF4J;
+import static org.gradlex.jvm.dependency.conflict.detection.rules.logging.LoggingModuleIdentifiers.LOGBACK_CLASSIC;
+import static org.gradlex.jvm.dependency.conflict.detection.rules.logging.LoggingModuleIdentifiers.SLF4J_JCL;
+import static org.gradlex.jvm.dependency.conflict.detection.rules.logging.LoggingModuleIdentifiers.SLF4J_JDK14;
+import static org.gradlex.jvm.dependency.conflict.detection.rules.logging.LoggingModuleIdentifiers.SLF4J_LOG4J12;
+import static org.gradlex.jvm.dependency.conflict.detection.rules.logging.LoggingModuleIdentifiers.SLF4J_SIMPLE;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.gradle.api.artifacts.ExternalDependency;
+import org.gradlex.jvm.dependency.conflict.detection.rules.CapabilityDefinition;
+import org.gradlex.jvm.dependency.conflict.detection.rules.logging.LoggingModuleIdentifiers;
+import org.jspecify.annotations.NullMarked;
+
+/**
+ * Static decision tables of the {@link Logging} selections. For each module that can be selected, a table lists the
+ * capabilities whose conflicts are resolved by the selection and the module that wins each conflict.
+ */
+@NullMarked
+final class LoggingDecisionTable {
+
+    static final LoggingDecisionTable SLF4J_BINDING = new LoggingDecisionTable("Slf4J binding")
+            .select(SLF4J_LOG4J12, SLF4J_VS_LOG4J, SLF4J_IMPL)
+            .select(SLF4J_JDK14, SLF4J_VS_JUL, SLF4J_IMPL)
+            .select(SLF4J_JCL, SLF4J_VS_JCL, SLF4J_IMPL)
+            // Slf4j binding towards log4j2, so we need to make sure Log4j-core is selected
+            .select(LOG4J_SLF4J_IMPL, LOG4J2_VS_SLF4J, SLF4J_IMPL)
+            .andSelect(LOG4J_CORE, LOG4J2_IMPL)
+            .select(LOG4J_SLF4J2_IMPL, LOG4J2_VS_SLF4J, SLF4J_IMPL)
+            .andSelect(LOG4J_CORE, LOG4J2_IMPL)
+            .select(LOGBACK_CLASSIC, SLF4J_IMPL)
+            .select(SLF4J_SIMPLE, SLF4J_IMPL);
+
+    static final LoggingDecisionTable LOG4J2_IMPLEMENTATION = new LoggingDecisionTable("Log4J2 implementation")
+            .select(LOG4J_CORE, LOG4J2_IMPL)
+            .select(LOG4J_TO_SLF4J, LOG4J2_IMPL);
+
+    static final LoggingDecisionTable LOG4J12_IMPLEMENTATION = new LoggingDecisionTable("Log4J implementation")
+            .select(LOG4J_OVER_SLF4J, SLF4J_VS_LOG4J2_FOR_LOG4J, SLF4J_VS_LOG4J)
+            .select(LOG4J12API, SLF4J_VS_LOG4J2_FOR_LOG4J)
+            .select(LOG4J, SLF4J_VS_LOG4J2_FOR_LOG4J)
+            .select(SLF4J_LOG4J12, SLF4J_VS_LOG4J);
+
+    static final LoggingDecisionTable JUL_DELEGATION = new LoggingDecisionTable("JUL delegation")
+            .select(JUL_TO_SLF4J, SLF4J_VS_LOG4J2_FOR_JUL, SLF4J_VS_JUL)
+            .select(SLF4J_JDK14, SLF4J_VS_JUL)
+            .select(LOG4J_JUL, SLF4J_VS_LOG4J2_FOR_JUL);
+
+    static final LoggingDecisionTable JCL_IMPLEMENTATION = new LoggingDecisionTable("JCL implementation")
+            .select(JCL_OVER_SLF4J, COMMONS_LOGGING_IMPL, SLF4J_VS_JCL, SLF4J_VS_LOG4J2_FOR_JCL)
+            .select(COMMONS_LOGGING, COMMONS_LOGGING_IMPL)
+            .select(SLF4J_JCL, SLF4J_VS_JCL)
+            .select(LOG4J_JCL, SLF4J_VS_LOG4J2_FOR_JCL)
+            .andSelect(COMMONS_LOGGING, COMMONS_LOGGING_IMPL);
+
+    static final LoggingDecisionTable SLF4J_LOG4J2_INTERACTION = new LoggingDecisionTable(
+                    "Slf4J / Log4J 2 interaction", "Slf4J Log4J 2 interaction")
+            .select(LOG4J_TO_SLF4J, LOG4J2_VS_SLF4J, LOG4J2_IMPL)
+            .select(LOG4J_SLF4J_IMPL, SLF4J_IMPL, LOG4J2_VS_SLF4J)
+            .select(LOG4J_SLF4J2_IMPL, SLF4J_IMPL, LOG4J2_VS_SLF4J);
+
+    private final String kind;
+    private final String because;
+    private final Map<String, List<Decision>> decisions = new HashMap<>();
+    private String lastSelected = "";
+
+    private LoggingDecisionTable(String kind) {
+        this(kind, kind);
+    }
+
+    private LoggingDecisionTable(String kind, String because) {
+        this.kind = kind;
+        this.because = "Logging capabilities plugin selected " + because;
+    }
+
+    /**
+     * @return the capabilities and their winners, if the given module is selected
+     * @throws IllegalArgumentException if the module cannot be selected through this table
+     */
+    List<Decision> decisionsFor(ExternalDependency dependency) {
+        List<Decision> row = decisions.get(dependency.getGroup() + ":" + dependency.getName());
+        if (row == null) {
+            throw new IllegalArgumentException("Provided dependency '" + dependency + "' is not a valid " + kind);
+        }
+        return row;
+    }
+
+    String getBecause() {
+        return because;
+    }
+
+    private LoggingDecisionTable select(LoggingModuleIdentifiers selected, CapabilityDefinition... capabilities) {
+        List<Decision> row = new ArrayList<>();
+        for (CapabilityDefinition capability : capabilities) {
+            row.add(new Decision(capability, selected));
+        }
+        decisions.put(selected.moduleId, Collections.unmodifiableList(row));
+        lastSelected = selected.moduleId;
+        return this;
+    }
+
+    /**
+     * Adds a decision for another module to the row of the previous {@link #select} call.
+     */
+    private LoggingDecisionTable andSelect(LoggingModuleIdentifiers winner, CapabilityDefinition capability) {
+        List<Decision> row = new ArrayList<>(decisions.get(lastSelected));
+        row.add(new Decision(capability, winner));
+        decisions.put(lastSelected, Collections.unmodifiableList(row));
+        return this;
+    }
+
+    static final class Decision {
+        private final CapabilityDefinition capability;
+        private final LoggingModuleIdentifiers winner;
+
+        private Decision(CapabilityDefinition capability, LoggingModuleIdentifiers winner) {
+            this.capability = capability;
+            this.winner = winner;
+        }
+
+        String getCapability() {
+            return capability.getCapability();
+        }
+
+        LoggingModuleIdentifiers getWinner() {
+            return winner;
+        }
+    }
+}
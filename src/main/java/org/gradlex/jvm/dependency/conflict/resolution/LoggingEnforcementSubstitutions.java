@@ -0,0 +1,92 @@
+// SPDX-License-Identifier: Apache-2.0
+package org.gradlex.jvm.dependency.conflict.resolution;
+
+import static org.gradlex.jvm.dependency.conflict.detection.rules.logging.LoggingModuleIdentifiers.COMMONS_LOGGING;
+import static org.gradlex.jvm.dependency.conflict.detection.rules.logging.LoggingModuleIdentifiers.JCL_OVER_SLF4J;
+import static org.gradlex.jvm.dependency.conflict.detection.rules.logging.LoggingModuleIdentifiers.JUL_TO_SLF4J;
+import static org.gradlex.jvm.dependency.conflict.detection.rules.logging.LoggingModuleIdentifiers.LOG4J;
+import static org.gradlex.jvm.dependency.conflict.detection.rules.logging.LoggingModuleIdentifiers.LOG4J12API;
+import static org.gradlex.jvm.dependency.conflict.detection.rules.logging.LoggingModuleIdentifiers.LOG4J_JCL;
+import static org.gradlex.jvm.dependency.conflict.detection.rules.logging.LoggingModuleIdentifiers.LOG4J_JUL;
+import static org.gradlex.jvm.dependency.conflict.detection.rules.logging.LoggingModuleIdentifiers.LOG4J_OVER_SLF4J;
+import static org.gradlex.jvm.dependency.conflict.detection.rules.logging.LoggingModuleIdentifiers.SPRING_JCL;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import org.gradle.api.Action;
+import org.gradle.api.artifacts.Configuration;
+import org.gradle.api.artifacts.ConfigurationContainer;
+import org.gradlex.jvm.dependency.conflict.detection.rules.logging.LoggingModuleIdentifiers;
+import org.jspecify.annotations.NullMarked;
+
+/**
+ * Substitutions that route logging frameworks, which do not conflict with the enforced logging setup, to the
+ * enforced framework. Each table is built once and the same action instance is used for all configurations.
+ */
+@NullMarked
+final class LoggingEnforcementSubstitutions implements Action<Configuration> {
+
+    static final LoggingEnforcementSubstitutions SLF4J = new Builder()
+            .substitute(LOG4J, LOG4J_OVER_SLF4J)
+            .substitute(LOG4J12API, LOG4J_OVER_SLF4J)
+            .substitute(LOG4J_JUL, JUL_TO_SLF4J)
+            .substitute(COMMONS_LOGGING, JCL_OVER_SLF4J)
+            .substitute(LOG4J_JCL, JCL_OVER_SLF4J)
+            .substitute(SPRING_JCL, JCL_OVER_SLF4J)
+            .build();
+
+    static final LoggingEnforcementSubstitutions LOG4J2 = new Builder()
+            .substitute(LOG4J, LOG4J12API)
+            .substitute(LOG4J_OVER_SLF4J, LOG4J12API)
+            .build();
+
+    // Module ('group:name') to substitute, mapped to the first version of the replacement
+    private final Map<String, String> substitutions;
+
+    private LoggingEnforcementSubstitutions(Map<String, String> substitutions) {
+        this.substitutions = substitutions;
+    }
+
+    /**
+     * Applies the substitutions to all resolvable configurations.
+     */
+    void applyTo(ConfigurationContainer configurations) {
+        configurations.matching(Configuration::isCanBeResolved).configureEach(this);
+    }
+
+    /**
+     * Applies the substitutions to the configuration with the given name only.
+     */
+    void applyTo(ConfigurationContainer configurations, String configurationName) {
+        if (configurations.getNames().contains(configurationName)) {
+            configurations.named(configurationName).configure(this);
+        } else {
+            configurations
+                    .matching(configuration -> configuration.getName().equals(configurationName))
+                    .configureEach(this);
+        }
+    }
+
+    @Override
+    public void execute(Configuration configuration) {
+        configuration
+                .getResolutionStrategy()
+                .dependencySubstitution(substitution -> substitutions.forEach((module, replacement) -> substitution
+                        .substitute(substitution.module(module))
+                        .using(substitution.module(replacement))));
+    }
+
+    private static final class Builder {
+        private final Map<String, String> substitutions = new LinkedHashMap<>();
+
+        private Builder substitute(LoggingModuleIdentifiers module, LoggingModuleIdentifiers replacement) {
+            substitutions.put(module.moduleId, replacement.asFirstVersion());
+            return this;
+        }
+
+        private LoggingEnforcementSubstitutions build() {
+            return new LoggingEnforcementSubstitutions(Collections.unmodifiableMap(new LinkedHashMap<>(substitutions)));
+        }
+    }
+}
@@ -8,6 +8,7 @@ import org.gradle.api.artifacts.dsl.DependencyHandler;
 import org.gradle.api.model.ObjectFactory;
 import org.gradlex.jvm.dependency.conflict.resolution.rules.AddAlignmentConstraintsMetadataRule;
 import org.gradlex.jvm.dependency.conflict.resolution.rules.AddBomDependencyMetadataRule;
+import org.gradlex.jvm.dependency.conflict.resolution.rules.AddVirtualPlatformMetadataRule;
 import org.jspecify.annotations.NullMarked;
 
 @NullMarked
@@ -27,10 +28,13 @@ public abstract class Patch {
     }
 
     /**
-     * Adjust metadata of the given 'module'.
+     * Adjust metadata of the given 'module'. All adjustments are applied by one rule.
      */
     public void module(String module, Action<PatchModule> action) {
-        action.execute(getObjects().newInstance(PatchModule.class, module));
+        PatchModule patchModule = getObjects().newInstance(PatchModule.class, module);
+        patchModule.startPlan();
+        action.execute(patchModule);
+        patchModule.registerPlan();
     }
 
     /**
@@ -46,6 +50,8 @@ public abstract class Patch {
 
     /**
      * Align the versions of all 'modules' by adding version constraints for all modules to each module.
+     * The number of constraints grows quadratically with the number of modules. For large groups, prefer
+     * {@link #alignWithVirtualPlatform(String, String...)}.
      */
     public void align(String... modules) {
         for (String module : modules) {
@@ -55,4 +61,17 @@ public abstract class Patch {
                             module, AddAlignmentConstraintsMetadataRule.class, r -> r.params(Arrays.asList(modules)));
         }
     }
+
+    /**
+     * Align the versions of all 'modules' by letting each module belong to the given virtual 'platform'
+     * (coordinates in the form 'group:name'). In contrast to {@link #align(String...)}, each module only adds one
+     * edge to the platform instead of a constraint for every other module.
+     */
+    public void alignWithVirtualPlatform(String platform, String... modules) {
+        for (String module : modules) {
+            getDependencies()
+                    .getComponents()
+                    .withModule(module, AddVirtualPlatformMetadataRule.class, r -> r.params(platform));
+        }
+    }
 }
@@ -2,9 +2,24 @@
 package org.gradlex.jvm.dependency.conflict.resolution;
 
 import static org.gradlex.jvm.dependency.conflict.detection.JvmDependencyConflictDetectionPlugin.MINIMUM_SUPPORTED_VERSION_DEPENDENCY_CAPABILITY;
+import static org.gradlex.jvm.dependency.conflict.resolution.rules.ModulePatchPlan.Kind.ADD_API_DEPENDENCY;
+import static org.gradlex.jvm.dependency.conflict.resolution.rules.ModulePatchPlan.Kind.ADD_CAPABILITY;
+import static org.gradlex.jvm.dependency.conflict.resolution.rules.ModulePatchPlan.Kind.ADD_COMPILE_ONLY_API_DEPENDENCY;
+import static org.gradlex.jvm.dependency.conflict.resolution.rules.ModulePatchPlan.Kind.ADD_FEATURE;
+import static org.gradlex.jvm.dependency.conflict.resolution.rules.ModulePatchPlan.Kind.ADD_RUNTIME_ONLY_DEPENDENCY;
+import static org.gradlex.jvm.dependency.conflict.resolution.rules.ModulePatchPlan.Kind.ADD_TARGET_PLATFORM_VARIANT;
+import static org.gradlex.jvm.dependency.conflict.resolution.rules.ModulePatchPlan.Kind.ADD_TARGET_PLATFORM_VARIANTS;
+import static org.gradlex.jvm.dependency.conflict.resolution.rules.ModulePatchPlan.Kind.REDUCE_TO_COMPILE_ONLY_API_DEPENDENCY;
+import static org.gradlex.jvm.dependency.conflict.resolution.rules.ModulePatchPlan.Kind.REDUCE_TO_RUNTIME_ONLY_DEPENDENCY;
+import static org.gradlex.jvm.dependency.conflict.resolution.rules.ModulePatchPlan.Kind.REMOVE_CAPABILITY;
+import static org.gradlex.jvm.dependency.conflict.resolution.rules.ModulePatchPlan.Kind.REMOVE_DEPENDENCY;
+import static org.gradlex.jvm.dependency.conflict.resolution.rules.ModulePatchPlan.Kind.SET_STATUS_TO_INTEGRATION;
 
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.List;
 import javax.inject.Inject;
+import org.gradle.api.Action;
 import org.gradle.api.artifacts.dsl.DependencyHandler;
 import org.gradle.util.GradleVersion;
 import org.gradlex.jvm.dependency.conflict.detection.rules.CapabilityDefinition;
@@ -13,13 +28,18 @@ import org.gradlex.jvm.dependency.conflict.resolution.rules.AddCapabilityMetadat
 import org.gradlex.jvm.dependency.conflict.resolution.rules.AddCompileOnlyApiDependencyMetadataRule;
 import org.gradlex.jvm.dependency.conflict.resolution.rules.AddFeatureMetadataRule;
 import org.gradlex.jvm.dependency.conflict.resolution.rules.AddRuntimeOnlyDependencyMetadataRule;
+import org.gradlex.jvm.dependency.conflict.resolution.rules.AddTargetPlatformMatrixMetadataRule;
 import org.gradlex.jvm.dependency.conflict.resolution.rules.AddTargetPlatformVariantsMetadataRule;
 import org.gradlex.jvm.dependency.conflict.resolution.rules.ComponentStatusRule;
+import org.gradlex.jvm.dependency.conflict.resolution.rules.ModulePatchPlan;
+import org.gradlex.jvm.dependency.conflict.resolution.rules.ModulePatchRule;
+import org.gradlex.jvm.dependency.conflict.resolution.rules.NativesMatrix;
 import org.gradlex.jvm.dependency.conflict.resolution.rules.ReduceToCompileOnlyApiDependencyMetadataRule;
 import org.gradlex.jvm.dependency.conflict.resolution.rules.ReduceToRuntimeOnlyDependencyMetadataRule;
 import org.gradlex.jvm.dependency.conflict.resolution.rules.RemoveCapabilityMetadataRule;
 import org.gradlex.jvm.dependency.conflict.resolution.rules.RemoveDependencyMetadataRule;
 import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
 
 @NullMarked
 public abstract class PatchModule {
@@ -28,6 +48,7 @@ public abstract class PatchModule {
     protected abstract DependencyHandler getDependencies();
 
     private final String module;
+    private @Nullable List<ModulePatchPlan.Step> plannedSteps;
 
     @Inject
     public PatchModule(String module) {
@@ -48,9 +69,11 @@ public abstract class PatchModule {
      */
     public void addApiDependency(String dependency, String capability) {
         checkGradleVersion(capability);
-        getDependencies()
-                .getComponents()
-                .withModule(module, AddApiDependencyMetadataRule.class, r -> r.params(dependency, capability));
+        if (!planned(ADD_API_DEPENDENCY, dependency, capability)) {
+            getDependencies()
+                    .getComponents()
+                    .withModule(module, AddApiDependencyMetadataRule.class, r -> r.params(dependency, capability));
+        }
     }
 
     /**
@@ -67,9 +90,12 @@ public abstract class PatchModule {
      */
     public void addRuntimeOnlyDependency(String dependency, String capability) {
         checkGradleVersion(capability);
-        getDependencies()
-                .getComponents()
-                .withModule(module, AddRuntimeOnlyDependencyMetadataRule.class, r -> r.params(dependency, capability));
+        if (!planned(ADD_RUNTIME_ONLY_DEPENDENCY, dependency, capability)) {
+            getDependencies()
+                    .getComponents()
+                    .withModule(
+                            module, AddRuntimeOnlyDependencyMetadataRule.class, r -> r.params(dependency, capability));
+        }
     }
 
     /**
@@ -86,10 +112,14 @@ public abstract class PatchModule {
      */
     public void addCompileOnlyApiDependency(String dependency, String capability) {
         checkGradleVersion(capability);
-        getDependencies()
-                .getComponents()
-                .withModule(
-                        module, AddCompileOnlyApiDependencyMetadataRule.class, r -> r.params(dependency, capability));
+        if (!planned(ADD_COMPILE_ONLY_API_DEPENDENCY, dependency, capability)) {
+            getDependencies()
+                    .getComponents()
+                    .withModule(
+                            module,
+                            AddCompileOnlyApiDependencyMetadataRule.class,
+                            r -> r.params(dependency, capability));
+        }
     }
 
     /**
@@ -97,9 +127,11 @@ public abstract class PatchModule {
      * See: <a href="https://docs.gradle.org/current/userguide/component_metadata_rules.html#fixing_wrong_dependency_details">component_metadata_rules.html#fixing_wrong_dependency_details</a>
      */
     public void removeDependency(String dependency) {
-        getDependencies()
-                .getComponents()
-                .withModule(module, RemoveDependencyMetadataRule.class, r -> r.params(dependency));
+        if (!planned(REMOVE_DEPENDENCY, dependency)) {
+            getDependencies()
+                    .getComponents()
+                    .withModule(module, RemoveDependencyMetadataRule.class, r -> r.params(dependency));
+        }
     }
 
     /**
@@ -107,9 +139,11 @@ public abstract class PatchModule {
      * See: <a href="https://docs.gradle.org/current/userguide/component_metadata_rules.html#fixing_wrong_dependency_details">component_metadata_rules.html#fixing_wrong_dependency_details</a>
      */
     public void reduceToRuntimeOnlyDependency(String dependency) {
-        getDependencies()
-                .getComponents()
-                .withModule(module, ReduceToRuntimeOnlyDependencyMetadataRule.class, r -> r.params(dependency));
+        if (!planned(REDUCE_TO_RUNTIME_ONLY_DEPENDENCY, dependency)) {
+            getDependencies()
+                    .getComponents()
+                    .withModule(module, ReduceToRuntimeOnlyDependencyMetadataRule.class, r -> r.params(dependency));
+        }
     }
 
     /**
@@ -117,9 +151,11 @@ public abstract class PatchModule {
      * See: <a href="https://docs.gradle.org/current/userguide/component_metadata_rules.html#fixing_wrong_dependency_details">component_metadata_rules.html#fixing_wrong_dependency_details</a>
      */
     public void reduceToCompileOnlyApiDependency(String dependency) {
-        getDependencies()
-                .getComponents()
-                .withModule(module, ReduceToCompileOnlyApiDependencyMetadataRule.class, r -> r.params(dependency));
+        if (!planned(REDUCE_TO_COMPILE_ONLY_API_DEPENDENCY, dependency)) {
+            getDependencies()
+                    .getComponents()
+                    .withModule(module, ReduceToCompileOnlyApiDependencyMetadataRule.class, r -> r.params(dependency));
+        }
     }
 
     /**
@@ -137,9 +173,11 @@ public abstract class PatchModule {
      * See: <a href="https://blog.gradle.org/addressing-logging-complexity-capabilities">blog.gradle.org/addressing-logging-complexity-capabilities</a>
      */
     public void addCapability(String capability) {
-        getDependencies()
-                .getComponents()
-                .withModule(module, AddCapabilityMetadataRule.class, r -> r.params(capability));
+        if (!planned(ADD_CAPABILITY, capability)) {
+            getDependencies()
+                    .getComponents()
+                    .withModule(module, AddCapabilityMetadataRule.class, r -> r.params(capability));
+        }
     }
 
     /**
@@ -157,9 +195,11 @@ public abstract class PatchModule {
      * See: <a href="https://blog.gradle.org/addressing-logging-complexity-capabilities">blog.gradle.org/addressing-logging-complexity-capabilities</a>
      */
     public void removeCapability(String capability) {
-        getDependencies()
-                .getComponents()
-                .withModule(module, RemoveCapabilityMetadataRule.class, r -> r.params(capability));
+        if (!planned(REMOVE_CAPABILITY, capability)) {
+            getDependencies()
+                    .getComponents()
+                    .withModule(module, RemoveCapabilityMetadataRule.class, r -> r.params(capability));
+        }
     }
 
     /**
@@ -169,7 +209,11 @@ public abstract class PatchModule {
      * See: <a href="https://blog.gradle.org/optional-dependencies">blog.gradle.org/optional-dependencies</a>
      */
     public void addFeature(String classifier) {
-        getDependencies().getComponents().withModule(module, AddFeatureMetadataRule.class, r -> r.params(classifier));
+        if (!planned(ADD_FEATURE, classifier)) {
+            getDependencies()
+                    .getComponents()
+                    .withModule(module, AddFeatureMetadataRule.class, r -> r.params(classifier));
+        }
     }
 
     /**
@@ -178,12 +222,7 @@ public abstract class PatchModule {
      * See: <a href="https://docs.gradle.org/current/userguide/component_metadata_rules.html#adding_variants_for_native_jars">component_metadata_rules.html#adding_variants_for_native_jars</a>
      */
     public void addTargetPlatformVariant(String classifier, String operatingSystem, String architecture) {
-        getDependencies()
-                .getComponents()
-                .withModule(
-                        module,
-                        AddTargetPlatformVariantsMetadataRule.class,
-                        r -> r.params("", classifier, operatingSystem, architecture));
+        addTargetPlatformVariant("", classifier, operatingSystem, architecture);
     }
 
     /**
@@ -194,12 +233,48 @@ public abstract class PatchModule {
      */
     public void addTargetPlatformVariant(
             String feature, String classifier, String operatingSystem, String architecture) {
-        getDependencies()
-                .getComponents()
-                .withModule(
-                        module,
-                        AddTargetPlatformVariantsMetadataRule.class,
-                        r -> r.params(feature, classifier, operatingSystem, architecture));
+        if (!planned(ADD_TARGET_PLATFORM_VARIANT, feature, classifier, operatingSystem, architecture)) {
+            getDependencies()
+                    .getComponents()
+                    .withModule(
+                            module,
+                            AddTargetPlatformVariantsMetadataRule.class,
+                            r -> r.params(feature, classifier, operatingSystem, architecture));
+        }
+    }
+
+    /**
+     * Make the Jars of a whole platform matrix known as additional variants with the
+     * OperatingSystemFamily and MachineArchitecture attributes set. All variants are added in one rule execution.
+     * <pre>
+     * addTargetPlatformVariants {
+     *     linux("x86-64", "natives-linux")
+     *     macos("aarch64", "natives-macos-arm64")
+     *     windows("x86-64", "natives-windows")
+     * }
+     * </pre>
+     */
+    public void addTargetPlatformVariants(Action<? super TargetPlatformVariants> platforms) {
+        addTargetPlatformVariants("", platforms);
+    }
+
+    /**
+     * Make the Jars of a whole platform matrix known as additional variants with the
+     * OperatingSystemFamily and MachineArchitecture attributes set. All variants are added in one rule execution.
+     * A 'feature' (aka Capability) can optionally be defined to require the variants to be addressed by it.
+     */
+    public void addTargetPlatformVariants(String feature, Action<? super TargetPlatformVariants> platforms) {
+        TargetPlatformVariants variants = new TargetPlatformVariants();
+        platforms.execute(variants);
+        List<NativesMatrix.Target> targets = variants.getTargets();
+        if (targets.isEmpty()) {
+            return;
+        }
+        if (!planned(new ModulePatchPlan.Step(ADD_TARGET_PLATFORM_VARIANTS, targets, feature))) {
+            getDependencies()
+                    .getComponents()
+                    .withModule(module, AddTargetPlatformMatrixMetadataRule.class, r -> r.params(feature, targets));
+        }
     }
 
     /**
@@ -208,9 +283,44 @@ public abstract class PatchModule {
      * See: <a href="https://docs.gradle.org/current/userguide/component_metadata_rules.html#sec:custom_status_scheme">component_metadata_rules.html#sec:custom_status_scheme</a>
      */
     public void setStatusToIntegration(String... markerInVersion) {
-        getDependencies()
-                .getComponents()
-                .withModule(module, ComponentStatusRule.class, r -> r.params(Arrays.asList(markerInVersion)));
+        if (!planned(SET_STATUS_TO_INTEGRATION, markerInVersion)) {
+            getDependencies()
+                    .getComponents()
+                    .withModule(module, ComponentStatusRule.class, r -> r.params(Arrays.asList(markerInVersion)));
+        }
+    }
+
+    /**
+     * Collect all modifications in a {@link ModulePatchPlan}, instead of registering one rule per modification,
+     * until {@link #registerPlan()} is called.
+     */
+    void startPlan() {
+        plannedSteps = new ArrayList<>();
+    }
+
+    /**
+     * Register one {@link ModulePatchRule} that applies all modifications collected since {@link #startPlan()}.
+     */
+    void registerPlan() {
+        List<ModulePatchPlan.Step> steps = plannedSteps;
+        plannedSteps = null;
+        if (steps != null && !steps.isEmpty()) {
+            ModulePatchPlan plan = new ModulePatchPlan(steps);
+            getDependencies().getComponents().withModule(module, ModulePatchRule.class, r -> r.params(plan));
+        }
+    }
+
+    private boolean planned(ModulePatchPlan.Kind kind, String... arguments) {
+        return planned(new ModulePatchPlan.Step(kind, arguments));
+    }
+
+    private boolean planned(ModulePatchPlan.Step step) {
+        List<ModulePatchPlan.Step> steps = plannedSteps;
+        if (steps == null) {
+            return false;
+        }
+        steps.add(step);
+        return true;
     }
 
     private void checkGradleVersion(String capability) {
@@ -0,0 +1,41 @@
+// SPDX-License-Identifier: Apache-2.0
+package org.gradlex.jvm.dependency.conflict.resolution;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import org.gradle.nativeplatform.OperatingSystemFamily;
+import org.gradlex.jvm.dependency.conflict.resolution.rules.NativesMatrix;
+import org.jspecify.annotations.NullMarked;
+
+/**
+ * The platform matrix of {@link PatchModule#addTargetPlatformVariants}: one Jar 'classifier' for each combination
+ * of OperatingSystemFamily and MachineArchitecture.
+ */
+@NullMarked
+public final class TargetPlatformVariants {
+
+    private final List<NativesMatrix.Target> targets = new ArrayList<>();
+
+    TargetPlatformVariants() {}
+
+    public void linux(String architecture, String classifier) {
+        platform(OperatingSystemFamily.LINUX, architecture, classifier);
+    }
+
+    public void macos(String architecture, String classifier) {
+        platform(OperatingSystemFamily.MACOS, architecture, classifier);
+    }
+
+    public void windows(String architecture, String classifier) {
+        platform(OperatingSystemFamily.WINDOWS, architecture, classifier);
+    }
+
+    public void platform(String operatingSystem, String architecture, String classifier) {
+        targets.add(new NativesMatrix.Target(classifier, operatingSystem, architecture));
+    }
+
+    List<NativesMatrix.Target> getTargets() {
+        return Collections.unmodifiableList(new ArrayList<>(targets));
+    }
+}
@@ -0,0 +1,73 @@
+// SPDX-License-Identifier: Apache-2.0
+package org.gradlex.jvm.dependency.conflict.resolution;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.gradle.api.NamedDomainObjectProvider;
+import org.gradle.api.Project;
+import org.gradle.api.artifacts.Configuration;
+import org.gradle.api.artifacts.DependencyConstraint;
+import org.gradle.api.artifacts.dsl.DependencyHandler;
+import org.gradle.api.artifacts.result.ResolvedComponentResult;
+import org.gradle.api.attributes.Category;
+import org.gradle.api.attributes.Usage;
+import org.gradle.api.model.ObjectFactory;
+import org.gradlex.jvm.dependency.conflict.resolution.tasks.VersionsLock;
+import org.jspecify.annotations.NullMarked;
+
+/**
+ * A platform that a project publishes to other projects of the build if it calls
+ * {@link ConsistentResolution#publishesVersionsPlatform()} (see
+ * {@link ConsistentResolution#providesVersionsViaPlatform(String)}). It contains a constraint for each module on the
+ * runtime classpath of the project, as consumers would see it through
+ * {@link ConsistentResolution#providesVersions(String)}. The constraints are computed when the platform is first
+ * consumed, by resolving the runtime classpath once in the providing project.
+ * <p>
+ * The constraints are not strict, because each platform only knows the versions of its own project. If a consumer
+ * uses the platforms of several projects, the highest version of each module wins, as it would in one graph.
+ */
+@NullMarked
+final class VersionsPlatform {
+
+    static final String CLASSPATH_CONFIGURATION_NAME = "versionsPlatformClasspath";
+    static final String ELEMENTS_CONFIGURATION_NAME = "versionsPlatformElements";
+
+    private VersionsPlatform() {}
+
+    static void register(Project project) {
+        ObjectFactory objects = project.getObjects();
+        DependencyHandler dependencies = project.getDependencies();
+        NamedDomainObjectProvider<Configuration> classpath =
+                project.getConfigurations().register(CLASSPATH_CONFIGURATION_NAME, c -> {
+                    c.setCanBeResolved(true);
+                    c.setCanBeConsumed(false);
+                    c.setDescription("Runtime classpath from which the versions platform of this project is created.");
+                    ConsistentResolution.runtimeClasspathAttributes(c, objects);
+                    c.getDependencies().add(dependencies.create(project));
+                });
+        project.getConfigurations().register(ELEMENTS_CONFIGURATION_NAME, c -> {
+            c.setCanBeResolved(false);
+            c.setCanBeConsumed(true);
+            c.setDescription("Versions of all modules on the runtime classpath of this project.");
+            c.getAttributes().attribute(Usage.USAGE_ATTRIBUTE, objects.named(Usage.class, Usage.JAVA_RUNTIME));
+            c.getAttributes()
+                    .attribute(
+                            Category.CATEGORY_ATTRIBUTE, objects.named(Category.class, Category.REGULAR_PLATFORM));
+            c.getOutgoing().capability(ConsistentResolution.versionsPlatformCapability(project.getPath()));
+            c.getDependencyConstraints()
+                    .addAllLater(classpath.flatMap(cp -> cp.getIncoming()
+                            .getResolutionResult()
+                            .getRootComponent()
+                            .map(root -> constraints(root, dependencies))));
+        });
+    }
+
+    private static List<DependencyConstraint> constraints(
+            ResolvedComponentResult root, DependencyHandler dependencies) {
+        List<DependencyConstraint> constraints = new ArrayList<>();
+        for (String module : VersionsLock.modules(root)) {
+            constraints.add(dependencies.getConstraints().create(module));
+        }
+        return constraints;
+    }
+}
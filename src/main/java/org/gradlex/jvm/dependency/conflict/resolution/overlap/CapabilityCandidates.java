@@ -0,0 +1,137 @@
+// SPDX-License-Identifier: Apache-2.0
+package org.gradlex.jvm.dependency.conflict.resolution.overlap;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedSet;
+import java.util.TreeSet;
+import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * Groups the modules of {@link ClassOverlaps.Overlap}s into candidates for a common capability. Modules only end up
+ * in the same group if they share classes directly: the overlaps already are an inverted index from class to the
+ * exact set of modules containing it, so each set of modules is one group. A set that is part of a larger set is
+ * covered by the group of the larger set. A chain like A-B, B-C results in the groups A-B and B-C, so that A and C do
+ * not get a common capability.
+ */
+@NullMarked
+public final class CapabilityCandidates {
+
+    private CapabilityCandidates() {}
+
+    /**
+     * @param overlaps the overlaps of a classpath
+     * @return the groups of modules, as 'group:name', sorted by their capability
+     */
+    public static List<Candidate> group(List<ClassOverlaps.Overlap> overlaps) {
+        Map<SortedSet<String>, Candidate> byModules = new HashMap<>();
+        for (ClassOverlaps.Overlap overlap : overlaps) {
+            SortedSet<String> modules = new TreeSet<>();
+            for (String module : overlap.getModules()) {
+                String ga = moduleName(module);
+                if (ga != null) {
+                    modules.add(ga);
+                }
+            }
+            if (modules.size() > 1) {
+                Candidate candidate = byModules.computeIfAbsent(modules, Candidate::new);
+                candidate.classCount += overlap.getClassCount();
+                candidate.packages.addAll(overlap.getPackages());
+            }
+        }
+        List<Candidate> bySize = new ArrayList<>(byModules.values());
+        bySize.sort((a, b) -> b.modules.size() - a.modules.size());
+        List<Candidate> result = new ArrayList<>();
+        for (Candidate candidate : bySize) {
+            Candidate larger = null;
+            for (Candidate existing : result) {
+                if (existing.modules.containsAll(candidate.modules)) {
+                    larger = existing;
+                    break;
+                }
+            }
+            if (larger == null) {
+                result.add(candidate);
+            } else {
+                larger.classCount += candidate.classCount;
+                larger.packages.addAll(candidate.packages);
+            }
+        }
+        assignCapabilities(result);
+        result.sort((a, b) -> a.getCapability().compareTo(b.getCapability()));
+        return result;
+    }
+
+    /**
+     * A group uses the capability its first module has implicitly. If groups share their first module, that
+     * capability would make all their modules conflict with each other. Each of these groups therefore gets a
+     * capability named after all its modules, which is added to all of them.
+     */
+    private static void assignCapabilities(List<Candidate> candidates) {
+        Map<String, Integer> firstModules = new HashMap<>();
+        for (Candidate candidate : candidates) {
+            firstModules.merge(candidate.modules.first(), 1, Integer::sum);
+        }
+        for (Candidate candidate : candidates) {
+            String first = candidate.modules.first();
+            if (firstModules.get(first) == 1) {
+                candidate.capability = first;
+            } else {
+                StringBuilder capability = new StringBuilder(first);
+                for (String module : candidate.modules) {
+                    if (!module.equals(first)) {
+                        capability.append('-').append(module.substring(module.indexOf(':') + 1));
+                    }
+                }
+                candidate.capability = capability.toString();
+            }
+        }
+    }
+
+    /**
+     * @return 'group:name' of a published module ('group:name:version'), null for other classpath entries
+     */
+    private static @Nullable String moduleName(String module) {
+        String[] coordinates = module.split(":");
+        return coordinates.length == 3 ? coordinates[0] + ":" + coordinates[1] : null;
+    }
+
+    /**
+     * Modules that should share a capability.
+     */
+    public static final class Candidate {
+        private final SortedSet<String> modules;
+        private final SortedSet<String> packages = new TreeSet<>();
+        private String capability;
+        private int classCount;
+
+        private Candidate(SortedSet<String> modules) {
+            this.modules = modules;
+            this.capability = modules.first();
+        }
+
+        /**
+         * @return the capability for the modules, usually the first module, which already has the capability
+         *     implicitly
+         */
+        public String getCapability() {
+            return capability;
+        }
+
+        public SortedSet<String> getModules() {
+            return Collections.unmodifiableSortedSet(modules);
+        }
+
+        public SortedSet<String> getPackages() {
+            return Collections.unmodifiableSortedSet(packages);
+        }
+
+        public int getClassCount() {
+            return classCount;
+        }
+    }
+}
@@ -0,0 +1,160 @@
+// SPDX-License-Identifier: Apache-2.0
+package org.gradlex.jvm.dependency.conflict.resolution.overlap;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import org.jspecify.annotations.NullMarked;
+
+/**
+ * Sorted class names of a Jar in a compact binary form. Each name is stored as the length of the prefix it shares
+ * with the previous name, followed by the remaining bytes. An index is an output of {@link ClassIndexTransform}, whose
+ * result Gradle already verifies when taking it from the cache, so reading only checks the header.
+ * <pre>
+ * 'JDCI' version:byte count:varint { sharedPrefix:varint suffixLength:varint suffix:byte[] }*
+ * </pre>
+ */
+@NullMarked
+public final class ClassIndex implements Iterable<String> {
+
+    private static final int MAGIC = 0x4A444349; // 'JDCI'
+    private static final int VERSION = 2;
+    private static final int HEADER_SIZE = 5;
+
+    private final byte[] content;
+    private final int count;
+    private final int entriesStart;
+
+    private ClassIndex(byte[] content, int count, int entriesStart) {
+        this.content = content;
+        this.count = count;
+        this.entriesStart = entriesStart;
+    }
+
+    /**
+     * @param classNames the class names, which are sorted and de-duplicated by this method
+     */
+    public static void write(List<String> classNames, Path file) throws IOException {
+        List<String> sorted = new ArrayList<>(classNames);
+        sorted.sort(null);
+        ByteArrayOutputStream entries = new ByteArrayOutputStream();
+        byte[] previous = new byte[0];
+        int count = 0;
+        for (String className : sorted) {
+            byte[] name = className.getBytes(StandardCharsets.UTF_8);
+            int shared = sharedPrefix(previous, name);
+            if (shared == name.length && shared == previous.length && count > 0) {
+                continue;
+            }
+            writeVarInt(entries, shared);
+            writeVarInt(entries, name.length - shared);
+            entries.write(name, shared, name.length - shared);
+            previous = name;
+            count++;
+        }
+        ByteArrayOutputStream content = new ByteArrayOutputStream(HEADER_SIZE + 5 + entries.size());
+        writeInt(content, MAGIC);
+        content.write(VERSION);
+        writeVarInt(content, count);
+        entries.writeTo(content);
+        Files.write(file, content.toByteArray());
+    }
+
+    public static ClassIndex read(Path file) throws IOException {
+        byte[] content = Files.readAllBytes(file);
+        if (content.length < HEADER_SIZE + 1 || readInt(content, 0) != MAGIC || content[4] != VERSION) {
+            throw new IOException("Not a class index: " + file);
+        }
+        int[] position = {HEADER_SIZE};
+        int count = readVarInt(content, position);
+        return new ClassIndex(content, count, position[0]);
+    }
+
+    public int size() {
+        return count;
+    }
+
+    /**
+     * @return the class names in ascending order
+     */
+    @Override
+    public Iterator<String> iterator() {
+        return new Iterator<String>() {
+            private final int[] position = {entriesStart};
+            private byte[] name = new byte[64];
+            private int remaining = count;
+
+            @Override
+            public boolean hasNext() {
+                return remaining > 0;
+            }
+
+            @Override
+            public String next() {
+                if (remaining == 0) {
+                    throw new NoSuchElementException();
+                }
+                int shared = readVarInt(content, position);
+                int suffix = readVarInt(content, position);
+                if (name.length < shared + suffix) {
+                    byte[] larger = new byte[Math.max(shared + suffix, name.length * 2)];
+                    System.arraycopy(name, 0, larger, 0, shared);
+                    name = larger;
+                }
+                System.arraycopy(content, position[0], name, shared, suffix);
+                position[0] += suffix;
+                remaining--;
+                return new String(name, 0, shared + suffix, StandardCharsets.UTF_8);
+            }
+        };
+    }
+
+    private static int sharedPrefix(byte[] a, byte[] b) {
+        int max = Math.min(a.length, b.length);
+        int i = 0;
+        while (i < max && a[i] == b[i]) {
+            i++;
+        }
+        return i;
+    }
+
+    private static void writeInt(ByteArrayOutputStream out, int value) {
+        out.write(value >>> 24);
+        out.write(value >>> 16);
+        out.write(value >>> 8);
+        out.write(value);
+    }
+
+    private static int readInt(byte[] content, int position) {
+        return (content[position] & 0xFF) << 24
+                | (content[position + 1] & 0xFF) << 16
+                | (content[position + 2] & 0xFF) << 8
+                | (content[position + 3] & 0xFF);
+    }
+
+    private static void writeVarInt(ByteArrayOutputStream out, int value) {
+        while ((value & ~0x7F) != 0) {
+            out.write((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.write(value);
+    }
+
+    private static int readVarInt(byte[] content, int[] position) {
+        int value = 0;
+        int shift = 0;
+        byte b;
+        do {
+            b = content[position[0]++];
+            value |= (b & 0x7F) << shift;
+            shift += 7;
+        } while (b < 0);
+        return value;
+    }
+}
@@ -0,0 +1,45 @@
+// SPDX-License-Identifier: Apache-2.0
+package org.gradlex.jvm.dependency.conflict.resolution.overlap;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Collections;
+import java.util.List;
+import org.gradle.api.artifacts.transform.CacheableTransform;
+import org.gradle.api.artifacts.transform.InputArtifact;
+import org.gradle.api.artifacts.transform.TransformAction;
+import org.gradle.api.artifacts.transform.TransformOutputs;
+import org.gradle.api.artifacts.transform.TransformParameters;
+import org.gradle.api.file.FileSystemLocation;
+import org.gradle.api.provider.Provider;
+import org.gradle.api.tasks.Classpath;
+import org.jspecify.annotations.NullMarked;
+
+/**
+ * Creates the {@link ClassIndex} of a Jar. Gradle stores the result in the transform cache in the Gradle user home,
+ * keyed by the content of the Jar, so that each Jar is only scanned once.
+ */
+@NullMarked
+@CacheableTransform
+public abstract class ClassIndexTransform implements TransformAction<TransformParameters.None> {
+
+    public static final String CLASS_INDEX_ARTIFACT_TYPE = "jvm-dependency-conflict-class-index";
+
+    @InputArtifact
+    @Classpath
+    public abstract Provider<FileSystemLocation> getInputArtifact();
+
+    @Override
+    public void transform(TransformOutputs outputs) {
+        File jar = getInputArtifact().get().getAsFile();
+        File index = outputs.file(jar.getName() + ".classes");
+        try {
+            List<String> classNames =
+                    jar.isFile() ? ZipCentralDirectory.classNames(jar.toPath()) : Collections.emptyList();
+            ClassIndex.write(classNames, index.toPath());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,156 @@
+// SPDX-License-Identifier: Apache-2.0
+package org.gradlex.jvm.dependency.conflict.resolution.overlap;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.SortedSet;
+import java.util.TreeSet;
+import org.gradlex.jvm.dependency.conflict.detection.rules.CapabilityDefinition;
+import org.gradlex.jvm.dependency.conflict.detection.rules.DefinitionIndex;
+import org.jspecify.annotations.NullMarked;
+
+/**
+ * Finds classes that exist in more than one module of a classpath, by merging the sorted class names of all modules
+ * (see {@link ClassIndex}). Only the current class name of each module is kept in memory. Classes in more than one
+ * module are grouped by the set of modules containing them, so that no module is compared with each other module.
+ */
+@NullMarked
+public final class ClassOverlaps {
+
+    private static final int MAX_EXAMPLES = 5;
+
+    private ClassOverlaps() {}
+
+    /**
+     * @param modules the modules of the classpath, as 'group:name:version' for published modules
+     * @param sortedClassNames the class names of each module in ascending order, in the order of 'modules'
+     * @return the overlaps, sorted by modules
+     */
+    public static List<Overlap> merge(List<String> modules, List<? extends Iterable<String>> sortedClassNames) {
+        PriorityQueue<Cursor> cursors = new PriorityQueue<>();
+        for (int module = 0; module < modules.size(); module++) {
+            new Cursor(module, sortedClassNames.get(module).iterator()).advance(cursors);
+        }
+        Map<List<String>, Overlap> overlaps = new HashMap<>();
+        SortedSet<String> owners = new TreeSet<>();
+        while (!cursors.isEmpty()) {
+            Cursor cursor = cursors.poll();
+            String className = cursor.current;
+            owners.clear();
+            owners.add(modules.get(cursor.module));
+            cursor.advance(cursors);
+            while (!cursors.isEmpty() && cursors.peek().current.equals(className)) {
+                cursor = cursors.poll();
+                owners.add(modules.get(cursor.module));
+                cursor.advance(cursors);
+            }
+            if (owners.size() > 1) {
+                overlaps.computeIfAbsent(new ArrayList<>(owners), Overlap::new).add(className);
+            }
+        }
+        List<Overlap> result = new ArrayList<>(overlaps.values());
+        result.sort((a, b) -> String.join(",", a.getModules()).compareTo(String.join(",", b.getModules())));
+        return result;
+    }
+
+    private static final class Cursor implements Comparable<Cursor> {
+        private final int module;
+        private final Iterator<String> classNames;
+        private String current = "";
+
+        private Cursor(int module, Iterator<String> classNames) {
+            this.module = module;
+            this.classNames = classNames;
+        }
+
+        void advance(PriorityQueue<Cursor> cursors) {
+            if (classNames.hasNext()) {
+                current = classNames.next();
+                cursors.add(this);
+            }
+        }
+
+        @Override
+        public int compareTo(Cursor other) {
+            return current.compareTo(other.current);
+        }
+    }
+
+    /**
+     * Classes that exist in all modules of a set of modules (and in no other module).
+     */
+    public static final class Overlap {
+        private final List<String> modules;
+        private final SortedSet<String> packages = new TreeSet<>();
+        private final SortedSet<String> examples = new TreeSet<>();
+        private int classCount;
+
+        Overlap(List<String> modules) {
+            this.modules = Collections.unmodifiableList(modules);
+        }
+
+        void add(String className) {
+            classCount++;
+            int packageEnd = className.lastIndexOf('/');
+            packages.add(packageEnd < 0 ? "" : className.substring(0, packageEnd).replace('/', '.'));
+            examples.add(className.replace('/', '.'));
+            if (examples.size() > MAX_EXAMPLES) {
+                examples.remove(examples.last());
+            }
+        }
+
+        public List<String> getModules() {
+            return modules;
+        }
+
+        public int getClassCount() {
+            return classCount;
+        }
+
+        public SortedSet<String> getPackages() {
+            return packages;
+        }
+
+        /**
+         * @return the alphabetically first class names
+         */
+        public SortedSet<String> getExamples() {
+            return examples;
+        }
+
+        /**
+         * @return true if each two of the modules are in a common {@link CapabilityDefinition}, so that
+         *     the conflict is detected by the plugin
+         */
+        public boolean isCoveredByCapabilityDefinition() {
+            for (int i = 0; i < modules.size(); i++) {
+                for (int j = i + 1; j < modules.size(); j++) {
+                    if (!haveCommonCapability(modules.get(i), modules.get(j))) {
+                        return false;
+                    }
+                }
+            }
+            return true;
+        }
+
+        private static boolean haveCommonCapability(String module1, String module2) {
+            String[] coordinates1 = module1.split(":");
+            String[] coordinates2 = module2.split(":");
+            if (coordinates1.length != 3 || coordinates2.length != 3) {
+                return false;
+            }
+            List<CapabilityDefinition> capabilities2 = DefinitionIndex.capabilitiesOf(coordinates2[0], coordinates2[1]);
+            for (CapabilityDefinition definition : DefinitionIndex.capabilitiesOf(coordinates1[0], coordinates1[1])) {
+                if (capabilities2.contains(definition)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+}
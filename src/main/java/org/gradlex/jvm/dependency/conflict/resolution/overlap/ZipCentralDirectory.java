@@ -0,0 +1,145 @@
+// SPDX-License-Identifier: Apache-2.0
+package org.gradlex.jvm.dependency.conflict.resolution.overlap;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import org.jspecify.annotations.NullMarked;
+
+/**
+ * Reads the names of the classes in a Jar from the central directory at the end of the file, which is memory-mapped.
+ * The entries themselves are never read or inflated. Supports Zip64.
+ *
+ * @see <a href="https://pkware.cachefly.net/webdocs/casestudies/APPNOTE.TXT">ZIP File Format Specification</a>
+ */
+@NullMarked
+public final class ZipCentralDirectory {
+
+    private static final int END_OF_CENTRAL_DIRECTORY = 0x06054b50;
+    private static final int END_OF_CENTRAL_DIRECTORY_SIZE = 22;
+    private static final int ZIP64_END_OF_CENTRAL_DIRECTORY = 0x06064b50;
+    private static final int ZIP64_END_OF_CENTRAL_DIRECTORY_LOCATOR = 0x07064b50;
+    private static final int ZIP64_END_OF_CENTRAL_DIRECTORY_LOCATOR_SIZE = 20;
+    private static final int CENTRAL_DIRECTORY_HEADER = 0x02014b50;
+    private static final int CENTRAL_DIRECTORY_HEADER_SIZE = 46;
+    private static final int MAX_COMMENT_SIZE = 0xFFFF;
+
+    private static final byte[] CLASS_SUFFIX = ".class".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] META_INF_PREFIX = "META-INF/".getBytes(StandardCharsets.US_ASCII);
+
+    private ZipCentralDirectory() {}
+
+    /**
+     * @return the names of all classes in the Jar, in internal form without '.class' (e.g. 'javax/inject/Inject'),
+     *     excluding 'module-info', 'package-info' and everything in 'META-INF'
+     */
+    public static List<String> classNames(Path jar) throws IOException {
+        try (FileChannel channel = FileChannel.open(jar, StandardOpenOption.READ)) {
+            long fileSize = channel.size();
+            if (fileSize < END_OF_CENTRAL_DIRECTORY_SIZE) {
+                throw new IOException("Not a zip file: " + jar);
+            }
+            int tailSize = (int) Math.min(
+                    fileSize,
+                    END_OF_CENTRAL_DIRECTORY_SIZE + MAX_COMMENT_SIZE + ZIP64_END_OF_CENTRAL_DIRECTORY_LOCATOR_SIZE);
+            ByteBuffer tail = map(channel, fileSize - tailSize, tailSize);
+            int end = findEndOfCentralDirectory(tail);
+            if (end < 0) {
+                throw new IOException("Not a zip file: " + jar);
+            }
+            long entries = Short.toUnsignedLong(tail.getShort(end + 10));
+            long size = Integer.toUnsignedLong(tail.getInt(end + 12));
+            long offset = Integer.toUnsignedLong(tail.getInt(end + 16));
+            if (entries == 0xFFFF || size == 0xFFFFFFFFL || offset == 0xFFFFFFFFL) {
+                int locator = end - ZIP64_END_OF_CENTRAL_DIRECTORY_LOCATOR_SIZE;
+                if (locator < 0 || tail.getInt(locator) != ZIP64_END_OF_CENTRAL_DIRECTORY_LOCATOR) {
+                    throw new IOException("Zip64 end of central directory not found: " + jar);
+                }
+                ByteBuffer zip64End = map(channel, tail.getLong(locator + 8), 56);
+                if (zip64End.getInt(0) != ZIP64_END_OF_CENTRAL_DIRECTORY) {
+                    throw new IOException("Zip64 end of central directory not found: " + jar);
+                }
+                entries = zip64End.getLong(32);
+                size = zip64End.getLong(40);
+                offset = zip64End.getLong(48);
+            }
+            if (offset + size > fileSize || size > Integer.MAX_VALUE) {
+                throw new IOException("Invalid central directory: " + jar);
+            }
+            return classNames(map(channel, offset, (int) size), entries, jar);
+        }
+    }
+
+    private static List<String> classNames(ByteBuffer directory, long entries, Path jar) throws IOException {
+        List<String> classNames = new ArrayList<>((int) Math.min(entries, 1 << 16));
+        byte[] name = new byte[256];
+        int position = 0;
+        for (long i = 0; i < entries; i++) {
+            if (position + CENTRAL_DIRECTORY_HEADER_SIZE > directory.limit()
+                    || directory.getInt(position) != CENTRAL_DIRECTORY_HEADER) {
+                throw new IOException("Invalid central directory: " + jar);
+            }
+            int nameLength = Short.toUnsignedInt(directory.getShort(position + 28));
+            int extraLength = Short.toUnsignedInt(directory.getShort(position + 30));
+            int commentLength = Short.toUnsignedInt(directory.getShort(position + 32));
+            int nameStart = position + CENTRAL_DIRECTORY_HEADER_SIZE;
+            if (isClass(directory, nameStart, nameLength)) {
+                if (name.length < nameLength) {
+                    name = new byte[nameLength];
+                }
+                directory.position(nameStart);
+                directory.get(name, 0, nameLength);
+                String className =
+                        new String(name, 0, nameLength - CLASS_SUFFIX.length, StandardCharsets.UTF_8);
+                if (!className.endsWith("module-info") && !className.endsWith("package-info")) {
+                    classNames.add(className);
+                }
+            }
+            position = nameStart + nameLength + extraLength + commentLength;
+        }
+        return classNames;
+    }
+
+    private static boolean isClass(ByteBuffer directory, int nameStart, int nameLength) {
+        if (nameLength <= CLASS_SUFFIX.length || nameStart + nameLength > directory.limit()) {
+            return false;
+        }
+        for (int i = 0; i < CLASS_SUFFIX.length; i++) {
+            if (directory.get(nameStart + nameLength - CLASS_SUFFIX.length + i) != CLASS_SUFFIX[i]) {
+                return false;
+            }
+        }
+        if (nameLength < META_INF_PREFIX.length) {
+            return true;
+        }
+        for (int i = 0; i < META_INF_PREFIX.length; i++) {
+            if (directory.get(nameStart + i) != META_INF_PREFIX[i]) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static int findEndOfCentralDirectory(ByteBuffer tail) {
+        for (int i = tail.limit() - END_OF_CENTRAL_DIRECTORY_SIZE; i >= 0; i--) {
+            if (tail.getInt(i) == END_OF_CENTRAL_DIRECTORY
+                    && i + END_OF_CENTRAL_DIRECTORY_SIZE + Short.toUnsignedInt(tail.getShort(i + 20)) == tail.limit()) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static ByteBuffer map(FileChannel channel, long position, int size) throws IOException {
+        MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, position, size);
+        buffer.order(ByteOrder.LITTLE_ENDIAN);
+        return buffer;
+    }
+}
@@ -5,7 +5,7 @@ import java.util.List;
 import javax.inject.Inject;
 import org.gradle.api.artifacts.CacheableRule;
 import org.gradle.api.artifacts.ComponentMetadataContext;
-import org.gradle.api.artifacts.ComponentMetadataRule;
+import org.gradlex.jvm.dependency.conflict.detection.util.InstrumentedRule;
 import org.jspecify.annotations.NullMarked;
 
 /**
@@ -14,7 +14,7 @@ import org.jspecify.annotations.NullMarked;
  */
 @NullMarked
 @CacheableRule
-public abstract class AddAlignmentConstraintsMetadataRule implements ComponentMetadataRule {
+public abstract class AddAlignmentConstraintsMetadataRule extends InstrumentedRule {
 
     private final List<String> components;
 
@@ -24,7 +24,7 @@ public abstract class AddAlignmentConstraintsMetadataRule implements ComponentMe
     }
 
     @Override
-    public void execute(ComponentMetadataContext context) {
+    protected void doExecute(ComponentMetadataContext context) {
         String version = context.getDetails().getId().getVersion();
         String group = context.getDetails().getId().getGroup();
         context.getDetails().allVariants(v -> {
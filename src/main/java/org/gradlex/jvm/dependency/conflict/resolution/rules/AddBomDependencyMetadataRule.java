@@ -4,9 +4,9 @@ package org.gradlex.jvm.dependency.conflict.resolution.rules;
 import javax.inject.Inject;
 import org.gradle.api.artifacts.CacheableRule;
 import org.gradle.api.artifacts.ComponentMetadataContext;
-import org.gradle.api.artifacts.ComponentMetadataRule;
 import org.gradle.api.attributes.Category;
 import org.gradle.api.model.ObjectFactory;
+import org.gradlex.jvm.dependency.conflict.detection.util.InstrumentedRule;
 import org.jspecify.annotations.NullMarked;
 
 /**
@@ -16,7 +16,7 @@ import org.jspecify.annotations.NullMarked;
  */
 @NullMarked
 @CacheableRule
-public abstract class AddBomDependencyMetadataRule implements ComponentMetadataRule {
+public abstract class AddBomDependencyMetadataRule extends InstrumentedRule {
 
     private final String bom;
 
@@ -29,7 +29,7 @@ public abstract class AddBomDependencyMetadataRule implements ComponentMetadataR
     protected abstract ObjectFactory getObjects();
 
     @Override
-    public void execute(ComponentMetadataContext context) {
+    protected void doExecute(ComponentMetadataContext context) {
         String version = context.getDetails().getId().getVersion();
         context.getDetails()
                 .allVariants(v -> v.withDependencies(dependencies -> dependencies.add(
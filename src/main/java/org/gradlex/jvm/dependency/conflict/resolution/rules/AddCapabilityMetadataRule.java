@@ -4,8 +4,9 @@ package org.gradlex.jvm.dependency.conflict.resolution.rules;
 import javax.inject.Inject;
 import org.gradle.api.artifacts.CacheableRule;
 import org.gradle.api.artifacts.ComponentMetadataContext;
-import org.gradle.api.artifacts.ComponentMetadataRule;
+import org.gradle.api.artifacts.ComponentMetadataDetails;
 import org.gradle.api.artifacts.ModuleVersionIdentifier;
+import org.gradlex.jvm.dependency.conflict.detection.util.InstrumentedRule;
 import org.jspecify.annotations.NullMarked;
 
 /**
@@ -16,7 +17,7 @@ import org.jspecify.annotations.NullMarked;
  */
 @NullMarked
 @CacheableRule
-public abstract class AddCapabilityMetadataRule implements ComponentMetadataRule {
+public abstract class AddCapabilityMetadataRule extends InstrumentedRule {
 
     private final String capability;
 
@@ -26,12 +27,16 @@ public abstract class AddCapabilityMetadataRule implements ComponentMetadataRule
     }
 
     @Override
-    public void execute(ComponentMetadataContext context) {
-        ModuleVersionIdentifier id = context.getDetails().getId();
+    protected void doExecute(ComponentMetadataContext context) {
+        apply(context.getDetails(), capability);
+    }
+
+    static void apply(ComponentMetadataDetails details, String capability) {
+        ModuleVersionIdentifier id = details.getId();
         String group = capability.split(":")[0];
         String name = capability.split(":")[1];
         String version = id.getVersion();
 
-        context.getDetails().allVariants(v -> v.withCapabilities(c -> c.addCapability(group, name, version)));
+        details.allVariants(v -> v.withCapabilities(c -> c.addCapability(group, name, version)));
     }
 }
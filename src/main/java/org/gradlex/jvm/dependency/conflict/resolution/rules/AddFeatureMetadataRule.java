@@ -4,8 +4,9 @@ package org.gradlex.jvm.dependency.conflict.resolution.rules;
 import javax.inject.Inject;
 import org.gradle.api.artifacts.CacheableRule;
 import org.gradle.api.artifacts.ComponentMetadataContext;
-import org.gradle.api.artifacts.ComponentMetadataRule;
+import org.gradle.api.artifacts.ComponentMetadataDetails;
 import org.gradle.api.artifacts.ModuleVersionIdentifier;
+import org.gradlex.jvm.dependency.conflict.detection.util.InstrumentedRule;
 import org.jspecify.annotations.NullMarked;
 
 /**
@@ -16,7 +17,7 @@ import org.jspecify.annotations.NullMarked;
  */
 @NullMarked
 @CacheableRule
-public abstract class AddFeatureMetadataRule implements ComponentMetadataRule {
+public abstract class AddFeatureMetadataRule extends InstrumentedRule {
 
     private final String classifier;
 
@@ -26,19 +27,23 @@ public abstract class AddFeatureMetadataRule implements ComponentMetadataRule {
     }
 
     @Override
-    public void execute(ComponentMetadataContext context) {
-        addFeatureVariant(context, classifier, "Compile", "compile");
-        addFeatureVariant(context, classifier, "Runtime", "runtime");
+    protected void doExecute(ComponentMetadataContext context) {
+        apply(context.getDetails(), classifier);
+    }
+
+    static void apply(ComponentMetadataDetails details, String classifier) {
+        addFeatureVariant(details, classifier, "Compile", "compile");
+        addFeatureVariant(details, classifier, "Runtime", "runtime");
     }
 
     private static void addFeatureVariant(
-            ComponentMetadataContext context, String classifier, String nameSuffix, String baseVariant) {
-        ModuleVersionIdentifier id = context.getDetails().getId();
+            ComponentMetadataDetails details, String classifier, String nameSuffix, String baseVariant) {
+        ModuleVersionIdentifier id = details.getId();
         String group = id.getGroup();
         String name = id.getName();
         String version = id.getVersion();
 
-        context.getDetails().addVariant(classifier + nameSuffix, baseVariant, v -> {
+        details.addVariant(classifier + nameSuffix, baseVariant, v -> {
             v.withCapabilities(c -> {
                 c.removeCapability(group, name);
                 c.addCapability(group, name + "-" + classifier, version);
@@ -3,13 +3,15 @@ package org.gradlex.jvm.dependency.conflict.resolution.rules;
 
 import static org.gradlex.jvm.dependency.conflict.resolution.rules.DependencyModification.addCapability;
 import static org.gradlex.jvm.dependency.conflict.resolution.rules.VariantSelection.allVariantsMatching;
+import static org.gradlex.jvm.dependency.conflict.resolution.rules.VariantSelection.discoverVariants;
 
+import java.util.Map;
 import javax.inject.Inject;
 import org.gradle.api.artifacts.CacheableRule;
 import org.gradle.api.artifacts.ComponentMetadataContext;
-import org.gradle.api.artifacts.ComponentMetadataRule;
 import org.gradle.api.attributes.Category;
 import org.gradle.api.attributes.Usage;
+import org.gradlex.jvm.dependency.conflict.detection.util.InstrumentedRule;
 import org.jspecify.annotations.NullMarked;
 
 /**
@@ -19,7 +21,7 @@ import org.jspecify.annotations.NullMarked;
  */
 @NullMarked
 @CacheableRule
-public abstract class AddRuntimeOnlyDependencyMetadataRule implements ComponentMetadataRule {
+public abstract class AddRuntimeOnlyDependencyMetadataRule extends InstrumentedRule {
 
     private final String dependency;
     private final String capability;
@@ -31,9 +33,18 @@ public abstract class AddRuntimeOnlyDependencyMetadataRule implements ComponentM
     }
 
     @Override
-    public void execute(ComponentMetadataContext context) {
+    protected void doExecute(ComponentMetadataContext context) {
+        apply(context, discoverVariants(context), dependency, capability);
+    }
+
+    static void apply(
+            ComponentMetadataContext context,
+            Map<String, VariantIdentification> variants,
+            String dependency,
+            String capability) {
         allVariantsMatching(
                 context,
+                variants,
                 id -> id.matches(Usage.USAGE_ATTRIBUTE, Usage.JAVA_RUNTIME)
                         && id.matches(Category.CATEGORY_ATTRIBUTE, Category.LIBRARY),
                 v -> v.withDependencies(dependencies -> dependencies.add(dependency, d -> {
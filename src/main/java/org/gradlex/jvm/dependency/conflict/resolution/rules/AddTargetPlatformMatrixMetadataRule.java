@@ -0,0 +1,61 @@
+// SPDX-License-Identifier: Apache-2.0
+package org.gradlex.jvm.dependency.conflict.resolution.rules;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import javax.inject.Inject;
+import org.gradle.api.artifacts.CacheableRule;
+import org.gradle.api.artifacts.ComponentMetadataContext;
+import org.gradle.api.artifacts.ComponentMetadataDetails;
+import org.gradle.api.model.ObjectFactory;
+import org.gradle.nativeplatform.MachineArchitecture;
+import org.gradle.nativeplatform.OperatingSystemFamily;
+import org.gradlex.jvm.dependency.conflict.detection.util.InstrumentedRule;
+import org.jspecify.annotations.NullMarked;
+
+/**
+ * Adds the variants of a whole platform matrix in one pass. The result is the same as registering one
+ * {@link AddTargetPlatformVariantsMetadataRule} per target platform, but the module goes through one rule execution
+ * and each OperatingSystemFamily and MachineArchitecture value is created once per execution.
+ */
+@NullMarked
+@CacheableRule
+public abstract class AddTargetPlatformMatrixMetadataRule extends InstrumentedRule {
+
+    private final String feature;
+    private final List<NativesMatrix.Target> targets;
+
+    @Inject
+    protected abstract ObjectFactory getObjects();
+
+    @Inject
+    public AddTargetPlatformMatrixMetadataRule(String feature, List<NativesMatrix.Target> targets) {
+        this.feature = feature;
+        this.targets = targets;
+    }
+
+    @Override
+    protected void doExecute(ComponentMetadataContext context) {
+        apply(context.getDetails(), getObjects(), feature, targets);
+    }
+
+    static void apply(
+            ComponentMetadataDetails details,
+            ObjectFactory objects,
+            String feature,
+            List<NativesMatrix.Target> targets) {
+        Map<String, OperatingSystemFamily> operatingSystems = new HashMap<>();
+        Map<String, MachineArchitecture> architectures = new HashMap<>();
+        for (NativesMatrix.Target target : targets) {
+            AddTargetPlatformVariantsMetadataRule.apply(
+                    details,
+                    feature,
+                    target.getClassifier(),
+                    operatingSystems.computeIfAbsent(
+                            target.getOperatingSystem(), os -> objects.named(OperatingSystemFamily.class, os)),
+                    architectures.computeIfAbsent(
+                            target.getArchitecture(), arch -> objects.named(MachineArchitecture.class, arch)));
+        }
+    }
+}
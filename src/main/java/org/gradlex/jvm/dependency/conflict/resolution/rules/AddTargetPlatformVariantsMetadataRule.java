@@ -8,11 +8,11 @@ import javax.inject.Inject;
 import org.gradle.api.artifacts.CacheableRule;
 import org.gradle.api.artifacts.ComponentMetadataContext;
 import org.gradle.api.artifacts.ComponentMetadataDetails;
-import org.gradle.api.artifacts.ComponentMetadataRule;
 import org.gradle.api.artifacts.VariantMetadata;
 import org.gradle.api.model.ObjectFactory;
 import org.gradle.nativeplatform.MachineArchitecture;
 import org.gradle.nativeplatform.OperatingSystemFamily;
+import org.gradlex.jvm.dependency.conflict.detection.util.InstrumentedRule;
 import org.jspecify.annotations.NullMarked;
 
 /**
@@ -22,7 +22,7 @@ import org.jspecify.annotations.NullMarked;
  */
 @NullMarked
 @CacheableRule
-public abstract class AddTargetPlatformVariantsMetadataRule implements ComponentMetadataRule {
+public abstract class AddTargetPlatformVariantsMetadataRule extends InstrumentedRule {
 
     private final String feature;
     private final String classifier;
@@ -42,21 +42,53 @@ public abstract class AddTargetPlatformVariantsMetadataRule implements Component
     }
 
     @Override
-    public void execute(ComponentMetadataContext context) {
-        ComponentMetadataDetails details = context.getDetails();
+    protected void doExecute(ComponentMetadataContext context) {
+        apply(context.getDetails(), getObjects(), feature, classifier, operatingSystem, architecture);
+    }
+
+    static void apply(
+            ComponentMetadataDetails details,
+            ObjectFactory objects,
+            String feature,
+            String classifier,
+            String operatingSystem,
+            String architecture) {
+        apply(
+                details,
+                feature,
+                classifier,
+                objects.named(OperatingSystemFamily.class, operatingSystem),
+                objects.named(MachineArchitecture.class, architecture));
+    }
+
+    static void apply(
+            ComponentMetadataDetails details,
+            String feature,
+            String classifier,
+            OperatingSystemFamily operatingSystemFamily,
+            MachineArchitecture machineArchitecture) {
         if (classifier.isEmpty()) {
             if (!feature.isEmpty()) {
                 throw new IllegalStateException("if classifier is empty, feature must be empty too.");
             }
-            details.withVariant("compile", this::configureAttributes);
-            details.withVariant("runtime", this::configureAttributes);
+            details.withVariant("compile", v -> configureAttributes(v, operatingSystemFamily, machineArchitecture));
+            details.withVariant("runtime", v -> configureAttributes(v, operatingSystemFamily, machineArchitecture));
         } else {
-            addTargetPlatformVariant(details, "Compile", "compile");
-            addTargetPlatformVariant(details, "Runtime", "runtime");
+            addTargetPlatformVariant(
+                    details, feature, classifier, operatingSystemFamily, machineArchitecture, "Compile", "compile");
+            addTargetPlatformVariant(
+                    details, feature, classifier, operatingSystemFamily, machineArchitecture, "Runtime", "runtime");
         }
     }
 
-    private void addTargetPlatformVariant(ComponentMetadataDetails details, String nameSuffix, String baseVariant) {
+    private static void addTargetPlatformVariant(
+            ComponentMetadataDetails details,
+            String feature,
+            String classifier,
+            OperatingSystemFamily operatingSystem,
+            MachineArchitecture architecture,
+            String nameSuffix,
+            String baseVariant) {
         String group = details.getId().getGroup();
         String name = details.getId().getName();
         String version = details.getId().getVersion();
@@ -68,7 +100,7 @@ public abstract class AddTargetPlatformVariantsMetadataRule implements Component
                     c.addCapability(group, name + "-" + feature, version);
                 });
             }
-            configureAttributes(variant);
+            configureAttributes(variant, operatingSystem, architecture);
             variant.withFiles(files -> {
                 files.removeAllFiles();
                 files.addFile(name + "-" + version + "-" + classifier + ".jar");
@@ -76,11 +108,11 @@ public abstract class AddTargetPlatformVariantsMetadataRule implements Component
         });
     }
 
-    private void configureAttributes(VariantMetadata variant) {
+    private static void configureAttributes(
+            VariantMetadata variant, OperatingSystemFamily operatingSystem, MachineArchitecture architecture) {
         variant.attributes(attributes -> {
-            attributes.attribute(
-                    OPERATING_SYSTEM_ATTRIBUTE, getObjects().named(OperatingSystemFamily.class, operatingSystem));
-            attributes.attribute(ARCHITECTURE_ATTRIBUTE, getObjects().named(MachineArchitecture.class, architecture));
+            attributes.attribute(OPERATING_SYSTEM_ATTRIBUTE, operatingSystem);
+            attributes.attribute(ARCHITECTURE_ATTRIBUTE, architecture);
         });
     }
 }
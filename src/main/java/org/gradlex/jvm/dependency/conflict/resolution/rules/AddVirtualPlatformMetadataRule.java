@@ -0,0 +1,31 @@
+// SPDX-License-Identifier: Apache-2.0
+package org.gradlex.jvm.dependency.conflict.resolution.rules;
+
+import javax.inject.Inject;
+import org.gradle.api.artifacts.CacheableRule;
+import org.gradle.api.artifacts.ComponentMetadataContext;
+import org.gradlex.jvm.dependency.conflict.detection.util.InstrumentedRule;
+import org.jspecify.annotations.NullMarked;
+
+/**
+ * See:
+ * <a href="https://docs.gradle.org/current/userguide/component_metadata_rules.html#sec:virtual_platform">
+ *     component_metadata_rules.html#sec:virtual_platform</a>
+ */
+@NullMarked
+@CacheableRule
+public abstract class AddVirtualPlatformMetadataRule extends InstrumentedRule {
+
+    private final String platform;
+
+    @Inject
+    public AddVirtualPlatformMetadataRule(String platform) {
+        this.platform = platform;
+    }
+
+    @Override
+    protected void doExecute(ComponentMetadataContext context) {
+        String version = context.getDetails().getId().getVersion();
+        context.getDetails().belongsTo(platform + ":" + version, true);
+    }
+}
@@ -5,7 +5,8 @@ import java.util.List;
 import javax.inject.Inject;
 import org.gradle.api.artifacts.CacheableRule;
 import org.gradle.api.artifacts.ComponentMetadataContext;
-import org.gradle.api.artifacts.ComponentMetadataRule;
+import org.gradle.api.artifacts.ComponentMetadataDetails;
+import org.gradlex.jvm.dependency.conflict.detection.util.InstrumentedRule;
 import org.jspecify.annotations.NullMarked;
 
 /**
@@ -16,7 +17,7 @@ import org.jspecify.annotations.NullMarked;
  */
 @NullMarked
 @CacheableRule
-public abstract class ComponentStatusRule implements ComponentMetadataRule {
+public abstract class ComponentStatusRule extends InstrumentedRule {
 
     private final List<String> integrationVersionMarker;
 
@@ -26,10 +27,14 @@ public abstract class ComponentStatusRule implements ComponentMetadataRule {
     }
 
     @Override
-    public void execute(ComponentMetadataContext context) {
-        String version = context.getDetails().getId().getVersion().toLowerCase();
+    protected void doExecute(ComponentMetadataContext context) {
+        apply(context.getDetails(), integrationVersionMarker);
+    }
+
+    static void apply(ComponentMetadataDetails details, List<String> integrationVersionMarker) {
+        String version = details.getId().getVersion().toLowerCase();
         if (integrationVersionMarker.stream().anyMatch(version::contains)) {
-            context.getDetails().setStatus("integration");
+            details.setStatus("integration");
         }
     }
 }
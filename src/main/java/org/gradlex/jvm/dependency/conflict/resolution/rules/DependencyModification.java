@@ -1,6 +1,8 @@
 // SPDX-License-Identifier: Apache-2.0
 package org.gradlex.jvm.dependency.conflict.resolution.rules;
 
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
 import java.lang.reflect.Method;
 import java.util.HashSet;
 import java.util.Set;
@@ -41,12 +43,25 @@ class DependencyModification {
 
     private static void updateMetadata(DirectDependencyMetadata dependency, ModuleDependencyMetadata metadata) {
         try {
-            Method updateMetadata = AbstractDependencyMetadataAdapter.class.getDeclaredMethod(
-                    "updateMetadata", ModuleDependencyMetadata.class);
-            updateMetadata.setAccessible(true);
-            updateMetadata.invoke(dependency, metadata);
-        } catch (ReflectiveOperationException e) {
+            UpdateMetadata.HANDLE.invoke(dependency, metadata);
+        } catch (Throwable e) {
             throw new RuntimeException(e);
         }
     }
+
+    // Looked up once, when first needed
+    private static final class UpdateMetadata {
+        private static final MethodHandle HANDLE = find();
+
+        private static MethodHandle find() {
+            try {
+                Method updateMetadata = AbstractDependencyMetadataAdapter.class.getDeclaredMethod(
+                        "updateMetadata", ModuleDependencyMetadata.class);
+                updateMetadata.setAccessible(true);
+                return MethodHandles.lookup().unreflect(updateMetadata);
+            } catch (ReflectiveOperationException e) {
+                throw new RuntimeException(e);
+            }
+        }
+    }
 }
@@ -6,9 +6,9 @@ import java.util.List;
 import org.gradle.api.artifacts.CacheableRule;
 import org.gradle.api.artifacts.ComponentMetadataContext;
 import org.gradle.api.artifacts.ComponentMetadataDetails;
-import org.gradle.api.artifacts.ComponentMetadataRule;
 import org.gradle.api.artifacts.VariantMetadata;
 import org.gradle.api.attributes.Attribute;
+import org.gradlex.jvm.dependency.conflict.detection.util.InstrumentedRule;
 import org.jspecify.annotations.NullMarked;
 
 /**
@@ -31,7 +31,7 @@ import org.jspecify.annotations.NullMarked;
 @NullMarked
 @CacheableRule
 @Deprecated
-public abstract class GuavaComponentRule implements ComponentMetadataRule {
+public abstract class GuavaComponentRule extends InstrumentedRule {
 
     private static final Attribute<String> TARGET_JVM_ENVIRONMENT_ATTRIBUTE =
             Attribute.of("org.gradle.jvm.environment", String.class);
@@ -39,7 +39,8 @@ public abstract class GuavaComponentRule implements ComponentMetadataRule {
     private final List<String> RUNTIME_VARIANT_NAMES =
             Arrays.asList("runtime", "androidRuntimeElements", "jreRuntimeElements");
 
-    public void execute(ComponentMetadataContext ctx) {
+    @Override
+    protected void doExecute(ComponentMetadataContext ctx) {
         int majorVersion = getMajorVersion(ctx.getDetails());
         // if (majorVersion <= 32) // May add this check should https://github.com/google/guava/pull/6606 be done
         removeAnnotationProcessorDependenciesFromRuntime(ctx.getDetails());
@@ -1,96 +1,79 @@
 // SPDX-License-Identifier: Apache-2.0
 package org.gradlex.jvm.dependency.conflict.resolution.rules;
 
-import static org.gradle.nativeplatform.MachineArchitecture.*;
-import static org.gradle.nativeplatform.OperatingSystemFamily.*;
+import static org.gradle.nativeplatform.MachineArchitecture.ARCHITECTURE_ATTRIBUTE;
+import static org.gradle.nativeplatform.OperatingSystemFamily.OPERATING_SYSTEM_ATTRIBUTE;
 import static org.gradlex.jvm.dependency.conflict.resolution.rules.DependencyModification.addCapability;
 
-import java.util.Arrays;
 import java.util.List;
 import javax.inject.Inject;
 import org.gradle.api.artifacts.CacheableRule;
 import org.gradle.api.artifacts.ComponentMetadataContext;
 import org.gradle.api.artifacts.ComponentMetadataDetails;
-import org.gradle.api.artifacts.ComponentMetadataRule;
 import org.gradle.api.model.ObjectFactory;
 import org.gradle.nativeplatform.MachineArchitecture;
 import org.gradle.nativeplatform.OperatingSystemFamily;
+import org.gradlex.jvm.dependency.conflict.detection.util.InstrumentedRule;
 import org.jspecify.annotations.NullMarked;
 
+/**
+ * Adds a runtime variant for each native Jar that an LWJGL module publishes according to {@link NativesMatrix#LWJGL}.
+ * <p>
+ * The matrix describes the Jars published for LWJGL 3.3.6 and is used for all versions. For other versions, a
+ * variant may point at a Jar that does not exist for that version, or a published Jar may have no variant. Such a
+ * Jar can be added with 'addTargetPlatformVariant' in a 'patch' block.
+ */
 @NullMarked
 @CacheableRule
-public abstract class LWJGLTargetPlatformRule implements ComponentMetadataRule {
-
-    public static class LWJGLTarget {
-        private final String classifier;
-        private final String os;
-        private final String arch;
-
-        LWJGLTarget(String classifier, String os, String arch) {
-            this.classifier = classifier;
-            this.os = os;
-            this.arch = arch;
-        }
-
-        @Override
-        public String toString() {
-            return classifier + "|" + os + "|" + arch;
-        }
-    }
-
-    @SuppressWarnings("UnstableApiUsage")
-    public static final List<LWJGLTarget> TARGETS = Arrays.asList(
-            new LWJGLTarget("natives-freebsd", "freebsd", X86_64),
-            new LWJGLTarget("natives-linux", LINUX, X86_64),
-            new LWJGLTarget("natives-linux-arm32", LINUX, "arm"),
-            new LWJGLTarget("natives-linux-arm64", LINUX, ARM64),
-            new LWJGLTarget("natives-linux-ppc64le", LINUX, "ppc64le"),
-            new LWJGLTarget("natives-linux-riscv64", LINUX, "riscv64"),
-            new LWJGLTarget("natives-macos", MACOS, X86_64),
-            new LWJGLTarget("natives-macos-arm64", MACOS, ARM64),
-            new LWJGLTarget("natives-windows", WINDOWS, X86_64),
-            new LWJGLTarget("natives-windows-arm64", WINDOWS, ARM64),
-            new LWJGLTarget("natives-windows-x86", WINDOWS, X86));
+public abstract class LWJGLTargetPlatformRule extends InstrumentedRule {
 
     @Inject
     protected abstract ObjectFactory getObjects();
 
     @Override
-    public void execute(ComponentMetadataContext context) {
+    protected void doExecute(ComponentMetadataContext context) {
         ComponentMetadataDetails details = context.getDetails();
         String runtimeVariant = "runtime";
         String group = details.getId().getGroup();
         String name = details.getId().getName();
+        List<NativesMatrix.Target> targets = NativesMatrix.LWJGL.getTargets(group + ":" + name);
+        if (targets.isEmpty()) {
+            return;
+        }
         String nativesCapability = name + "-natives";
-        for (LWJGLTarget target : TARGETS) {
+        for (NativesMatrix.Target target : targets) {
             addTargetPlatformVariant(details, target, runtimeVariant, nativesCapability);
         }
         details.withVariant(
                 runtimeVariant,
-                v -> v.withDependencies(dependencies ->
-                        dependencies.add(group + ":" + name, d -> addCapability(d, group + ":" + nativesCapability))));
+                v -> v.withDependencies(dependencies -> dependencies.add(
+                        group + ":" + name, d -> addCapability(d, group + ":" + nativesCapability))));
     }
 
     private void addTargetPlatformVariant(
-            ComponentMetadataDetails details, LWJGLTarget target, String runtimeVariant, String nativesCapability) {
+            ComponentMetadataDetails details,
+            NativesMatrix.Target target,
+            String runtimeVariant,
+            String nativesCapability) {
         String group = details.getId().getGroup();
         String name = details.getId().getName();
         String version = details.getId().getVersion();
+        OperatingSystemFamily operatingSystem =
+                getObjects().named(OperatingSystemFamily.class, target.getOperatingSystem());
+        MachineArchitecture architecture = getObjects().named(MachineArchitecture.class, target.getArchitecture());
 
-        details.addVariant(target.classifier + "Runtime", runtimeVariant, variant -> {
+        details.addVariant(target.getClassifier() + "Runtime", runtimeVariant, variant -> {
             variant.withCapabilities(c -> {
                 c.removeCapability(group, name);
                 c.addCapability(group, nativesCapability, version);
             });
             variant.attributes(attributes -> {
-                attributes.attribute(
-                        OPERATING_SYSTEM_ATTRIBUTE, getObjects().named(OperatingSystemFamily.class, target.os));
-                attributes.attribute(
-                        ARCHITECTURE_ATTRIBUTE, getObjects().named(MachineArchitecture.class, target.arch));
+                attributes.attribute(OPERATING_SYSTEM_ATTRIBUTE, operatingSystem);
+                attributes.attribute(ARCHITECTURE_ATTRIBUTE, architecture);
             });
             variant.withFiles(files -> {
                 files.removeAllFiles();
-                files.addFile(name + "-" + version + "-" + target.classifier + ".jar");
+                files.addFile(name + "-" + version + "-" + target.getClassifier() + ".jar");
             });
         });
     }
@@ -0,0 +1,106 @@
+// SPDX-License-Identifier: Apache-2.0
+package org.gradlex.jvm.dependency.conflict.resolution.rules;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * Immutable, ordered list of metadata modifications for one module, applied together by {@link ModulePatchRule}.
+ */
+@NullMarked
+public final class ModulePatchPlan implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    public enum Kind {
+        ADD_API_DEPENDENCY,
+        ADD_RUNTIME_ONLY_DEPENDENCY,
+        ADD_COMPILE_ONLY_API_DEPENDENCY,
+        REMOVE_DEPENDENCY,
+        REDUCE_TO_RUNTIME_ONLY_DEPENDENCY,
+        REDUCE_TO_COMPILE_ONLY_API_DEPENDENCY,
+        ADD_CAPABILITY,
+        REMOVE_CAPABILITY,
+        ADD_FEATURE,
+        ADD_TARGET_PLATFORM_VARIANT,
+        ADD_TARGET_PLATFORM_VARIANTS,
+        SET_STATUS_TO_INTEGRATION
+    }
+
+    public static final class Step implements Serializable {
+        private static final long serialVersionUID = 1L;
+
+        private final Kind kind;
+        private final List<String> arguments;
+        private final List<NativesMatrix.Target> targets;
+
+        public Step(Kind kind, String... arguments) {
+            this(kind, Collections.emptyList(), arguments);
+        }
+
+        public Step(Kind kind, List<NativesMatrix.Target> targets, String... arguments) {
+            this.kind = kind;
+            this.arguments = Collections.unmodifiableList(new ArrayList<>(Arrays.asList(arguments)));
+            this.targets = Collections.unmodifiableList(new ArrayList<>(targets));
+        }
+
+        public Kind getKind() {
+            return kind;
+        }
+
+        public List<String> getArguments() {
+            return arguments;
+        }
+
+        /**
+         * @return the target platforms of an {@link Kind#ADD_TARGET_PLATFORM_VARIANTS} step
+         */
+        public List<NativesMatrix.Target> getTargets() {
+            return targets;
+        }
+
+        String argument(int index) {
+            return arguments.get(index);
+        }
+
+        @Override
+        public boolean equals(@Nullable Object o) {
+            if (!(o instanceof Step)) {
+                return false;
+            }
+            Step step = (Step) o;
+            return kind == step.kind && arguments.equals(step.arguments) && targets.equals(step.targets);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(kind, arguments, targets);
+        }
+    }
+
+    private final List<Step> steps;
+
+    public ModulePatchPlan(List<Step> steps) {
+        this.steps = Collections.unmodifiableList(new ArrayList<>(steps));
+    }
+
+    public List<Step> getSteps() {
+        return steps;
+    }
+
+    @Override
+    public boolean equals(@Nullable Object o) {
+        return o instanceof ModulePatchPlan && steps.equals(((ModulePatchPlan) o).steps);
+    }
+
+    @Override
+    public int hashCode() {
+        return steps.hashCode();
+    }
+}
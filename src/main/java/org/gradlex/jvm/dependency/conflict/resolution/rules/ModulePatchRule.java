@@ -0,0 +1,111 @@
+// SPDX-License-Identifier: Apache-2.0
+package org.gradlex.jvm.dependency.conflict.resolution.rules;
+
+import static org.gradlex.jvm.dependency.conflict.resolution.rules.VariantSelection.discoverVariants;
+
+import java.util.Collections;
+import java.util.Map;
+import javax.inject.Inject;
+import org.gradle.api.artifacts.CacheableRule;
+import org.gradle.api.artifacts.ComponentMetadataContext;
+import org.gradle.api.artifacts.ComponentMetadataDetails;
+import org.gradle.api.model.ObjectFactory;
+import org.gradlex.jvm.dependency.conflict.detection.util.InstrumentedRule;
+import org.jspecify.annotations.NullMarked;
+
+/**
+ * Applies all steps of a {@link ModulePatchPlan} in order. The result is the same as registering the individual
+ * rules for each step, but the variants of the module are discovered only once.
+ */
+@NullMarked
+@CacheableRule
+public abstract class ModulePatchRule extends InstrumentedRule {
+
+    private final ModulePatchPlan plan;
+
+    @Inject
+    protected abstract ObjectFactory getObjects();
+
+    @Inject
+    public ModulePatchRule(ModulePatchPlan plan) {
+        this.plan = plan;
+    }
+
+    @Override
+    protected void doExecute(ComponentMetadataContext context) {
+        applySteps(context);
+    }
+
+    private void applySteps(ComponentMetadataContext context) {
+        ComponentMetadataDetails details = context.getDetails();
+        Map<String, VariantIdentification> variants =
+                modifiesDependencies() ? discoverVariants(context) : Collections.emptyMap();
+        for (ModulePatchPlan.Step step : plan.getSteps()) {
+            switch (step.getKind()) {
+                case ADD_API_DEPENDENCY:
+                    AddApiDependencyMetadataRule.apply(context, variants, step.argument(0), step.argument(1));
+                    break;
+                case ADD_RUNTIME_ONLY_DEPENDENCY:
+                    AddRuntimeOnlyDependencyMetadataRule.apply(context, variants, step.argument(0), step.argument(1));
+                    break;
+                case ADD_COMPILE_ONLY_API_DEPENDENCY:
+                    AddCompileOnlyApiDependencyMetadataRule.apply(
+                            context, variants, step.argument(0), step.argument(1));
+                    break;
+                case REMOVE_DEPENDENCY:
+                    RemoveDependencyMetadataRule.apply(context, variants, step.argument(0));
+                    break;
+                case REDUCE_TO_RUNTIME_ONLY_DEPENDENCY:
+                    ReduceToRuntimeOnlyDependencyMetadataRule.apply(context, variants, step.argument(0));
+                    break;
+                case REDUCE_TO_COMPILE_ONLY_API_DEPENDENCY:
+                    ReduceToCompileOnlyApiDependencyMetadataRule.apply(context, variants, step.argument(0));
+                    break;
+                case ADD_CAPABILITY:
+                    AddCapabilityMetadataRule.apply(details, step.argument(0));
+                    break;
+                case REMOVE_CAPABILITY:
+                    RemoveCapabilityMetadataRule.apply(details, step.argument(0));
+                    break;
+                case ADD_FEATURE:
+                    AddFeatureMetadataRule.apply(details, step.argument(0));
+                    break;
+                case ADD_TARGET_PLATFORM_VARIANT:
+                    AddTargetPlatformVariantsMetadataRule.apply(
+                            details,
+                            getObjects(),
+                            step.argument(0),
+                            step.argument(1),
+                            step.argument(2),
+                            step.argument(3));
+                    break;
+                case ADD_TARGET_PLATFORM_VARIANTS:
+                    AddTargetPlatformMatrixMetadataRule.apply(
+                            details, getObjects(), step.argument(0), step.getTargets());
+                    break;
+                case SET_STATUS_TO_INTEGRATION:
+                    ComponentStatusRule.apply(details, step.getArguments());
+                    break;
+                default:
+                    throw new IllegalStateException("Unknown patch step: " + step.getKind());
+            }
+        }
+    }
+
+    private boolean modifiesDependencies() {
+        for (ModulePatchPlan.Step step : plan.getSteps()) {
+            switch (step.getKind()) {
+                case ADD_API_DEPENDENCY:
+                case ADD_RUNTIME_ONLY_DEPENDENCY:
+                case ADD_COMPILE_ONLY_API_DEPENDENCY:
+                case REMOVE_DEPENDENCY:
+                case REDUCE_TO_RUNTIME_ONLY_DEPENDENCY:
+                case REDUCE_TO_COMPILE_ONLY_API_DEPENDENCY:
+                    return true;
+                default:
+                    break;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,201 @@
+// SPDX-License-Identifier: Apache-2.0
+package org.gradlex.jvm.dependency.conflict.resolution.rules;
+
+import static org.gradle.nativeplatform.MachineArchitecture.ARM64;
+import static org.gradle.nativeplatform.MachineArchitecture.X86;
+import static org.gradle.nativeplatform.MachineArchitecture.X86_64;
+import static org.gradle.nativeplatform.OperatingSystemFamily.LINUX;
+import static org.gradle.nativeplatform.OperatingSystemFamily.MACOS;
+import static org.gradle.nativeplatform.OperatingSystemFamily.WINDOWS;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+import org.gradlex.jvm.dependency.conflict.detection.rules.AlignmentDefinition;
+import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * The native Jars that the modules of a library publish: for each module, the classifiers and the
+ * OperatingSystemFamily and MachineArchitecture they are built for. A matrix starts with all targets for all
+ * modules and is narrowed down to what each module actually publishes. Each step returns a new matrix.
+ */
+@NullMarked
+public final class NativesMatrix {
+
+    @SuppressWarnings("UnstableApiUsage")
+    private static final List<Target> LWJGL_TARGETS = Arrays.asList(
+            new Target("natives-freebsd", "freebsd", X86_64),
+            new Target("natives-linux", LINUX, X86_64),
+            new Target("natives-linux-arm32", LINUX, "arm"),
+            new Target("natives-linux-arm64", LINUX, ARM64),
+            new Target("natives-linux-ppc64le", LINUX, "ppc64le"),
+            new Target("natives-linux-riscv64", LINUX, "riscv64"),
+            new Target("natives-macos", MACOS, X86_64),
+            new Target("natives-macos-arm64", MACOS, ARM64),
+            new Target("natives-windows", WINDOWS, X86_64),
+            new Target("natives-windows-arm64", WINDOWS, ARM64),
+            new Target("natives-windows-x86", WINDOWS, X86));
+
+    // Native Jars published for LWJGL 3.3.6
+    public static final NativesMatrix LWJGL = new NativesMatrix(AlignmentDefinition.LWJGL.getModules(), LWJGL_TARGETS)
+            .withoutNatives(
+                    "org.lwjgl:lwjgl-cuda",
+                    "org.lwjgl:lwjgl-egl",
+                    "org.lwjgl:lwjgl-fmod",
+                    "org.lwjgl:lwjgl-jawt",
+                    "org.lwjgl:lwjgl-odbc",
+                    "org.lwjgl:lwjgl-opencl")
+            .except("org.lwjgl:lwjgl-bgfx", "natives-windows-arm64")
+            .except("org.lwjgl:lwjgl-ktx", "natives-windows-x86")
+            .except("org.lwjgl:lwjgl-meow", "natives-linux-arm32", "natives-linux-ppc64le", "natives-linux-riscv64")
+            .only(
+                    "org.lwjgl:lwjgl-openvr",
+                    "natives-linux",
+                    "natives-linux-arm64",
+                    "natives-macos",
+                    "natives-windows",
+                    "natives-windows-x86")
+            .except("org.lwjgl:lwjgl-openxr", "natives-macos", "natives-macos-arm64")
+            .only("org.lwjgl:lwjgl-ovr", "natives-windows", "natives-windows-x86")
+            .except("org.lwjgl:lwjgl-remotery", "natives-windows-arm64")
+            .only(
+                    "org.lwjgl:lwjgl-sse",
+                    "natives-freebsd",
+                    "natives-linux",
+                    "natives-macos",
+                    "natives-windows",
+                    "natives-windows-x86")
+            .only(
+                    "org.lwjgl:lwjgl-tootle",
+                    "natives-freebsd",
+                    "natives-linux",
+                    "natives-macos",
+                    "natives-windows",
+                    "natives-windows-x86")
+            .only("org.lwjgl:lwjgl-vulkan", "natives-macos", "natives-macos-arm64");
+
+    private final Map<String, List<Target>> targets;
+
+    public NativesMatrix(Collection<String> modules, List<Target> targets) {
+        Map<String, List<Target>> all = new LinkedHashMap<>();
+        for (String module : modules) {
+            all.put(module, Collections.unmodifiableList(new ArrayList<>(targets)));
+        }
+        this.targets = Collections.unmodifiableMap(all);
+    }
+
+    private NativesMatrix(Map<String, List<Target>> targets) {
+        this.targets = Collections.unmodifiableMap(targets);
+    }
+
+    /**
+     * @return a matrix in which the given modules publish no native Jars
+     */
+    public NativesMatrix withoutNatives(String... modules) {
+        Map<String, List<Target>> narrowed = new LinkedHashMap<>(targets);
+        for (String module : modules) {
+            narrowed.remove(module);
+        }
+        return new NativesMatrix(narrowed);
+    }
+
+    /**
+     * @return a matrix in which the given module publishes all native Jars except the ones with the given classifiers
+     */
+    public NativesMatrix except(String module, String... classifiers) {
+        List<String> excluded = Arrays.asList(classifiers);
+        return narrow(module, t -> !excluded.contains(t.getClassifier()));
+    }
+
+    /**
+     * @return a matrix in which the given module publishes only the native Jars with the given classifiers
+     */
+    public NativesMatrix only(String module, String... classifiers) {
+        List<String> included = Arrays.asList(classifiers);
+        return narrow(module, t -> included.contains(t.getClassifier()));
+    }
+
+    /**
+     * @return the modules that publish at least one native Jar
+     */
+    public Set<String> getModules() {
+        return targets.keySet();
+    }
+
+    /**
+     * @param module 'group:name' of a module
+     * @return the native Jars the module publishes, or an empty list if it publishes none
+     */
+    public List<Target> getTargets(String module) {
+        return targets.getOrDefault(module, Collections.emptyList());
+    }
+
+    private NativesMatrix narrow(String module, Predicate<Target> keep) {
+        List<Target> moduleTargets = targets.get(module);
+        if (moduleTargets == null) {
+            throw new IllegalArgumentException("Module '" + module + "' is not part of the natives matrix");
+        }
+        Map<String, List<Target>> narrowed = new LinkedHashMap<>(targets);
+        narrowed.put(
+                module,
+                Collections.unmodifiableList(moduleTargets.stream().filter(keep).collect(Collectors.toList())));
+        return new NativesMatrix(narrowed);
+    }
+
+    public static final class Target implements Serializable {
+        private static final long serialVersionUID = 1L;
+
+        private final String classifier;
+        private final String operatingSystem;
+        private final String architecture;
+
+        public Target(String classifier, String operatingSystem, String architecture) {
+            this.classifier = classifier;
+            this.operatingSystem = operatingSystem;
+            this.architecture = architecture;
+        }
+
+        public String getClassifier() {
+            return classifier;
+        }
+
+        public String getOperatingSystem() {
+            return operatingSystem;
+        }
+
+        public String getArchitecture() {
+            return architecture;
+        }
+
+        @Override
+        public boolean equals(@Nullable Object o) {
+            if (!(o instanceof Target)) {
+                return false;
+            }
+            Target target = (Target) o;
+            return classifier.equals(target.classifier)
+                    && operatingSystem.equals(target.operatingSystem)
+                    && architecture.equals(target.architecture);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(classifier, operatingSystem, architecture);
+        }
+
+        @Override
+        public String toString() {
+            return classifier + "|" + operatingSystem + "|" + architecture;
+        }
+    }
+}
@@ -2,14 +2,16 @@
 package org.gradlex.jvm.dependency.conflict.resolution.rules;
 
 import static org.gradlex.jvm.dependency.conflict.resolution.rules.VariantSelection.allVariantsMatching;
+import static org.gradlex.jvm.dependency.conflict.resolution.rules.VariantSelection.discoverVariants;
 
+import java.util.Map;
 import java.util.stream.Collectors;
 import javax.inject.Inject;
 import org.gradle.api.artifacts.CacheableRule;
 import org.gradle.api.artifacts.ComponentMetadataContext;
-import org.gradle.api.artifacts.ComponentMetadataRule;
 import org.gradle.api.attributes.Category;
 import org.gradle.api.attributes.Usage;
+import org.gradlex.jvm.dependency.conflict.detection.util.InstrumentedRule;
 import org.jspecify.annotations.NullMarked;
 
 /**
@@ -19,7 +21,7 @@ import org.jspecify.annotations.NullMarked;
  */
 @NullMarked
 @CacheableRule
-public abstract class ReduceToRuntimeOnlyDependencyMetadataRule implements ComponentMetadataRule {
+public abstract class ReduceToRuntimeOnlyDependencyMetadataRule extends InstrumentedRule {
 
     private final String dependency;
 
@@ -29,9 +31,15 @@ public abstract class ReduceToRuntimeOnlyDependencyMetadataRule implements Compo
     }
 
     @Override
-    public void execute(ComponentMetadataContext context) {
+    protected void doExecute(ComponentMetadataContext context) {
+        apply(context, discoverVariants(context), dependency);
+    }
+
+    static void apply(
+            ComponentMetadataContext context, Map<String, VariantIdentification> variants, String dependency) {
         allVariantsMatching(
                 context,
+                variants,
                 id -> id.matches(Usage.USAGE_ATTRIBUTE, Usage.JAVA_API)
                         && id.matches(Category.CATEGORY_ATTRIBUTE, Category.LIBRARY),
                 v -> v.withDependencies(d -> d.removeAll(d.stream()
@@ -4,8 +4,8 @@ package org.gradlex.jvm.dependency.conflict.resolution.rules;
 import javax.inject.Inject;
 import org.gradle.api.artifacts.CacheableRule;
 import org.gradle.api.artifacts.ComponentMetadataContext;
-import org.gradle.api.artifacts.ComponentMetadataRule;
-import org.gradle.api.artifacts.ModuleVersionIdentifier;
+import org.gradle.api.artifacts.ComponentMetadataDetails;
+import org.gradlex.jvm.dependency.conflict.detection.util.InstrumentedRule;
 import org.jspecify.annotations.NullMarked;
 
 /**
@@ -16,7 +16,7 @@ import org.jspecify.annotations.NullMarked;
  */
 @NullMarked
 @CacheableRule
-public abstract class RemoveCapabilityMetadataRule implements ComponentMetadataRule {
+public abstract class RemoveCapabilityMetadataRule extends InstrumentedRule {
 
     private final String capability;
 
@@ -26,11 +26,14 @@ public abstract class RemoveCapabilityMetadataRule implements ComponentMetadataR
     }
 
     @Override
-    public void execute(ComponentMetadataContext context) {
-        ModuleVersionIdentifier id = context.getDetails().getId();
+    protected void doExecute(ComponentMetadataContext context) {
+        apply(context.getDetails(), capability);
+    }
+
+    static void apply(ComponentMetadataDetails details, String capability) {
         String group = capability.split(":")[0];
         String name = capability.split(":")[1];
 
-        context.getDetails().allVariants(v -> v.withCapabilities(c -> c.removeCapability(group, name)));
+        details.allVariants(v -> v.withCapabilities(c -> c.removeCapability(group, name)));
     }
 }
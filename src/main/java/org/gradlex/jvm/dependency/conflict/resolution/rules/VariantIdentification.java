@@ -5,22 +5,58 @@ import java.util.Map;
 import java.util.Objects;
 import org.gradle.api.Named;
 import org.gradle.api.attributes.Attribute;
+import org.gradle.api.attributes.AttributeContainer;
 import org.jspecify.annotations.NullMarked;
 
 @NullMarked
-class VariantIdentification {
+abstract class VariantIdentification {
 
-    private final Map<String, String> attributes;
+    static VariantIdentification of(Map<String, String> attributes) {
+        return new FromMap(attributes);
+    }
 
-    VariantIdentification(Map<String, String> attributes) {
-        this.attributes = attributes;
+    /**
+     * Matches against the given container directly, without copying the attributes.
+     */
+    static VariantIdentification of(AttributeContainer attributes) {
+        return new FromContainer(attributes);
     }
 
     boolean matches(Attribute<? extends Named> attribute, String value) {
         return matches(attribute.getName(), value);
     }
 
-    boolean matches(String attribute, String value) {
-        return Objects.equals(attributes.get(attribute), value);
+    abstract boolean matches(String attribute, String value);
+
+    private static final class FromMap extends VariantIdentification {
+        private final Map<String, String> attributes;
+
+        FromMap(Map<String, String> attributes) {
+            this.attributes = attributes;
+        }
+
+        @Override
+        boolean matches(String attribute, String value) {
+            return Objects.equals(attributes.get(attribute), value);
+        }
+    }
+
+    private static final class FromContainer extends VariantIdentification {
+        private final AttributeContainer attributes;
+
+        FromContainer(AttributeContainer attributes) {
+            this.attributes = attributes;
+        }
+
+        @Override
+        boolean matches(String attribute, String value) {
+            for (Attribute<?> key : attributes.keySet()) {
+                if (key.getName().equals(attribute)) {
+                    Object actual = attributes.getAttribute(key);
+                    return actual != null && actual.toString().equals(value);
+                }
+            }
+            return false;
+        }
     }
 }
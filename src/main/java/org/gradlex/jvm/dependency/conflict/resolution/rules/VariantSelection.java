@@ -1,20 +1,19 @@
 // SPDX-License-Identifier: Apache-2.0
 package org.gradlex.jvm.dependency.conflict.resolution.rules;
 
-import static java.util.Objects.requireNonNull;
-
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.Field;
-import java.lang.reflect.Method;
+import java.util.Arrays;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.function.Predicate;
-import java.util.stream.Collectors;
-import java.util.stream.Stream;
 import org.gradle.api.Action;
 import org.gradle.api.artifacts.ComponentMetadataContext;
 import org.gradle.api.artifacts.VariantMetadata;
-import org.gradle.api.attributes.Attribute;
 import org.gradle.api.attributes.AttributeContainer;
 import org.gradle.api.attributes.Category;
 import org.gradle.api.attributes.LibraryElements;
@@ -49,64 +48,95 @@ final class VariantSelection {
             .attribute(Category.CATEGORY_ATTRIBUTE.getName(), Category.LIBRARY)
             .attribute(LibraryElements.LIBRARY_ELEMENTS_ATTRIBUTE.getName(), LibraryElements.JAR);
 
+    // Handles to internal API, looked up once. The 'metadata' field is looked up per implementation of the context.
+    // If the internal API changes, the lookup fails instead of treating every module as a Maven POM.
+    private static final ClassValue<MethodHandle> METADATA_GETTER = new ClassValue<MethodHandle>() {
+        @Override
+        protected MethodHandle computeValue(Class<?> type) {
+            try {
+                Field metadataField = type.getDeclaredField("metadata");
+                metadataField.setAccessible(true);
+                return MethodHandles.lookup()
+                        .unreflectGetter(metadataField)
+                        .asType(MethodType.methodType(Object.class, Object.class));
+            } catch (ReflectiveOperationException e) {
+                throw new RuntimeException(e);
+            }
+        }
+    };
+    private static final MethodHandle GET_VARIANTS = findMethod(ModuleComponentResolveMetadata.class, "getVariants");
+    private static final MethodHandle GET_ATTRIBUTES = findMethod(VariantResolveMetadata.class, "getAttributes");
+
     private VariantSelection() {}
 
     static void allVariantsMatching(
             ComponentMetadataContext context,
             Predicate<VariantIdentification> id,
             Action<? super VariantMetadata> action) {
-        List<String> variantNames = discoverNames(context, id);
-        variantNames.forEach(variantName -> context.getDetails().withVariant(variantName, action));
+        allVariantsMatching(context, discoverVariants(context), id, action);
     }
 
-    private static List<String> discoverNames(ComponentMetadataContext context, Predicate<VariantIdentification> id) {
-        ModuleComponentResolveMetadata metadata = extractMetadataFromContext(context);
-        List<VariantResolveMetadata> variants = getVariants(metadata);
+    /**
+     * Apply the action to all variants, previously discovered with {@link #discoverVariants}, that match.
+     * This allows multiple modifications in one rule to share the discovery.
+     */
+    static void allVariantsMatching(
+            ComponentMetadataContext context,
+            Map<String, VariantIdentification> variants,
+            Predicate<VariantIdentification> id,
+            Action<? super VariantMetadata> action) {
+        variants.forEach((variantName, identification) -> {
+            if (id.test(identification)) {
+                context.getDetails().withVariant(variantName, action);
+            }
+        });
+    }
+
+    static Map<String, VariantIdentification> discoverVariants(ComponentMetadataContext context) {
+        List<?> variants = getVariants(context);
 
+        Map<String, VariantIdentification> result = new LinkedHashMap<>();
         if (variants.isEmpty()) {
-            return Stream.of(MAVEN_RUNTIME_VARIANT, MAVEN_COMPILE_VARIANT)
-                    .filter(v -> id.test(new VariantIdentification(v.attributes)))
-                    .map(v -> v.name)
-                    .collect(Collectors.toList());
+            for (MavenVariant v : Arrays.asList(MAVEN_RUNTIME_VARIANT, MAVEN_COMPILE_VARIANT)) {
+                result.put(v.name, VariantIdentification.of(v.attributes));
+            }
         } else {
-            return variants.stream()
-                    .filter(v -> id.test(new VariantIdentification(toMap(getAttributes(v)))))
-                    .map(VariantResolveMetadata::getName)
-                    .collect(Collectors.toList());
+            for (Object v : variants) {
+                VariantResolveMetadata variant = (VariantResolveMetadata) v;
+                result.put(variant.getName(), VariantIdentification.of(getAttributes(variant)));
+            }
         }
+        return result;
     }
 
-    private static Map<String, String> toMap(AttributeContainer attributes) {
-        return attributes.keySet().stream()
-                .collect(Collectors.toMap(Attribute::getName, k -> requireNonNull(attributes.getAttribute(k))
-                        .toString()));
-    }
-
-    private static AttributeContainer getAttributes(VariantResolveMetadata metadata) {
+    /**
+     * @return the variants of the module or an empty list (-> treat as Maven POM) if it has no Gradle Module Metadata
+     */
+    private static List<?> getVariants(ComponentMetadataContext context) {
         try {
-            Method getVariants = VariantResolveMetadata.class.getDeclaredMethod("getAttributes");
-            return (AttributeContainer) getVariants.invoke(metadata);
-        } catch (ReflectiveOperationException e) {
+            Object metadata = METADATA_GETTER.get(context.getClass()).invokeExact((Object) context);
+            Object variants = GET_VARIANTS.invokeExact(metadata);
+            return (List<?>) variants;
+        } catch (Throwable e) {
             throw new RuntimeException(e);
         }
     }
 
-    private static List<VariantResolveMetadata> getVariants(ModuleComponentResolveMetadata metadata) {
+    private static AttributeContainer getAttributes(VariantResolveMetadata variant) {
         try {
-            Method getVariants = ModuleComponentResolveMetadata.class.getDeclaredMethod("getVariants");
-            @SuppressWarnings("unchecked")
-            List<VariantResolveMetadata> variants = (List<VariantResolveMetadata>) getVariants.invoke(metadata);
-            return variants;
-        } catch (ReflectiveOperationException e) {
+            Object attributes = GET_ATTRIBUTES.invokeExact((Object) variant);
+            return (AttributeContainer) attributes;
+        } catch (Throwable e) {
             throw new RuntimeException(e);
         }
     }
 
-    private static ModuleComponentResolveMetadata extractMetadataFromContext(ComponentMetadataContext context) {
+    private static MethodHandle findMethod(Class<?> type, String name) {
         try {
-            Field metadataField = context.getClass().getDeclaredField("metadata");
-            metadataField.setAccessible(true);
-            return (ModuleComponentResolveMetadata) metadataField.get(context);
+            // The return types differ between Gradle versions. Hence, the handle is adapted to (Object)Object.
+            return MethodHandles.lookup()
+                    .unreflect(type.getDeclaredMethod(name))
+                    .asType(MethodType.methodType(Object.class, Object.class));
         } catch (ReflectiveOperationException e) {
             throw new RuntimeException(e);
         }
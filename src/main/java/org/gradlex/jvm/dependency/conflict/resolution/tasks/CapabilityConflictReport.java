@@ -0,0 +1,247 @@
+// SPDX-License-Identifier: Apache-2.0
+package org.gradlex.jvm.dependency.conflict.resolution.tasks;
+
+import static org.gradlex.jvm.dependency.conflict.resolution.tasks.CapabilityConflictStrategy.LENIENT_FALLBACK;
+import static org.gradlex.jvm.dependency.conflict.resolution.tasks.CapabilityConflictStrategy.NONE;
+import static org.gradlex.jvm.dependency.conflict.resolution.tasks.CapabilityConflictStrategy.SELECT_LENIENT;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import org.gradle.api.DefaultTask;
+import org.gradle.api.artifacts.component.ComponentIdentifier;
+import org.gradle.api.artifacts.component.ModuleComponentIdentifier;
+import org.gradle.api.artifacts.component.ModuleComponentSelector;
+import org.gradle.api.artifacts.result.ComponentSelectionCause;
+import org.gradle.api.artifacts.result.ComponentSelectionDescriptor;
+import org.gradle.api.artifacts.result.DependencyResult;
+import org.gradle.api.artifacts.result.ResolvedComponentResult;
+import org.gradle.api.artifacts.result.ResolvedDependencyResult;
+import org.gradle.api.file.RegularFileProperty;
+import org.gradle.api.provider.MapProperty;
+import org.gradle.api.provider.Property;
+import org.gradle.api.tasks.Input;
+import org.gradle.api.tasks.Internal;
+import org.gradle.api.tasks.OutputFile;
+import org.gradle.api.tasks.TaskAction;
+import org.gradlex.jvm.dependency.conflict.detection.rules.CapabilityDefinition;
+import org.gradlex.jvm.dependency.conflict.detection.rules.DefinitionIndex;
+import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * Writes the capability conflicts of the resolved configurations of a project as JSON. For each conflict, the report
+ * lists the candidates, the selected module and the {@link CapabilityConflictStrategy} that selected it.
+ * <p>
+ * Conflicts are found in the resolution results: a candidate that lost a conflict is the target of a dependency
+ * that resolves to another module with the same capability, which was not selected by a substitution rule. Each resolution result is reduced to the conflicts it
+ * contains (see {@link #conflicts(ResolvedComponentResult)}) when it is computed, so that the task holds on to these
+ * summaries and not to the resolved graphs.
+ */
+@NullMarked
+public abstract class CapabilityConflictReport extends DefaultTask {
+
+    @Input
+    public abstract Property<String> getProjectPath();
+
+    /**
+     * The strategy for each capability, encoded with {@link CapabilityConflictStrategy#encode}. A strategy for one
+     * configuration uses the key {@code <configuration>/<capability>}.
+     */
+    @Input
+    public abstract MapProperty<String, String> getStrategies();
+
+    /**
+     * The conflicts of each resolution result, by configuration name (see {@link #conflicts(ResolvedComponentResult)}).
+     * Like the 'dependencies' task, this task always reports the current state of resolution.
+     */
+    @Internal
+    public abstract MapProperty<String, List<String>> getConflicts();
+
+    @OutputFile
+    public abstract RegularFileProperty getOutputFile();
+
+    public CapabilityConflictReport() {
+        getOutputs().upToDateWhen(task -> false);
+    }
+
+    @TaskAction
+    public void report() {
+        Path output = getOutputFile().get().getAsFile().toPath();
+        Map<String, String> strategies = getStrategies().get();
+        try {
+            Files.createDirectories(output.getParent());
+            try (Writer writer = Files.newBufferedWriter(output, StandardCharsets.UTF_8)) {
+                writer.write("{\n  \"project\": ");
+                writeString(writer, getProjectPath().get());
+                writer.write(",\n  \"configurations\": [");
+                String separator = "\n";
+                for (Map.Entry<String, List<String>> configuration :
+                        new TreeMap<>(getConflicts().get()).entrySet()) {
+                    writer.write(separator);
+                    writeConfiguration(writer, configuration.getKey(), configuration.getValue(), strategies);
+                    separator = ",\n";
+                }
+                writer.write("\n  ]\n}\n");
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static void writeConfiguration(
+            Writer writer, String configuration, List<String> conflicts, Map<String, String> strategies)
+            throws IOException {
+        writer.write("    {\"name\": ");
+        writeString(writer, configuration);
+        writer.write(", \"conflicts\": [");
+        String separator = "\n";
+        for (String conflict : conflicts) {
+            String[] parts = conflict.split(" ");
+            String capability = parts[0];
+            String selected = parts[1];
+            String strategy = strategies.get(configuration + "/" + capability);
+            if (strategy == null) {
+                strategy = strategies.get(capability);
+            }
+            writer.write(separator);
+            writer.write("      {\"capability\": ");
+            writeString(writer, capability);
+            writer.write(", \"candidates\": [");
+            for (int i = 2; i < parts.length; i++) {
+                if (i > 2) {
+                    writer.write(", ");
+                }
+                writeString(writer, parts[i]);
+            }
+            writer.write("], \"selected\": ");
+            writeString(writer, selected);
+            writer.write(", \"strategy\": ");
+            writeString(writer, strategy(strategy, selected.substring(0, selected.lastIndexOf(':'))).name());
+            writer.write("}");
+            separator = ",\n";
+        }
+        writer.write(separator.equals("\n") ? "]}" : "\n    ]}");
+    }
+
+    private static CapabilityConflictStrategy strategy(@Nullable String encoded, String selectedModule) {
+        if (encoded == null) {
+            return NONE;
+        }
+        CapabilityConflictStrategy strategy = CapabilityConflictStrategy.strategy(encoded);
+        if (strategy == SELECT_LENIENT && !selectedModule.equals(CapabilityConflictStrategy.module(encoded))) {
+            return LENIENT_FALLBACK;
+        }
+        return strategy;
+    }
+
+    /**
+     * @return the conflicts of capabilities known to the plugin, sorted by capability, each as
+     *     'capability selected candidate...' where 'selected' is 'group:name:version' and the sorted candidates are
+     *     'group:name'
+     */
+    public static List<String> conflicts(ResolvedComponentResult root) {
+        List<String> result = new ArrayList<>();
+        for (Map.Entry<String, Conflict> entry : findConflicts(root).entrySet()) {
+            StringBuilder conflict = new StringBuilder(entry.getKey())
+                    .append(' ')
+                    .append(entry.getValue().selected.getDisplayName());
+            for (String candidate : entry.getValue().candidates) {
+                conflict.append(' ').append(candidate);
+            }
+            result.add(conflict.toString());
+        }
+        return result;
+    }
+
+    private static Map<String, Conflict> findConflicts(ResolvedComponentResult root) {
+        Map<String, Conflict> conflicts = new TreeMap<>();
+        Set<ComponentIdentifier> visited = new HashSet<>();
+        Deque<ResolvedComponentResult> queue = new ArrayDeque<>();
+        queue.add(root);
+        visited.add(root.getId());
+        while (!queue.isEmpty()) {
+            for (DependencyResult dependency : queue.poll().getDependencies()) {
+                if (!(dependency instanceof ResolvedDependencyResult)) {
+                    continue;
+                }
+                ResolvedComponentResult target = ((ResolvedDependencyResult) dependency).getSelected();
+                if (visited.add(target.getId())) {
+                    queue.add(target);
+                }
+                if (dependency.getRequested() instanceof ModuleComponentSelector
+                        && target.getId() instanceof ModuleComponentIdentifier
+                        && !isSubstituted(target)) {
+                    addConflict(
+                            conflicts,
+                            (ModuleComponentSelector) dependency.getRequested(),
+                            (ModuleComponentIdentifier) target.getId());
+                }
+            }
+        }
+        return conflicts;
+    }
+
+    /**
+     * A module that was selected by a substitution rule (e.g. one of the logging enforcement substitutions) replaces
+     * the requested module without a capability conflict.
+     */
+    private static boolean isSubstituted(ResolvedComponentResult component) {
+        for (ComponentSelectionDescriptor descriptor : component.getSelectionReason().getDescriptions()) {
+            if (descriptor.getCause() == ComponentSelectionCause.SELECTED_BY_RULE) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static void addConflict(
+            Map<String, Conflict> conflicts, ModuleComponentSelector requested, ModuleComponentIdentifier selected) {
+        if (requested.getGroup().equals(selected.getGroup()) && requested.getModule().equals(selected.getModule())) {
+            return;
+        }
+        List<CapabilityDefinition> selectedCapabilities =
+                DefinitionIndex.capabilitiesOf(selected.getGroup(), selected.getModule());
+        for (CapabilityDefinition definition :
+                DefinitionIndex.capabilitiesOf(requested.getGroup(), requested.getModule())) {
+            if (selectedCapabilities.contains(definition)) {
+                Conflict conflict = conflicts.computeIfAbsent(definition.getCapability(), c -> new Conflict(selected));
+                conflict.candidates.add(requested.getGroup() + ":" + requested.getModule());
+            }
+        }
+    }
+
+    private static void writeString(Writer writer, String value) throws IOException {
+        writer.write('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"' || c == '\\') {
+                writer.write('\\');
+            }
+            writer.write(c);
+        }
+        writer.write('"');
+    }
+
+    private static final class Conflict {
+        private final ModuleComponentIdentifier selected;
+        private final Set<String> candidates = new TreeSet<>();
+
+        private Conflict(ModuleComponentIdentifier selected) {
+            this.selected = selected;
+            candidates.add(selected.getGroup() + ":" + selected.getModule());
+        }
+    }
+}
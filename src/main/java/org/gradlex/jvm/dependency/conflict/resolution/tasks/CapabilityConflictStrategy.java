@@ -0,0 +1,42 @@
+// SPDX-License-Identifier: Apache-2.0
+package org.gradlex.jvm.dependency.conflict.resolution.tasks;
+
+import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * How a capability conflict was resolved, as listed in the {@link CapabilityConflictReport}.
+ */
+@NullMarked
+public enum CapabilityConflictStrategy {
+    /** The candidate with the highest version was selected. */
+    HIGHEST_VERSION,
+    /** The first module of the capability definition was selected. */
+    FIRST_MODULE,
+    /** The module selected in the build configuration was selected. */
+    SELECT,
+    /** The module selected leniently in the build configuration was selected. */
+    SELECT_LENIENT,
+    /** The module selected leniently in the build configuration was not a candidate, the first candidate was used. */
+    LENIENT_FALLBACK,
+    /** The plugin does not resolve the conflict, it was resolved by other means. */
+    NONE;
+
+    /**
+     * Encodes a strategy, and the module it selects, as string that can be passed to the
+     * {@link CapabilityConflictReport#getStrategies()} input.
+     */
+    public static String encode(CapabilityConflictStrategy strategy, @Nullable String module) {
+        return module == null ? strategy.name() : strategy.name() + " " + module;
+    }
+
+    static CapabilityConflictStrategy strategy(String encoded) {
+        int separator = encoded.indexOf(' ');
+        return valueOf(separator < 0 ? encoded : encoded.substring(0, separator));
+    }
+
+    static @Nullable String module(String encoded) {
+        int separator = encoded.indexOf(' ');
+        return separator < 0 ? null : encoded.substring(separator + 1);
+    }
+}
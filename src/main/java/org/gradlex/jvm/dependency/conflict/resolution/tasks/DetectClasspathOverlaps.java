@@ -0,0 +1,137 @@
+// SPDX-License-Identifier: Apache-2.0
+package org.gradlex.jvm.dependency.conflict.resolution.tasks;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import org.gradle.api.DefaultTask;
+import org.gradle.api.file.ConfigurableFileCollection;
+import org.gradle.api.file.FileCollection;
+import org.gradle.api.file.RegularFileProperty;
+import org.gradle.api.provider.ListProperty;
+import org.gradle.api.tasks.Input;
+import org.gradle.api.tasks.InputFiles;
+import org.gradle.api.tasks.OutputFile;
+import org.gradle.api.tasks.PathSensitive;
+import org.gradle.api.tasks.PathSensitivity;
+import org.gradle.api.tasks.TaskAction;
+import org.gradlex.jvm.dependency.conflict.detection.rules.CapabilityDefinition;
+import org.gradlex.jvm.dependency.conflict.resolution.overlap.ClassIndex;
+import org.gradlex.jvm.dependency.conflict.resolution.overlap.ClassIndexTransform;
+import org.gradlex.jvm.dependency.conflict.resolution.overlap.ClassOverlaps;
+import org.jspecify.annotations.NullMarked;
+
+/**
+ * Finds classes that are contained in more than one Jar of a classpath, and reports the overlapping modules that are
+ * not covered by a {@link CapabilityDefinition}. Such modules are candidates for additional capabilities.
+ * <p>
+ * The task works on the {@link ClassIndex} of each Jar, which is created by the {@link ClassIndexTransform} and only
+ * once for each Jar. The indices are read in parallel and merged. As the overlaps are only printed when the task
+ * runs, the task is neither cached nor ever up-to-date.
+ */
+@NullMarked
+public abstract class DetectClasspathOverlaps extends DefaultTask {
+
+    /**
+     * The class indices of the Jars of the classpath.
+     */
+    @InputFiles
+    @PathSensitive(PathSensitivity.NONE)
+    public abstract ConfigurableFileCollection getClassIndices();
+
+    /**
+     * The module of each entry of {@link #getClassIndices()}, in the same order.
+     */
+    @Input
+    public abstract ListProperty<String> getModules();
+
+    @OutputFile
+    public abstract RegularFileProperty getReportFile();
+
+    public DetectClasspathOverlaps() {
+        getOutputs().upToDateWhen(task -> false);
+    }
+
+    @TaskAction
+    public void detect() {
+        List<ClassOverlaps.Overlap> overlaps = uncoveredOverlaps(getClassIndices(), getModules().get());
+        for (ClassOverlaps.Overlap overlap : overlaps) {
+            getLogger()
+                    .warn(
+                            "{} classes overlap in {} (e.g. {})",
+                            overlap.getClassCount(),
+                            String.join(", ", overlap.getModules()),
+                            overlap.getExamples().first());
+        }
+        writeReport(overlaps);
+    }
+
+    static List<ClassOverlaps.Overlap> uncoveredOverlaps(FileCollection classIndices, List<String> modules) {
+        List<File> indexFiles = new ArrayList<>(classIndices.getFiles());
+        if (indexFiles.size() != modules.size()) {
+            throw new IllegalStateException(
+                    "Classpath has " + indexFiles.size() + " entries but " + modules.size() + " modules are known");
+        }
+        List<ClassIndex> indices = indexFiles.parallelStream()
+                .map(DetectClasspathOverlaps::read)
+                .collect(Collectors.toList());
+        return ClassOverlaps.merge(modules, indices).stream()
+                .filter(overlap -> !overlap.isCoveredByCapabilityDefinition())
+                .collect(Collectors.toList());
+    }
+
+    private static ClassIndex read(File indexFile) {
+        try {
+            return ClassIndex.read(indexFile.toPath());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void writeReport(List<ClassOverlaps.Overlap> overlaps) {
+        Path report = getReportFile().get().getAsFile().toPath();
+        try {
+            Files.createDirectories(report.getParent());
+            try (Writer writer = Files.newBufferedWriter(report, StandardCharsets.UTF_8)) {
+                writer.write("{\n  \"overlaps\": [");
+                String separator = "\n";
+                for (ClassOverlaps.Overlap overlap : overlaps) {
+                    writer.write(separator);
+                    writer.write("    {\"modules\": ");
+                    writeStrings(writer, overlap.getModules());
+                    writer.write(", \"classes\": ");
+                    writer.write(Integer.toString(overlap.getClassCount()));
+                    writer.write(", \"packages\": ");
+                    writeStrings(writer, overlap.getPackages());
+                    writer.write(", \"examples\": ");
+                    writeStrings(writer, overlap.getExamples());
+                    writer.write("}");
+                    separator = ",\n";
+                }
+                writer.write(overlaps.isEmpty() ? "]\n}\n" : "\n  ]\n}\n");
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static void writeStrings(Writer writer, Iterable<String> values) throws IOException {
+        writer.write('[');
+        String separator = "";
+        for (String value : values) {
+            writer.write(separator);
+            writer.write('"');
+            writer.write(value.replace("\\", "\\\\").replace("\"", "\\\""));
+            writer.write('"');
+            separator = ", ";
+        }
+        writer.write(']');
+    }
+}
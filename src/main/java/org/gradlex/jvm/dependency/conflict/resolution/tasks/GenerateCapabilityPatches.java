@@ -0,0 +1,100 @@
+// SPDX-License-Identifier: Apache-2.0
+package org.gradlex.jvm.dependency.conflict.resolution.tasks;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Collectors;
+import org.gradle.api.DefaultTask;
+import org.gradle.api.file.ConfigurableFileCollection;
+import org.gradle.api.file.RegularFileProperty;
+import org.gradle.api.provider.ListProperty;
+import org.gradle.api.tasks.Input;
+import org.gradle.api.tasks.InputFiles;
+import org.gradle.api.tasks.OutputFile;
+import org.gradle.api.tasks.PathSensitive;
+import org.gradle.api.tasks.PathSensitivity;
+import org.gradle.api.tasks.TaskAction;
+import org.gradlex.jvm.dependency.conflict.resolution.PatchModule;
+import org.gradlex.jvm.dependency.conflict.resolution.overlap.CapabilityCandidates;
+import org.gradlex.jvm.dependency.conflict.resolution.overlap.ClassOverlaps;
+import org.jspecify.annotations.NullMarked;
+
+/**
+ * Turns the overlaps found by {@link DetectClasspathOverlaps} into a 'jvmDependencyConflicts.patch' block that adds a
+ * common capability to each group of overlapping modules (see {@link PatchModule#addCapability(String)}). The
+ * snippet is written to a file and printed, so that it can be copied into a build script after review. As the
+ * snippet is only printed when the task runs, the task is neither cached nor ever up-to-date.
+ */
+@NullMarked
+public abstract class GenerateCapabilityPatches extends DefaultTask {
+
+    private static final int MAX_PACKAGES_IN_COMMENT = 3;
+
+    /**
+     * The class indices of the Jars of the classpath.
+     */
+    @InputFiles
+    @PathSensitive(PathSensitivity.NONE)
+    public abstract ConfigurableFileCollection getClassIndices();
+
+    /**
+     * The module of each entry of {@link #getClassIndices()}, in the same order.
+     */
+    @Input
+    public abstract ListProperty<String> getModules();
+
+    @OutputFile
+    public abstract RegularFileProperty getPatchFile();
+
+    public GenerateCapabilityPatches() {
+        getOutputs().upToDateWhen(task -> false);
+    }
+
+    @TaskAction
+    public void generate() {
+        List<ClassOverlaps.Overlap> overlaps =
+                DetectClasspathOverlaps.uncoveredOverlaps(getClassIndices(), getModules().get());
+        String snippet = snippet(CapabilityCandidates.group(overlaps));
+        Path patchFile = getPatchFile().get().getAsFile().toPath();
+        try {
+            Files.createDirectories(patchFile.getParent());
+            Files.write(patchFile, snippet.getBytes(StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        getLogger().quiet(snippet);
+    }
+
+    private static String snippet(List<CapabilityCandidates.Candidate> candidates) {
+        StringBuilder snippet = new StringBuilder();
+        snippet.append("jvmDependencyConflicts {\n");
+        snippet.append("    patch {\n");
+        for (CapabilityCandidates.Candidate candidate : candidates) {
+            List<String> packages = candidate.getPackages().stream()
+                    .limit(MAX_PACKAGES_IN_COMMENT)
+                    .collect(Collectors.toList());
+            snippet.append("        // ")
+                    .append(candidate.getClassCount())
+                    .append(" overlapping classes in ")
+                    .append(String.join(", ", packages))
+                    .append(candidate.getPackages().size() > packages.size() ? ", ..." : "")
+                    .append('\n');
+            for (String module : candidate.getModules()) {
+                if (!module.equals(candidate.getCapability())) {
+                    snippet.append("        module(\"")
+                            .append(module)
+                            .append("\") { addCapability(\"")
+                            .append(candidate.getCapability())
+                            .append("\") }\n");
+                }
+            }
+        }
+        snippet.append("    }\n");
+        snippet.append("}\n");
+        return snippet.toString();
+    }
+}
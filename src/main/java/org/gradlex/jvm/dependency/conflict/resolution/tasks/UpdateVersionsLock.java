@@ -0,0 +1,64 @@
+// SPDX-License-Identifier: Apache-2.0
+package org.gradlex.jvm.dependency.conflict.resolution.tasks;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import org.gradle.api.DefaultTask;
+import org.gradle.api.artifacts.result.ResolvedComponentResult;
+import org.gradle.api.file.ConfigurableFileCollection;
+import org.gradle.api.file.RegularFileProperty;
+import org.gradle.api.provider.Property;
+import org.gradle.api.tasks.InputFiles;
+import org.gradle.api.tasks.Internal;
+import org.gradle.api.tasks.OutputFile;
+import org.gradle.api.tasks.PathSensitive;
+import org.gradle.api.tasks.PathSensitivity;
+import org.gradle.api.tasks.TaskAction;
+import org.jspecify.annotations.NullMarked;
+
+/**
+ * Writes the versions of all modules of a resolved classpath to a {@link VersionsLock} file, together with a hash
+ * of the files that declare the versions.
+ */
+@NullMarked
+public abstract class UpdateVersionsLock extends DefaultTask {
+
+    /**
+     * The root component of the resolution result of the classpath. Like the 'dependencies' task, this task always
+     * resolves the current state.
+     */
+    @Internal
+    public abstract Property<ResolvedComponentResult> getRootComponent();
+
+    /**
+     * The files that declare the versions, for example version catalogs and build files.
+     */
+    @InputFiles
+    @PathSensitive(PathSensitivity.NAME_ONLY)
+    public abstract ConfigurableFileCollection getInputsToHash();
+
+    @OutputFile
+    public abstract RegularFileProperty getLockFile();
+
+    public UpdateVersionsLock() {
+        getOutputs().upToDateWhen(task -> false);
+    }
+
+    @TaskAction
+    public void update() {
+        VersionsLock lock = new VersionsLock(
+                VersionsLock.hash(new ArrayList<>(getInputsToHash().getFiles())),
+                VersionsLock.modules(getRootComponent().get()));
+        Path lockFile = getLockFile().get().getAsFile().toPath();
+        try {
+            Files.createDirectories(lockFile.getParent());
+            Files.write(lockFile, lock.format().getBytes(StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,223 @@
+// SPDX-License-Identifier: Apache-2.0
+package org.gradlex.jvm.dependency.conflict.resolution.tasks;
+
+import static org.gradlex.jvm.dependency.conflict.detection.rules.logging.LoggingModuleIdentifiers.JCL_OVER_SLF4J;
+import static org.gradlex.jvm.dependency.conflict.detection.rules.logging.LoggingModuleIdentifiers.JUL_TO_SLF4J;
+import static org.gradlex.jvm.dependency.conflict.detection.rules.logging.LoggingModuleIdentifiers.LOG4J_CORE;
+import static org.gradlex.jvm.dependency.conflict.detection.rules.logging.LoggingModuleIdentifiers.LOG4J_OVER_SLF4J;
+import static org.gradlex.jvm.dependency.conflict.detection.rules.logging.LoggingModuleIdentifiers.LOG4J_SLF4J2_IMPL;
+import static org.gradlex.jvm.dependency.conflict.detection.rules.logging.LoggingModuleIdentifiers.LOG4J_SLF4J_IMPL;
+import static org.gradlex.jvm.dependency.conflict.detection.rules.logging.LoggingModuleIdentifiers.LOG4J_TO_SLF4J;
+import static org.gradlex.jvm.dependency.conflict.detection.rules.logging.LoggingModuleIdentifiers.LOGBACK_CLASSIC;
+import static org.gradlex.jvm.dependency.conflict.detection.rules.logging.LoggingModuleIdentifiers.SLF4J_JCL;
+import static org.gradlex.jvm.dependency.conflict.detection.rules.logging.LoggingModuleIdentifiers.SLF4J_JDK14;
+import static org.gradlex.jvm.dependency.conflict.detection.rules.logging.LoggingModuleIdentifiers.SLF4J_LOG4J12;
+import static org.gradlex.jvm.dependency.conflict.detection.rules.logging.LoggingModuleIdentifiers.SLF4J_NOP;
+import static org.gradlex.jvm.dependency.conflict.detection.rules.logging.LoggingModuleIdentifiers.SLF4J_SIMPLE;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+import javax.inject.Inject;
+import org.gradle.api.DefaultTask;
+import org.gradle.api.GradleException;
+import org.gradle.api.artifacts.component.ModuleComponentIdentifier;
+import org.gradle.api.artifacts.result.DependencyResult;
+import org.gradle.api.artifacts.result.ResolvedComponentResult;
+import org.gradle.api.artifacts.result.ResolvedDependencyResult;
+import org.gradle.api.file.RegularFileProperty;
+import org.gradle.api.provider.ListProperty;
+import org.gradle.api.provider.MapProperty;
+import org.gradle.api.tasks.CacheableTask;
+import org.gradle.api.tasks.Input;
+import org.gradle.api.tasks.OutputFile;
+import org.gradle.api.tasks.TaskAction;
+import org.gradle.workers.WorkAction;
+import org.gradle.workers.WorkParameters;
+import org.gradle.workers.WorkQueue;
+import org.gradle.workers.WorkerExecutor;
+import org.gradlex.jvm.dependency.conflict.detection.rules.logging.LoggingModuleIdentifiers;
+import org.jspecify.annotations.NullMarked;
+
+/**
+ * Verifies the logging setup of resolved runtime classpaths: at most one Slf4J binding, no bridges that route
+ * logging events back to where they came from, and not more than one Log4J 2 implementation.
+ * <p>
+ * The input of the task are the logging modules of each classpath, which are extracted from the resolution results.
+ * The task is therefore up-to-date, or taken from the cache, as long as the logging modules do not change. The
+ * classpaths are verified in parallel.
+ */
+@NullMarked
+@CacheableTask
+public abstract class VerifyLoggingSetup extends DefaultTask {
+
+    private static final Set<String> LOGGING_MODULES = Arrays.stream(LoggingModuleIdentifiers.values())
+            .map(m -> m.moduleId)
+            .collect(Collectors.toSet());
+
+    private static final List<LoggingModuleIdentifiers> SLF4J_BINDINGS = Arrays.asList(
+            SLF4J_SIMPLE,
+            SLF4J_NOP,
+            LOGBACK_CLASSIC,
+            SLF4J_LOG4J12,
+            SLF4J_JCL,
+            SLF4J_JDK14,
+            LOG4J_SLF4J_IMPL,
+            LOG4J_SLF4J2_IMPL);
+
+    // Pairs of a bridge to Slf4J and a binding back to the bridged framework
+    private static final LoggingModuleIdentifiers[][] LOOPS = {
+        {JCL_OVER_SLF4J, SLF4J_JCL},
+        {JUL_TO_SLF4J, SLF4J_JDK14},
+        {LOG4J_OVER_SLF4J, SLF4J_LOG4J12},
+        {LOG4J_TO_SLF4J, LOG4J_SLF4J_IMPL},
+        {LOG4J_TO_SLF4J, LOG4J_SLF4J2_IMPL}
+    };
+
+    /**
+     * The 'group:name' of the logging modules of each classpath, by configuration name
+     * (see {@link #loggingModules(ResolvedComponentResult)}).
+     */
+    @Input
+    public abstract MapProperty<String, List<String>> getLoggingModules();
+
+    @OutputFile
+    public abstract RegularFileProperty getReportFile();
+
+    @Inject
+    protected abstract WorkerExecutor getWorkerExecutor();
+
+    @TaskAction
+    public void verify() {
+        Map<String, List<String>> classpaths = new TreeMap<>(getLoggingModules().get());
+        Map<String, File> problemFiles = new TreeMap<>();
+        WorkQueue queue = getWorkerExecutor().noIsolation();
+        for (Map.Entry<String, List<String>> classpath : classpaths.entrySet()) {
+            File problemFile = new File(getTemporaryDir(), classpath.getKey() + ".txt");
+            problemFiles.put(classpath.getKey(), problemFile);
+            queue.submit(Verify.class, parameters -> {
+                parameters.getModules().set(classpath.getValue());
+                parameters.getProblemFile().set(problemFile);
+            });
+        }
+        queue.await();
+
+        StringBuilder report = new StringBuilder();
+        for (Map.Entry<String, File> problemFile : problemFiles.entrySet()) {
+            List<String> problems = readLines(problemFile.getValue().toPath());
+            for (String problem : problems) {
+                report.append(problemFile.getKey()).append(": ").append(problem).append('\n');
+            }
+        }
+        Path reportFile = getReportFile().get().getAsFile().toPath();
+        try {
+            Files.createDirectories(reportFile.getParent());
+            Files.write(reportFile, report.toString().getBytes(StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        if (report.length() > 0) {
+            throw new GradleException("Problems in logging setup:\n" + report);
+        }
+    }
+
+    /**
+     * @return the sorted 'group:name' of all modules in the graph that are known logging modules
+     */
+    public static List<String> loggingModules(ResolvedComponentResult root) {
+        Set<String> modules = new TreeSet<>();
+        Set<ResolvedComponentResult> visited = new HashSet<>();
+        Deque<ResolvedComponentResult> queue = new ArrayDeque<>();
+        queue.add(root);
+        while (!queue.isEmpty()) {
+            ResolvedComponentResult component = queue.poll();
+            if (!visited.add(component)) {
+                continue;
+            }
+            if (component.getId() instanceof ModuleComponentIdentifier) {
+                ModuleComponentIdentifier id = (ModuleComponentIdentifier) component.getId();
+                String module = id.getGroup() + ":" + id.getModule();
+                if (LOGGING_MODULES.contains(module)) {
+                    modules.add(module);
+                }
+            }
+            for (DependencyResult dependency : component.getDependencies()) {
+                if (dependency instanceof ResolvedDependencyResult) {
+                    queue.add(((ResolvedDependencyResult) dependency).getSelected());
+                }
+            }
+        }
+        return new ArrayList<>(modules);
+    }
+
+    /**
+     * @return the problems of a classpath with the given logging modules
+     */
+    static List<String> problems(Collection<String> modules) {
+        List<String> problems = new ArrayList<>();
+        List<String> bindings = SLF4J_BINDINGS.stream()
+                .map(m -> m.moduleId)
+                .filter(modules::contains)
+                .collect(Collectors.toList());
+        if (bindings.size() > 1) {
+            problems.add("multiple Slf4J bindings " + bindings);
+        }
+        for (LoggingModuleIdentifiers[] loop : LOOPS) {
+            if (modules.contains(loop[0].moduleId) && modules.contains(loop[1].moduleId)) {
+                problems.add("logging loop between " + loop[0].moduleId + " and " + loop[1].moduleId);
+            }
+        }
+        if (modules.contains(LOG4J_CORE.moduleId) && modules.contains(LOG4J_TO_SLF4J.moduleId)) {
+            problems.add("multiple Log4J 2 implementations [" + LOG4J_CORE.moduleId + ", " + LOG4J_TO_SLF4J.moduleId
+                    + "]");
+        }
+        return problems;
+    }
+
+    private static List<String> readLines(Path file) {
+        try {
+            return Files.readAllLines(file, StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public interface VerifyParameters extends WorkParameters {
+        ListProperty<String> getModules();
+
+        RegularFileProperty getProblemFile();
+    }
+
+    /**
+     * Verifies one classpath and writes its problems, one per line, to the problem file.
+     */
+    public abstract static class Verify implements WorkAction<VerifyParameters> {
+        @Override
+        public void execute() {
+            List<String> problems = problems(getParameters().getModules().get());
+            try {
+                Files.write(
+                        getParameters().getProblemFile().get().getAsFile().toPath(),
+                        problems,
+                        StandardCharsets.UTF_8);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+}
@@ -0,0 +1,94 @@
+// SPDX-License-Identifier: Apache-2.0
+package org.gradlex.jvm.dependency.conflict.resolution.tasks;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Objects;
+import java.util.SortedSet;
+import java.util.TreeSet;
+import org.gradle.api.DefaultTask;
+import org.gradle.api.GradleException;
+import org.gradle.api.artifacts.result.ResolvedComponentResult;
+import org.gradle.api.file.ConfigurableFileCollection;
+import org.gradle.api.file.RegularFileProperty;
+import org.gradle.api.provider.Property;
+import org.gradle.api.tasks.InputFiles;
+import org.gradle.api.tasks.Internal;
+import org.gradle.api.tasks.PathSensitive;
+import org.gradle.api.tasks.PathSensitivity;
+import org.gradle.api.tasks.TaskAction;
+import org.jspecify.annotations.NullMarked;
+
+/**
+ * Verifies that a {@link VersionsLock} file is up to date. If the hash of the files that declare the versions did not
+ * change since the lock file was written, the lock file is up to date and the classpath is not resolved. Otherwise,
+ * the classpath is resolved and compared with the lock file.
+ */
+@NullMarked
+public abstract class VerifyVersionsLock extends DefaultTask {
+
+    private static final String UPDATE_TASK = "updateVersionsLock";
+
+    /**
+     * The root component of the resolution result of the classpath. Should only be set if the lock file may be
+     * stale, so that the classpath is not resolved otherwise.
+     */
+    @Internal
+    public abstract Property<ResolvedComponentResult> getRootComponent();
+
+    /**
+     * The files that declare the versions, for example version catalogs and build files.
+     */
+    @InputFiles
+    @PathSensitive(PathSensitivity.NAME_ONLY)
+    public abstract ConfigurableFileCollection getInputsToHash();
+
+    @Internal
+    public abstract RegularFileProperty getLockFile();
+
+    public VerifyVersionsLock() {
+        getOutputs().upToDateWhen(task -> false);
+    }
+
+    @TaskAction
+    public void verify() {
+        File lockFile = getLockFile().get().getAsFile();
+        if (!lockFile.isFile()) {
+            throw new GradleException("Versions lock " + lockFile + " does not exist. Run '" + UPDATE_TASK + "'.");
+        }
+        VersionsLock lock;
+        try {
+            lock = VersionsLock.parse(new String(Files.readAllBytes(lockFile.toPath()), StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        String inputsHash = VersionsLock.hash(new ArrayList<>(getInputsToHash().getFiles()));
+        if (inputsHash != null && inputsHash.equals(lock.getInputsHash())) {
+            getLogger().info("Inputs of versions lock {} did not change", lockFile);
+            return;
+        }
+        if (!getRootComponent().isPresent()) {
+            throw new GradleException("Inputs of versions lock " + lockFile + " changed. Run '" + UPDATE_TASK + "'.");
+        }
+        SortedSet<String> resolved = VersionsLock.modules(getRootComponent().get());
+        if (!resolved.equals(lock.getModules())) {
+            SortedSet<String> added = new TreeSet<>(resolved);
+            added.removeAll(lock.getModules());
+            SortedSet<String> removed = new TreeSet<>(lock.getModules());
+            removed.removeAll(resolved);
+            throw new GradleException("Versions lock " + lockFile + " is outdated (new: " + added + ", outdated: "
+                    + removed + "). Run '" + UPDATE_TASK + "'.");
+        }
+        if (!Objects.equals(inputsHash, lock.getInputsHash())) {
+            getLogger()
+                    .warn(
+                            "Versions in {} are up to date, but its inputs changed. Run '{}' to avoid resolving again.",
+                            lockFile,
+                            UPDATE_TASK);
+        }
+    }
+}
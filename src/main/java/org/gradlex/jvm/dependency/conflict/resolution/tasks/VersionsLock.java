@@ -0,0 +1,157 @@
+// SPDX-License-Identifier: Apache-2.0
+package org.gradlex.jvm.dependency.conflict.resolution.tasks;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.SortedSet;
+import java.util.TreeSet;
+import java.util.function.Function;
+import org.gradle.api.artifacts.component.ModuleComponentIdentifier;
+import org.gradle.api.artifacts.result.DependencyResult;
+import org.gradle.api.artifacts.result.ResolvedComponentResult;
+import org.gradle.api.artifacts.result.ResolvedDependencyResult;
+import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * The content of a versions lock file: a hash of the files that declare the versions, followed by the sorted
+ * 'group:name:version' coordinates of all modules of a resolved classpath.
+ * <pre>
+ * # Versions of consistent resolution. Update with the 'updateVersionsLock' task.
+ * # inputs=&lt;sha-256 of the declared inputs&gt;
+ * org.example:lib:1.0
+ * </pre>
+ */
+@NullMarked
+public final class VersionsLock {
+
+    private static final String HEADER =
+            "# Versions of consistent resolution. Update with the 'updateVersionsLock' task.";
+    private static final String INPUTS_PREFIX = "# inputs=";
+
+    private final @Nullable String inputsHash;
+    private final SortedSet<String> modules;
+
+    public VersionsLock(@Nullable String inputsHash, SortedSet<String> modules) {
+        this.inputsHash = inputsHash;
+        this.modules = modules;
+    }
+
+    public static VersionsLock parse(String content) {
+        String inputsHash = null;
+        SortedSet<String> modules = new TreeSet<>();
+        for (String line : content.split("\\R")) {
+            String trimmed = line.trim();
+            if (trimmed.startsWith(INPUTS_PREFIX)) {
+                inputsHash = trimmed.substring(INPUTS_PREFIX.length());
+            } else if (!trimmed.isEmpty() && !trimmed.startsWith("#")) {
+                if (trimmed.split(":").length != 3) {
+                    throw new IllegalArgumentException(
+                            "Invalid line in versions lock: '" + trimmed + "' (expected 'group:name:version')");
+                }
+                modules.add(trimmed);
+            }
+        }
+        return new VersionsLock(inputsHash, modules);
+    }
+
+    /**
+     * @return the 'group:name:version' of all modules in the graph of the given root component, sorted
+     */
+    public static SortedSet<String> modules(ResolvedComponentResult root) {
+        SortedSet<String> modules = new TreeSet<>();
+        Set<ResolvedComponentResult> visited = new HashSet<>();
+        Deque<ResolvedComponentResult> queue = new ArrayDeque<>();
+        queue.add(root);
+        while (!queue.isEmpty()) {
+            ResolvedComponentResult component = queue.poll();
+            if (!visited.add(component)) {
+                continue;
+            }
+            if (component.getId() instanceof ModuleComponentIdentifier) {
+                ModuleComponentIdentifier id = (ModuleComponentIdentifier) component.getId();
+                modules.add(id.getGroup() + ":" + id.getModule() + ":" + id.getVersion());
+            }
+            for (DependencyResult dependency : component.getDependencies()) {
+                if (dependency instanceof ResolvedDependencyResult) {
+                    queue.add(((ResolvedDependencyResult) dependency).getSelected());
+                }
+            }
+        }
+        return modules;
+    }
+
+    /**
+     * @param inputs the files that declare versions, in a stable order
+     * @return a hash of names and contents of the files, or null if there are no inputs
+     */
+    public static @Nullable String hash(List<File> inputs) {
+        return hash(inputs, input -> {
+            try {
+                return input.isFile() ? Files.readAllBytes(input.toPath()) : null;
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    /**
+     * @param inputs the files that declare versions, in a stable order
+     * @param contents reads the content of a file, or returns null if it does not exist
+     * @return a hash of names and contents of the files, or null if there are no inputs
+     */
+    public static @Nullable String hash(List<File> inputs, Function<File, byte @Nullable []> contents) {
+        if (inputs.isEmpty()) {
+            return null;
+        }
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            for (File input : inputs) {
+                digest.update(input.getName().getBytes(StandardCharsets.UTF_8));
+                digest.update((byte) 0);
+                byte[] content = contents.apply(input);
+                if (content != null) {
+                    digest.update(content);
+                }
+                digest.update((byte) 0);
+            }
+            StringBuilder hash = new StringBuilder();
+            for (byte b : digest.digest()) {
+                hash.append(String.format("%02x", b));
+            }
+            return hash.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    public @Nullable String getInputsHash() {
+        return inputsHash;
+    }
+
+    public SortedSet<String> getModules() {
+        return modules;
+    }
+
+    public String format() {
+        StringBuilder content = new StringBuilder();
+        content.append(HEADER).append('\n');
+        if (inputsHash != null) {
+            content.append(INPUTS_PREFIX).append(inputsHash).append('\n');
+        }
+        for (String module : modules) {
+            content.append(module).append('\n');
+        }
+        return content.toString();
+    }
+}
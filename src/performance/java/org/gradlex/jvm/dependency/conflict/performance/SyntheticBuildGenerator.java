@@ -0,0 +1,296 @@
+// SPDX-License-Identifier: Apache-2.0
+package org.gradlex.jvm.dependency.conflict.performance;
+
+import java.io.IOException;
+import java.lang.reflect.Method;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import org.gradlex.jvm.dependency.conflict.detection.rules.AlignmentDefinition;
+import org.gradlex.jvm.dependency.conflict.detection.rules.CapabilityDefinition;
+import org.gradlex.jvm.dependency.conflict.detection.rules.CapabilityDefinitionRule;
+
+/**
+ * Generates multi-project builds of different sizes, to measure the per-project cost of the plugins with
+ * <a href="https://github.com/gradle/gradle-profiler">gradle-profiler</a>. The builds work offline: all modules of
+ * all {@link CapabilityDefinition}s and {@link AlignmentDefinition}s are published in two versions to a generated
+ * local Maven repository. Each project depends on the modules of two capability definitions and some modules of an
+ * alignment definition, in versions that differ from those of the projects it depends on. This causes capability
+ * conflicts and version conflicts that the plugins deal with.
+ * <p>
+ * Arguments: output directory, location of the plugin build, number of projects of each build.
+ * <p>
+ * Each build contains a 'performance.scenarios' file with scenarios for configuration time and resolution time,
+ * with the plugin off, with the detection plugin only, and with the resolution plugin.
+ */
+public class SyntheticBuildGenerator {
+
+    static final String PLUGIN_PROPERTY = "syntheticBuild.plugin";
+
+    private static final List<String> VERSIONS = Arrays.asList("1.0.0", "6.0.0");
+    private static final int MAX_ALIGNED_MODULES_PER_PROJECT = 8;
+    private static final Set<String> CAPABILITY_MODULES = new TreeSet<>();
+
+    static {
+        for (CapabilityDefinition definition : CapabilityDefinition.values()) {
+            CAPABILITY_MODULES.addAll(definition.getModules());
+        }
+    }
+
+    private final Path outputDirectory;
+    private final Path pluginBuild;
+
+    SyntheticBuildGenerator(Path outputDirectory, Path pluginBuild) {
+        this.outputDirectory = outputDirectory;
+        this.pluginBuild = pluginBuild;
+    }
+
+    public static void main(String[] args) throws IOException {
+        SyntheticBuildGenerator generator =
+                new SyntheticBuildGenerator(Paths.get(args[0]), Paths.get(args[1]).toAbsolutePath());
+        generator.generateRepository();
+        for (int i = 2; i < args.length; i++) {
+            int projectCount = Integer.parseInt(args[i]);
+            Path build = generator.generateBuild(projectCount);
+            System.out.println("Generated build with " + projectCount + " projects: " + build);
+        }
+    }
+
+    void generateRepository() throws IOException {
+        Map<String, Set<String>> modules = new TreeMap<>();
+        Map<String, List<String>> boms = new TreeMap<>();
+        for (CapabilityDefinition definition : CapabilityDefinition.values()) {
+            List<String> definitionModules = definition.getModules();
+            for (int i = 0; i < definitionModules.size(); i++) {
+                for (String version : VERSIONS) {
+                    modules.computeIfAbsent(definitionModules.get(i), m -> new TreeSet<>())
+                            .add(capabilityModuleVersion(version, i));
+                }
+            }
+        }
+        for (AlignmentDefinition definition : AlignmentDefinition.values()) {
+            for (String module : definition.getModules()) {
+                if (CAPABILITY_MODULES.contains(module)) {
+                    continue;
+                }
+                modules.computeIfAbsent(module, m -> new TreeSet<>()).addAll(VERSIONS);
+            }
+            if (definition.hasBom()) {
+                boms.put(definition.getBom(), definition.getModules());
+            }
+        }
+        for (Map.Entry<String, Set<String>> module : modules.entrySet()) {
+            for (String version : module.getValue()) {
+                writePom(module.getKey(), version, "");
+            }
+        }
+        for (Map.Entry<String, List<String>> bom : boms.entrySet()) {
+            for (String version : VERSIONS) {
+                StringBuilder managed = new StringBuilder();
+                for (String module : bom.getValue()) {
+                    if (CAPABILITY_MODULES.contains(module)) {
+                        continue;
+                    }
+                    managed.append("<dependency>")
+                            .append(coordinates(module, version))
+                            .append("</dependency>");
+                }
+                writePom(
+                        bom.getKey(),
+                        version,
+                        "<packaging>pom</packaging><dependencyManagement><dependencies>" + managed
+                                + "</dependencies></dependencyManagement>");
+            }
+        }
+    }
+
+    /**
+     * Each module of a capability definition gets its own versions, so that candidates of a capability conflict
+     * never have the same version.
+     */
+    private static String capabilityModuleVersion(String version, int moduleIndex) {
+        return version.substring(0, version.lastIndexOf('.') + 1) + moduleIndex;
+    }
+
+    Path generateBuild(int projectCount) throws IOException {
+        Path build = outputDirectory.resolve("build-" + projectCount + "-projects");
+        write(build.resolve("settings.gradle.kts"), settingsFile(projectCount));
+        write(build.resolve("build.gradle.kts"), rootBuildFile());
+        write(build.resolve("gradle/synthetic-project.gradle.kts"), projectScript());
+        write(build.resolve("performance.scenarios"), scenarios());
+        for (int i = 0; i < projectCount; i++) {
+            write(build.resolve(projectName(i)).resolve("build.gradle.kts"), projectBuildFile(i, projectCount));
+        }
+        return build;
+    }
+
+    private void writePom(String module, String version, String content) throws IOException {
+        String group = module.substring(0, module.indexOf(':'));
+        String name = module.substring(module.indexOf(':') + 1);
+        Path directory = outputDirectory
+                .resolve("repo")
+                .resolve(group.replace('.', '/'))
+                .resolve(name)
+                .resolve(version);
+        write(
+                directory.resolve(name + "-" + version + ".pom"),
+                "<project><modelVersion>4.0.0</modelVersion>" + coordinates(module, version) + content
+                        + "</project>\n");
+    }
+
+    private static String coordinates(String module, String version) {
+        return "<groupId>" + module.substring(0, module.indexOf(':')) + "</groupId><artifactId>"
+                + module.substring(module.indexOf(':') + 1) + "</artifactId><version>" + version + "</version>";
+    }
+
+    private String settingsFile(int projectCount) {
+        return "pluginManagement { includeBuild(\"" + pluginBuild.toString().replace("\\", "/") + "\") }\n"
+                + "\n"
+                + "dependencyResolutionManagement {\n"
+                + "    repositories { maven { url = uri(\"../repo\") } }\n"
+                + "}\n"
+                + "\n"
+                + "rootProject.name = \"synthetic-build-" + projectCount + "\"\n"
+                + "\n"
+                + "for (i in 0 until " + projectCount + ") {\n"
+                + "    include(\"project-\" + i.toString().padStart(4, '0'))\n"
+                + "}\n";
+    }
+
+    private static String rootBuildFile() {
+        return "plugins { id(\"org.gradlex.jvm-dependency-conflict-resolution\") apply false }\n"
+                + "\n"
+                + "tasks.register(\"resolveAll\") {\n"
+                + "    dependsOn(subprojects.map { \"${it.path}:resolveCompileClasspath\" })\n"
+                + "    doLast {\n"
+                + "        System.gc()\n"
+                + "        val usedHeap = Runtime.getRuntime().totalMemory() - Runtime.getRuntime().freeMemory()\n"
+                + "        println(\"Used heap after resolution: ${usedHeap / (1024 * 1024)} MB\")\n"
+                + "    }\n"
+                + "}\n";
+    }
+
+    private static String projectScript() {
+        return "// Conflicts without a default resolution strategy are resolved as a build would do it. This is\n"
+                + "// registered before the plugins are applied, so that the strategies of the plugin take precedence.\n"
+                + "configurations.configureEach {\n"
+                + "    resolutionStrategy.capabilitiesResolution.all { selectHighestVersion() }\n"
+                + "}\n"
+                + "\n"
+                + "when (providers.gradleProperty(\"" + PLUGIN_PROPERTY + "\").getOrElse(\"resolution\")) {\n"
+                + "    \"detection\" -> apply(plugin = \"org.gradlex.jvm-dependency-conflict-detection\")\n"
+                + "    \"resolution\" -> apply(plugin = \"org.gradlex.jvm-dependency-conflict-resolution\")\n"
+                + "}\n"
+                + "\n"
+                + "tasks.register(\"resolveCompileClasspath\") {\n"
+                + "    val rootComponent =\n"
+                + "        configurations.named(\"compileClasspath\").flatMap { it.incoming.resolutionResult.rootComponent }\n"
+                + "    doLast { logger.info(\"${rootComponent.get().dependencies.size} direct dependencies\") }\n"
+                + "}\n";
+    }
+
+    private static String projectBuildFile(int index, int projectCount) {
+        StringBuilder dependencies = new StringBuilder();
+        // Projects form a tree, so that the number of projects in the classpath of a project is logarithmic
+        for (int child = 2 * index + 1; child <= 2 * index + 2 && child < projectCount; child++) {
+            dependencies
+                    .append("    api(project(\":")
+                    .append(projectName(child))
+                    .append("\"))\n");
+        }
+        CapabilityDefinition[] capabilities = CapabilityDefinition.values();
+        List<String> modules = new ArrayList<>();
+        addCapabilityModules(modules, capabilities[index % capabilities.length], index);
+        addCapabilityModules(modules, capabilities[(index + capabilities.length / 2) % capabilities.length], index);
+        AlignmentDefinition alignment = AlignmentDefinition.values()[index % AlignmentDefinition.values().length];
+        // Modules in capability conflicts are only used with the versions of their capability definition
+        List<String> aligned = new ArrayList<>(alignment.getModules());
+        aligned.removeAll(CAPABILITY_MODULES);
+        for (int i = 0; i < Math.min(MAX_ALIGNED_MODULES_PER_PROJECT, aligned.size()); i++) {
+            String module = aligned.get((index * MAX_ALIGNED_MODULES_PER_PROJECT + i) % aligned.size());
+            modules.add(module + ":" + VERSIONS.get((index + i) % VERSIONS.size()));
+        }
+        for (String module : modules) {
+            dependencies.append("    api(\"").append(module).append("\")\n");
+        }
+        return "plugins { id(\"java-library\") }\n"
+                + "\n"
+                + "apply(from = rootDir.resolve(\"gradle/synthetic-project.gradle.kts\"))\n"
+                + "\n"
+                + "dependencies {\n"
+                + dependencies
+                + "}\n";
+    }
+
+    /**
+     * If the rule derives the capability version from the module name, several modules have the same capability
+     * version. Selecting the highest version cannot resolve such conflicts, so only the first module is used.
+     */
+    private static void addCapabilityModules(List<String> modules, CapabilityDefinition definition, int index) {
+        List<String> definitionModules = definition.getModules();
+        int count = derivesCapabilityVersion(definition) ? 1 : definitionModules.size();
+        for (int i = 0; i < count; i++) {
+            String version = VERSIONS.get((index + i) % VERSIONS.size());
+            modules.add(definitionModules.get(i) + ":" + capabilityModuleVersion(version, i));
+        }
+    }
+
+    private static boolean derivesCapabilityVersion(CapabilityDefinition definition) {
+        for (Class<?> rule = definition.getRuleClass();
+                rule != CapabilityDefinitionRule.class;
+                rule = rule.getSuperclass()) {
+            for (Method method : rule.getDeclaredMethods()) {
+                if (method.getName().equals("getVersion")) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private static String scenarios() {
+        StringBuilder scenarios = new StringBuilder();
+        scenarios.append("// gradle-profiler --benchmark --project-dir . --scenario-file performance.scenarios")
+                .append(" --measure-config-time --measure-gc\n")
+                .append("default-scenarios = [");
+        List<String> names = new ArrayList<>();
+        StringBuilder definitions = new StringBuilder();
+        for (String measurement : Arrays.asList("configuration", "resolution")) {
+            for (String plugin : Arrays.asList("off", "detection", "resolution")) {
+                String name = measurement + "_plugin_" + plugin;
+                names.add("\"" + name + "\"");
+                definitions
+                        .append('\n')
+                        .append(name)
+                        .append(" {\n")
+                        .append("    tasks = [\"")
+                        .append("configuration".equals(measurement) ? "help" : "resolveAll")
+                        .append("\"]\n")
+                        .append("    gradle-args = [\"-P")
+                        .append(PLUGIN_PROPERTY)
+                        .append('=')
+                        .append(plugin)
+                        .append("\"]\n")
+                        .append("}\n");
+            }
+        }
+        return scenarios.append(String.join(", ", names)).append("]\n").append(definitions).toString();
+    }
+
+    private static String projectName(int index) {
+        return String.format("project-%04d", index);
+    }
+
+    private static void write(Path file, String content) throws IOException {
+        Files.createDirectories(file.getParent());
+        Files.write(file, content.getBytes(StandardCharsets.UTF_8));
+    }
+}
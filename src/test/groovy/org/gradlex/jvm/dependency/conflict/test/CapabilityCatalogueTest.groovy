@@ -0,0 +1,75 @@
+package org.gradlex.jvm.dependency.conflict.test
+
+import org.gradlex.jvm.dependency.conflict.test.fixture.GradleBuild
+import spock.lang.Specification
+
+class CapabilityCatalogueTest extends Specification {
+
+    @Delegate
+    GradleBuild build = new GradleBuild()
+
+    def setup() {
+        buildFile << """
+            plugins {
+                id("org.gradlex.jvm-dependency-conflict-resolution")
+                id("java-library")
+            }
+
+            repositories.mavenCentral()
+
+            dependencies {
+                implementation("commons-lang:commons-lang:2.6")
+                implementation("org.apache.commons:commons-lang3:3.12.0")
+            }
+
+            jvmDependencyConflicts {
+                conflictResolution {
+                    select("org.example:commons-lang", "org.apache.commons:commons-lang3")
+                }
+            }
+        """
+        propertiesFile << """
+            org.gradlex.jvm-dependency-conflict-detection.capability-catalogue=gradle/capabilities.txt
+        """
+    }
+
+    def "capabilities of catalogue file are added to modules"() {
+        given:
+        file('gradle/capabilities.txt') << """
+            # in-house capabilities
+            org.example:commons-lang = commons-lang:commons-lang, org.apache.commons:commons-lang3
+        """
+
+        expect:
+        dependenciesCompile().output.contains '''
+            compileClasspath - Compile classpath for source set 'main'.
+            +--- commons-lang:commons-lang:2.6 -> org.apache.commons:commons-lang3:3.12.0
+            \\--- org.apache.commons:commons-lang3:3.12.0
+            '''.stripIndent()
+    }
+
+    def "modules of catalogue file can be patterns"() {
+        given:
+        file('gradle/capabilities.txt') << """
+            org.example:commons-lang = commons-lang:*, org.apache.commons:commons-lang*
+        """
+
+        expect:
+        dependenciesCompile().output.contains '''
+            compileClasspath - Compile classpath for source set 'main'.
+            +--- commons-lang:commons-lang:2.6 -> org.apache.commons:commons-lang3:3.12.0
+            \\--- org.apache.commons:commons-lang3:3.12.0
+            '''.stripIndent()
+    }
+
+    def "reports invalid lines of catalogue file"() {
+        given:
+        file('gradle/capabilities.txt') << """
+            org.example:commons-lang
+        """
+
+        expect:
+        runner('dependencies').buildAndFail().output.contains(
+                "(expected 'group:name = group:name, ...')")
+    }
+}
@@ -0,0 +1,110 @@
+package org.gradlex.jvm.dependency.conflict.test
+
+import groovy.json.JsonSlurper
+import org.gradlex.jvm.dependency.conflict.test.fixture.GradleBuild
+import spock.lang.IgnoreIf
+import spock.lang.Specification
+
+@IgnoreIf({ GradleBuild.GRADLE6_TEST || GradleBuild.GRADLE7_TEST })
+class CapabilityConflictReportTest extends Specification {
+
+    @Delegate
+    GradleBuild build = new GradleBuild()
+
+    def report = file('build/reports/jvm-dependency-conflict-resolution/capability-conflicts.json')
+
+    def setup() {
+        buildFile << """
+            plugins {
+                id("org.gradlex.jvm-dependency-conflict-resolution")
+                id("java-library")
+            }
+
+            repositories.mavenCentral()
+
+            dependencies {
+                implementation("cglib:cglib-nodep:3.2.10")
+                implementation("cglib:cglib:3.2.10")
+                implementation("com.sun.mail:jakarta.mail:1.6.7")
+                implementation("com.sun.mail:mailapi:1.6.7")
+                implementation("org.slf4j:slf4j-simple:1.7.36")
+                implementation("org.slf4j:slf4j-log4j12:1.7.36")
+            }
+        """
+    }
+
+    def "reports capability conflicts with the strategy that resolved them"() {
+        given:
+        buildFile << """
+            jvmDependencyConflicts {
+                conflictResolution {
+                    select("org.gradlex:javax-mail-api", "com.sun.mail:mailapi")
+                }
+                logging {
+                    selectSlf4JBinding("org.slf4j:slf4j-simple:1.7.36")
+                }
+            }
+        """
+
+        when:
+        runner('capabilityConflictReport').build()
+        def conflicts = compileClasspathConflicts()
+
+        then:
+        conflicts['org.gradlex:cglib'].candidates == ['cglib:cglib', 'cglib:cglib-nodep']
+        conflicts['org.gradlex:cglib'].strategy == 'HIGHEST_VERSION'
+        conflicts['org.gradlex:javax-mail-api'].selected == 'com.sun.mail:mailapi:1.6.7'
+        conflicts['org.gradlex:javax-mail-api'].strategy == 'SELECT'
+        conflicts['org.gradlex:slf4j-impl'].selected == 'org.slf4j:slf4j-simple:1.7.36'
+        conflicts['org.gradlex:slf4j-impl'].strategy == 'SELECT'
+    }
+
+    def "reports if a lenient selection falls back to the first candidate"() {
+        given:
+        buildFile << """
+            jvmDependencyConflicts {
+                conflictResolution {
+                    selectLenient(org.gradlex.jvm.dependency.conflict.detection.rules.CapabilityDefinition.JAVAX_MAIL_API, "com.example:mail")
+                }
+                logging {
+                    selectSlf4JBinding("org.slf4j:slf4j-simple:1.7.36")
+                }
+            }
+        """
+
+        when:
+        runner('capabilityConflictReport').build()
+        def conflicts = compileClasspathConflicts()
+
+        then:
+        conflicts['org.gradlex:javax-mail-api'].strategy == 'LENIENT_FALLBACK'
+    }
+
+    def "does not report modules replaced by a substitution as conflicts"() {
+        given:
+        buildFile << """
+            dependencies {
+                implementation("commons-logging:commons-logging:1.2")
+                implementation("ch.qos.logback:logback-classic:1.2.3")
+            }
+            jvmDependencyConflicts {
+                logging {
+                    enforceLogback()
+                }
+            }
+        """
+
+        when:
+        runner('capabilityConflictReport').build()
+        def conflicts = compileClasspathConflicts()
+
+        then:
+        !conflicts.containsKey('org.gradlex:commons-logging-impl')
+        conflicts['org.gradlex:slf4j-impl'].selected == 'ch.qos.logback:logback-classic:1.2.3'
+    }
+
+    private Map<String, Object> compileClasspathConflicts() {
+        def configurations = new JsonSlurper().parse(report).configurations
+        configurations.find { it.name == 'compileClasspath' }.conflicts.collectEntries { [it.capability, it] }
+    }
+}
@@ -0,0 +1,142 @@
+package org.gradlex.jvm.dependency.conflict.test
+
+import groovy.json.JsonSlurper
+import org.gradlex.jvm.dependency.conflict.test.fixture.GradleBuild
+import spock.lang.IgnoreIf
+import spock.lang.Specification
+
+import java.util.jar.JarOutputStream
+import java.util.zip.ZipEntry
+
+@IgnoreIf({ GradleBuild.GRADLE6_TEST || GradleBuild.GRADLE7_TEST })
+class ClasspathOverlapsTest extends Specification {
+
+    @Delegate
+    GradleBuild build = new GradleBuild()
+
+    def setup() {
+        publish('org.example:lib-a:1.0', 'org/example/shared/Util.class', 'org/example/a/A.class')
+        publish('org.example:lib-b:1.0', 'org/example/shared/Util.class', 'org/example/b/B.class')
+        publish('org.example:lib-c:1.0', 'org/example/c/C.class', 'META-INF/versions/11/org/example/a/A.class')
+
+        buildFile << """
+            plugins {
+                id("org.gradlex.jvm-dependency-conflict-resolution")
+                id("java-library")
+            }
+
+            repositories.maven(file("repo"))
+
+            dependencies {
+                implementation("org.example:lib-a:1.0")
+                implementation("org.example:lib-b:1.0")
+                testRuntimeOnly("org.example:lib-c:1.0")
+            }
+        """
+    }
+
+    def "reports overlapping classes of modules that are not covered by a capability"() {
+        when:
+        runner('detectClasspathOverlaps').build()
+        def overlaps = new JsonSlurper().parse(
+                file('build/reports/jvm-dependency-conflict-resolution/classpath-overlaps-main.json')).overlaps
+
+        then:
+        overlaps.size() == 1
+        overlaps[0].modules == ['org.example:lib-a:1.0', 'org.example:lib-b:1.0']
+        overlaps[0].classes == 1
+        overlaps[0].packages == ['org.example.shared']
+        overlaps[0].examples == ['org.example.shared.Util']
+    }
+
+    def "prints the overlaps also if the task already ran"() {
+        when:
+        runner('detectClasspathOverlaps').build()
+        def result = runner('detectClasspathOverlaps').build()
+
+        then:
+        result.output.contains('1 classes overlap in org.example:lib-a:1.0, org.example:lib-b:1.0')
+    }
+
+    def "there is a task for each source set"() {
+        when:
+        runner('detectTestClasspathOverlaps').build()
+        def overlaps = new JsonSlurper().parse(
+                file('build/reports/jvm-dependency-conflict-resolution/classpath-overlaps-test.json')).overlaps
+
+        then:
+        overlaps.size() == 1
+        overlaps[0].modules == ['org.example:lib-a:1.0', 'org.example:lib-b:1.0']
+    }
+
+    def "generates patches that add a capability to overlapping modules"() {
+        when:
+        runner('generateCapabilityPatches').build()
+
+        then:
+        file('build/reports/jvm-dependency-conflict-resolution/capability-patches-main.gradle.kts').text == '''\
+            jvmDependencyConflicts {
+                patch {
+                    // 1 overlapping classes in org.example.shared
+                    module("org.example:lib-b") { addCapability("org.example:lib-a") }
+                }
+            }
+            '''.stripIndent()
+    }
+
+    def "modules that overlap through a chain of modules do not get a common capability"() {
+        given:
+        publish('org.example:chain-x:1.0', 'org/example/x/X.class', 'org/example/xy/XY.class')
+        publish('org.example:chain-y:1.0', 'org/example/xy/XY.class', 'org/example/yz/YZ.class')
+        publish('org.example:chain-z:1.0', 'org/example/yz/YZ.class', 'org/example/z/Z.class')
+        buildFile << """
+            dependencies {
+                implementation("org.example:chain-x:1.0")
+                implementation("org.example:chain-y:1.0")
+                implementation("org.example:chain-z:1.0")
+            }
+        """
+
+        when:
+        runner('generateCapabilityPatches').build()
+
+        then:
+        file('build/reports/jvm-dependency-conflict-resolution/capability-patches-main.gradle.kts').text == '''\
+            jvmDependencyConflicts {
+                patch {
+                    // 1 overlapping classes in org.example.xy
+                    module("org.example:chain-y") { addCapability("org.example:chain-x") }
+                    // 1 overlapping classes in org.example.yz
+                    module("org.example:chain-z") { addCapability("org.example:chain-y") }
+                    // 1 overlapping classes in org.example.shared
+                    module("org.example:lib-b") { addCapability("org.example:lib-a") }
+                }
+            }
+            '''.stripIndent()
+    }
+
+    def "prints the patches also if the task already ran"() {
+        when:
+        runner('generateCapabilityPatches').build()
+        def result = runner('generateCapabilityPatches').build()
+
+        then:
+        result.output.contains('module("org.example:lib-b") { addCapability("org.example:lib-a") }')
+    }
+
+    private void publish(String coordinates, String... classes) {
+        def (group, name, version) = coordinates.split(':')
+        def dir = file("repo/${group.replace('.', '/')}/$name/$version")
+        dir.mkdirs()
+        new File(dir, "$name-${version}.pom").text = """<project>
+            <modelVersion>4.0.0</modelVersion>
+            <groupId>$group</groupId><artifactId>$name</artifactId><version>$version</version>
+        </project>"""
+        new JarOutputStream(new FileOutputStream(new File(dir, "$name-${version}.jar"))).withCloseable { jar ->
+            classes.each {
+                jar.putNextEntry(new ZipEntry(it))
+                jar.closeEntry()
+            }
+        }
+    }
+}
@@ -2,6 +2,7 @@ package org.gradlex.jvm.dependency.conflict.test
 
 import org.gradle.testkit.runner.BuildResult
 import org.gradlex.jvm.dependency.conflict.test.fixture.GradleBuild
+import spock.lang.IgnoreIf
 import spock.lang.Specification
 
 class ConsistentResolutionTest extends Specification {
@@ -65,6 +66,110 @@ runtimeClasspath - Runtime classpath of source set 'main'.
 '''
     }
 
+    @IgnoreIf({ GradleBuild.GRADLE6_TEST || GradleBuild.GRADLE7_TEST })
+    def "consistently resolves with versions platforms of version providing projects"() {
+        given:
+        subprojects.each {
+            file("$it/build.gradle.kts") << '''
+            jvmDependencyConflicts.consistentResolution {
+                providesVersionsViaPlatform(":app")
+                providesVersionsViaPlatform(":service")
+            }
+        '''
+        }
+        file('app/build.gradle.kts') << '''
+            jvmDependencyConflicts.consistentResolution.publishesVersionsPlatform()
+            dependencies {
+                implementation("org.apache.commons:commons-lang3:3.11")
+            }
+        '''
+        file('service/build.gradle.kts') << '''
+            jvmDependencyConflicts.consistentResolution.publishesVersionsPlatform()
+            dependencies {
+                implementation("org.apache.commons:commons-math3:3.6")
+            }
+        '''
+        file('component/build.gradle.kts') << '''
+            dependencies {
+                implementation("org.apache.commons:commons-lang3:3.9")
+                implementation("org.apache.commons:commons-math3:3.5")
+            }
+        '''
+
+        expect:
+        dependenciesComponent('runtimeClasspath').output.replace("project ':", "project :").contains '''
+runtimeClasspath - Runtime classpath of source set 'main'.
++--- project :component (*)
++--- org.apache.commons:commons-lang3:3.9 -> 3.11
++--- org.apache.commons:commons-math3:3.5 -> 3.6
++--- project :app
+|    +--- org.apache.commons:commons-lang3:3.11 (c)
+|    \\--- org.apache.commons:commons-math3:3.5 -> 3.6 (c)
+\\--- project :service
+     +--- org.apache.commons:commons-math3:3.6 (c)
+     \\--- org.apache.commons:commons-lang3:3.9 -> 3.11 (c)
+'''
+    }
+
+    @IgnoreIf({ GradleBuild.GRADLE6_TEST || GradleBuild.GRADLE7_TEST })
+    def "only projects that publish a versions platform have its configurations"() {
+        given:
+        file('app/build.gradle.kts') << '''
+            jvmDependencyConflicts.consistentResolution.publishesVersionsPlatform()
+        '''
+
+        expect:
+        runner(':app:outgoingVariants').build().output.contains('versionsPlatformElements')
+        !runner(':component:outgoingVariants').build().output.contains('versionsPlatformElements')
+        !runner(':component:resolvableConfigurations').build().output.contains('versionsPlatformClasspath')
+    }
+
+    @IgnoreIf({ GradleBuild.GRADLE6_TEST || GradleBuild.GRADLE7_TEST })
+    def "consistently resolves with versions lock of version providing project"() {
+        file('component/build.gradle.kts') << '''
+            jvmDependencyConflicts.consistentResolution {
+                providesVersionsFromLock(":app", "versions.lock")
+                versionsLockInputs.from("../app/build.gradle.kts")
+            }
+            dependencies {
+                implementation("org.apache.commons:commons-lang3:3.9")
+                implementation("org.apache.commons:commons-math3:3.5")
+            }
+        '''
+        file('app/build.gradle.kts') << '''
+            dependencies {
+                implementation("org.apache.commons:commons-lang3:3.11")
+            }
+        '''
+
+        when:
+        runner(':component:updateVersionsLock').build()
+
+        then:
+        file('component/versions.lock').readLines().findAll { !it.startsWith('#') } == [
+                'org.apache.commons:commons-lang3:3.11',
+                'org.apache.commons:commons-math3:3.5'
+        ]
+        dependenciesComponent('compileClasspath').output.contains '''
++--- org.apache.commons:commons-lang3:3.9 -> 3.11
++--- org.apache.commons:commons-math3:3.5
++--- org.apache.commons:commons-lang3:{strictly 3.11} -> 3.11 (c)
+\\--- org.apache.commons:commons-math3:{strictly 3.5} -> 3.5 (c)
+'''
+        runner(':component:verifyVersionsLock').build()
+
+        when:
+        file('app/build.gradle.kts') << '''
+            dependencies {
+                implementation("org.apache.commons:commons-math3:3.6")
+            }
+        '''
+
+        then:
+        runner(':component:verifyVersionsLock').buildAndFail().output.contains(
+                "(new: [org.apache.commons:commons-math3:3.6], outdated: [org.apache.commons:commons-math3:3.5])")
+    }
+
     def "consistently resolves with version providing projects and platform"() {
         settingsFile << 'include(":versions")'
         file("versions/build.gradle.kts") << '''
@@ -151,4 +151,45 @@ class CustomizationTest extends Specification {
             \\--- org.apache.tomcat:tomcat-servlet-api:10.0.18 -> jakarta.servlet:jakarta.servlet-api:5.0.0
             '''.stripIndent()
     }
+
+    def "can select after a configuration was resolved at configuration time"() {
+        given:
+        buildFile << """
+            import org.gradlex.jvm.dependency.conflict.detection.rules.CapabilityDefinition
+            
+            plugins {
+                id("org.gradlex.jvm-dependency-conflict-resolution")
+                id("java-library")
+            }
+            
+            repositories.mavenCentral()
+            
+            val early = configurations.create("early")
+            
+            dependencies {
+                "early"("cglib:cglib-nodep:3.2.10")
+                "early"("cglib:cglib:3.2.10")
+                implementation("cglib:cglib-nodep:3.2.10")
+                implementation("cglib:cglib:3.2.10")
+            }
+            
+            early.incoming.resolutionResult.allComponents
+            
+            jvmDependencyConflicts {
+                conflictResolution {
+                    select(CapabilityDefinition.CGLIB, "cglib:cglib")
+                }
+            }
+        """
+
+        expect:
+        dependenciesCompile().output.contains '''
+            compileClasspath - Compile classpath for source set 'main'.
+            +--- cglib:cglib-nodep:3.2.10 -> cglib:cglib:3.2.10
+            |    +--- org.ow2.asm:asm:7.0
+            |    \\--- org.apache.ant:ant:1.10.3
+            |         \\--- org.apache.ant:ant-launcher:1.10.3
+            \\--- cglib:cglib:3.2.10 (*)
+            '''.stripIndent()
+    }
 }
@@ -0,0 +1,49 @@
+package org.gradlex.jvm.dependency.conflict.test
+
+import org.gradlex.jvm.dependency.conflict.test.fixture.GradleBuild
+import spock.lang.Specification
+
+class IndexedDispatchTest extends Specification {
+
+    @Delegate
+    GradleBuild build = new GradleBuild()
+
+    def setup() {
+        buildFile << """
+            plugins {
+                id("org.gradlex.jvm-dependency-conflict-resolution")
+                id("java-library")
+            }
+
+            repositories.mavenCentral()
+
+            dependencies {
+                implementation("cglib:cglib-nodep:3.2.10")
+                implementation("cglib:cglib:3.2.10")
+                implementation("com.sun.mail:jakarta.mail:1.6.7")
+                implementation("com.sun.mail:mailapi:1.6.7")
+                implementation("org.springframework:spring-aop:5.3.39")
+                implementation("aopalliance:aopalliance:1.0")
+                implementation("org.ow2.asm:asm-util:9.5")
+                implementation("org.ow2.asm:asm:9.6")
+                implementation("org.slf4j:slf4j-api:1.7.36")
+                implementation("org.slf4j:jul-to-slf4j:1.7.25")
+            }
+        """
+    }
+
+    def "indexed dispatch produces the same result as individual rule registration"() {
+        given:
+        def individual = dependenciesCompile().output
+
+        when:
+        propertiesFile << """
+            org.gradlex.jvm-dependency-conflict-detection.indexed-dispatch=true
+        """
+        def indexed = dependenciesCompile().output
+
+        then:
+        indexed.contains('compileClasspath')
+        indexed == individual
+    }
+}
@@ -0,0 +1,57 @@
+package org.gradlex.jvm.dependency.conflict.test
+
+import groovy.json.JsonSlurper
+import org.gradlex.jvm.dependency.conflict.test.fixture.GradleBuild
+import spock.lang.Specification
+
+class RuleStatisticsTest extends Specification {
+
+    @Delegate
+    GradleBuild build = new GradleBuild()
+
+    def report = file('build/reports/jvm-dependency-conflict-detection/rule-statistics.json')
+
+    def setup() {
+        buildFile << """
+            plugins {
+                id("org.gradlex.jvm-dependency-conflict-resolution")
+                id("java-library")
+            }
+
+            repositories.mavenCentral()
+
+            dependencies {
+                implementation("cglib:cglib-nodep:3.2.10")
+                implementation("cglib:cglib:3.2.10")
+                implementation("org.ow2.asm:asm-util:9.5")
+            }
+        """
+    }
+
+    def "no rule statistics are written by default"() {
+        when:
+        dependenciesCompile()
+
+        then:
+        !report.exists()
+    }
+
+    def "rule statistics are written at the end of the build if enabled"() {
+        given:
+        propertiesFile << """
+            org.gradlex.jvm-dependency-conflict-detection.rule-statistics=true
+        """
+
+        when:
+        // results of rules from previous builds would otherwise come from the metadata rule cache
+        runner('dependencies', '--configuration=compileClasspath', '--refresh-dependencies').build()
+        def statistics = new JsonSlurper().parse(report)
+
+        then:
+        def cglib = statistics.rules.find { it.definition == 'CGLIB' }
+        cglib.rule == 'org.gradlex.jvm.dependency.conflict.detection.rules.CapabilityDefinitionRule'
+        cglib.executions > 0
+        cglib.nanos > 0
+        statistics.rules.find { it.definition == 'ASM' && it.rule.endsWith('AsmAlignmentRule') }
+    }
+}
@@ -0,0 +1,52 @@
+package org.gradlex.jvm.dependency.conflict.test
+
+import org.gradlex.jvm.dependency.conflict.test.fixture.GradleBuild
+import spock.lang.Specification
+
+class SingleCapabilityHandlerTest extends Specification {
+
+    @Delegate
+    GradleBuild build = new GradleBuild()
+
+    def setup() {
+        buildFile << """
+            plugins {
+                id("org.gradlex.jvm-dependency-conflict-resolution")
+                id("java-library")
+            }
+
+            repositories.mavenCentral()
+
+            jvmDependencyConflicts {
+                conflictResolution {
+                    select("org.gradlex:javax-mail-api", "com.sun.mail:mailapi")
+                }
+            }
+
+            dependencies {
+                implementation("cglib:cglib-nodep:3.2.10")
+                implementation("cglib:cglib:3.2.10")
+                implementation("com.sun.mail:jakarta.mail:1.6.7")
+                implementation("com.sun.mail:mailapi:1.6.7")
+                implementation("org.ow2.asm:asm-util:9.5")
+                implementation("org.ow2.asm:asm:9.6")
+                implementation("org.slf4j:slf4j-api:1.7.36")
+            }
+        """
+    }
+
+    def "single capability handler produces the same result as one handler per capability"() {
+        given:
+        def individual = dependenciesCompile().output
+
+        when:
+        propertiesFile << """
+            org.gradlex.jvm-dependency-conflict-resolution.single-capability-handler=true
+        """
+        def single = dependenciesCompile().output
+
+        then:
+        single.contains('com.sun.mail:jakarta.mail:1.6.7 -> com.sun.mail:mailapi:1.6.7')
+        single == individual
+    }
+}
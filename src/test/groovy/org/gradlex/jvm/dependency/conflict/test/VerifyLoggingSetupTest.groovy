@@ -0,0 +1,57 @@
+package org.gradlex.jvm.dependency.conflict.test
+
+import org.gradlex.jvm.dependency.conflict.test.fixture.GradleBuild
+import spock.lang.IgnoreIf
+import spock.lang.Specification
+
+@IgnoreIf({ GradleBuild.GRADLE6_TEST || GradleBuild.GRADLE7_TEST })
+class VerifyLoggingSetupTest extends Specification {
+
+    @Delegate
+    GradleBuild build = new GradleBuild()
+
+    def report = file('build/reports/jvm-dependency-conflict-resolution/logging-setup.txt')
+
+    def setup() {
+        buildFile << """
+            plugins {
+                id("org.gradlex.jvm-dependency-conflict-resolution")
+                id("java-library")
+            }
+
+            repositories.mavenCentral()
+
+            dependencies {
+                implementation("org.slf4j:slf4j-api:1.7.36")
+                runtimeOnly("ch.qos.logback:logback-classic:1.2.3")
+            }
+        """
+    }
+
+    def "passes if each runtime classpath has one Slf4J binding"() {
+        expect:
+        runner('verifyLoggingSetup').build()
+        report.text.isEmpty()
+    }
+
+    def "reports multiple Slf4J bindings that are not detected as capability conflict"() {
+        given:
+        buildFile << """
+            dependencies {
+                testRuntimeOnly("org.slf4j:slf4j-simple:1.7.36")
+            }
+            jvmDependencyConflicts.patch {
+                module("org.slf4j:slf4j-simple") {
+                    removeCapability(org.gradlex.jvm.dependency.conflict.detection.rules.CapabilityDefinition.SLF4J_IMPL)
+                }
+            }
+        """
+
+        when:
+        def result = runner('verifyLoggingSetup').buildAndFail()
+
+        then:
+        result.output.contains('testRuntimeClasspath: multiple Slf4J bindings [org.slf4j:slf4j-simple, ch.qos.logback:logback-classic]')
+        report.text == 'testRuntimeClasspath: multiple Slf4J bindings [org.slf4j:slf4j-simple, ch.qos.logback:logback-classic]\n'
+    }
+}
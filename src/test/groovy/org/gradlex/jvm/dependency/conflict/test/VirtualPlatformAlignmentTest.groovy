@@ -0,0 +1,64 @@
+package org.gradlex.jvm.dependency.conflict.test
+
+import org.gradlex.jvm.dependency.conflict.test.fixture.GradleBuild
+import spock.lang.Specification
+
+class VirtualPlatformAlignmentTest extends Specification {
+
+    @Delegate
+    GradleBuild build = new GradleBuild()
+
+    def setup() {
+        buildFile << """
+            plugins {
+                id("org.gradlex.jvm-dependency-conflict-detection")
+                id("java-library")
+            }
+
+            repositories.mavenCentral()
+
+            dependencies {
+                implementation("org.apache.sshd:sshd-core:2.9.0")
+                implementation("org.apache.sshd:sshd-sftp:2.10.0")
+            }
+        """
+    }
+
+    def "aligns modules without BOM through constraints by default"() {
+        when:
+        def output = dependenciesCompile().output
+
+        then:
+        output.contains('org.apache.sshd:sshd-core:2.9.0 -> 2.10.0')
+        output.contains('org.apache.sshd:sshd-sftp:2.10.0 (c)')
+    }
+
+    def "aligns modules without BOM through a virtual platform"() {
+        given:
+        propertiesFile << """
+            org.gradlex.jvm-dependency-conflict-detection.virtual-platform-alignment=true
+        """
+
+        when:
+        def output = dependenciesCompile().output
+
+        then:
+        output.contains('org.apache.sshd:sshd-core:2.9.0 -> 2.10.0')
+        !output.contains('org.apache.sshd:sshd-sftp:2.10.0 (c)')
+    }
+
+    def "aligns modules without BOM through a virtual platform with indexed dispatch"() {
+        given:
+        propertiesFile << """
+            org.gradlex.jvm-dependency-conflict-detection.indexed-dispatch=true
+            org.gradlex.jvm-dependency-conflict-detection.virtual-platform-alignment=true
+        """
+
+        when:
+        def output = dependenciesCompile().output
+
+        then:
+        output.contains('org.apache.sshd:sshd-core:2.9.0 -> 2.10.0')
+        !output.contains('org.apache.sshd:sshd-sftp:2.10.0 (c)')
+    }
+}
@@ -199,6 +199,44 @@ ${additional.collect { "                runtimeOnly(\"$it\")" }.join("\n")}
     }
 
 
+    def "selection for a configuration takes precedence over selection for all configurations"() {
+        given:
+        withBuildScript("""
+            plugins {
+                `java-library`
+                id("org.gradlex.jvm-dependency-conflict-resolution")
+            }
+
+            repositories {
+                mavenCentral()
+            }
+
+            jvmDependencyConflicts.logging {
+                selectSlf4JBinding("testRuntimeClasspath", "org.slf4j:slf4j-simple")
+                selectSlf4JBinding("ch.qos.logback:logback-classic")
+            }
+
+            dependencies {
+                runtimeOnly("ch.qos.logback:logback-classic:1.2.3")
+                runtimeOnly("org.slf4j:slf4j-simple:1.7.27")
+            }
+
+            tasks.register("doIt") {
+                doLast {
+                    println("runtime: " + configurations["runtimeClasspath"].files.map { it.name })
+                    println("test: " + configurations["testRuntimeClasspath"].files.map { it.name })
+                }
+            }
+""")
+        when:
+        def result = build(['doIt'])
+
+        then:
+        outcomeOf(result, ':doIt') == SUCCESS
+        result.output.contains("runtime: [logback-classic-1.2.3.jar")
+        result.output.contains("test: [slf4j-simple-1.7.27.jar")
+    }
+
     def "can enforce logback and commons-logging is substituted"() {
         withBuildScript("""
             plugins {
@@ -237,6 +275,82 @@ ${additional.collect { "                runtimeOnly(\"$it\")" }.join("\n")}
         result.output.contains("jcl-over-slf4j-1.7.27.jar")
     }
 
+    def "can enforce Log4J 2 and log4j is substituted"() {
+        withBuildScript("""
+            plugins {
+                `java-library`
+                id("org.gradlex.jvm-dependency-conflict-resolution")
+            }
+
+            repositories {
+                mavenCentral()
+            }
+            
+            jvmDependencyConflicts.logging {
+                enforceLog4J2()
+            }
+            
+            dependencies {
+                implementation("org.apache.logging.log4j:log4j-api:2.17.1")
+                
+                implementation("log4j:log4j:1.2.17")
+                
+                runtimeOnly("org.apache.logging.log4j:log4j-core:2.17.1")
+            }
+
+            tasks.register("doIt") {
+                doLast {
+                    println(configurations["runtimeClasspath"].files)
+                }
+            }
+""")
+        when:
+        def result = build(['doIt'])
+
+        then:
+        outcomeOf(result, ':doIt') == SUCCESS
+        !result.output.contains("log4j-1.2.17.jar")
+        result.output.contains("log4j-1.2-api-2.17.1.jar")
+    }
+
+    def "can enforce Log4J 2 and log4j-over-slf4j is substituted"() {
+        withBuildScript("""
+            plugins {
+                `java-library`
+                id("org.gradlex.jvm-dependency-conflict-resolution")
+            }
+
+            repositories {
+                mavenCentral()
+            }
+            
+            jvmDependencyConflicts.logging {
+                enforceLog4J2()
+            }
+            
+            dependencies {
+                implementation("org.apache.logging.log4j:log4j-api:2.17.1")
+                
+                implementation("org.slf4j:log4j-over-slf4j:1.7.27")
+                
+                runtimeOnly("org.apache.logging.log4j:log4j-core:2.17.1")
+            }
+
+            tasks.register("doIt") {
+                doLast {
+                    println(configurations["runtimeClasspath"].files)
+                }
+            }
+""")
+        when:
+        def result = build(['doIt'])
+
+        then:
+        outcomeOf(result, ':doIt') == SUCCESS
+        !result.output.contains("log4j-over-slf4j")
+        result.output.contains("log4j-1.2-api-2.17.1.jar")
+    }
+
     def "can enforce logback and spring-jcl is substituted"() {
         withBuildScript("""
             plugins {
@@ -0,0 +1,97 @@
+package org.gradlex.jvm.dependency.conflict.test.overlap
+
+import org.gradlex.jvm.dependency.conflict.resolution.overlap.ClassIndex
+import spock.lang.Specification
+import spock.lang.TempDir
+
+import java.nio.file.Files
+import java.nio.file.Path
+
+class ClassIndexTest extends Specification {
+
+    @TempDir
+    Path testFolder
+
+    def "class names are read back sorted and without duplicates"() {
+        given:
+        def file = testFolder.resolve('classes.idx')
+
+        when:
+        ClassIndex.write(classNames, file)
+        def index = ClassIndex.read(file)
+
+        then:
+        index.size() == expected.size()
+        index.toList() == expected
+
+        where:
+        classNames                                    | expected
+        []                                            | []
+        ['a/A']                                       | ['a/A']
+        ['b/B', 'a/A', 'b/B', 'a/A']                  | ['a/A', 'b/B']
+        ['org/x/Foo$Inner', 'org/x/Foo', 'org/x/Fo']  | ['org/x/Fo', 'org/x/Foo', 'org/x/Foo$Inner']
+        ['org/x/Foo', 'org/y/Foo', 'com/Foo']         | ['com/Foo', 'org/x/Foo', 'org/y/Foo']
+        ['a/Äpfel', 'a/日本', 'a/A', 'a/Ä']           | ['a/A', 'a/Ä', 'a/Äpfel', 'a/日本']
+    }
+
+    def "names longer than the read buffer and lengths that need more than one varint byte are read back"() {
+        given:
+        def file = testFolder.resolve('classes.idx')
+        def longName = 'a/' + 'x' * 300
+        def classNames = ['a/A', longName, longName + '$Inner', 'a/B', 'b/' + 'y' * 20000]
+
+        when:
+        ClassIndex.write(classNames, file)
+
+        then:
+        ClassIndex.read(file).toList() == classNames.sort(false)
+    }
+
+    def "many class names are read back"() {
+        given:
+        def file = testFolder.resolve('classes.idx')
+        def classNames = (0..<10000).collect { "org/example/p${it % 37}/Class$it".toString() }
+
+        when:
+        ClassIndex.write(classNames, file)
+        def index = ClassIndex.read(file)
+
+        then:
+        index.size() == 10000
+        index.toList() == classNames.sort(false)
+    }
+
+    def "the iterator fails after the last class name"() {
+        given:
+        def file = testFolder.resolve('classes.idx')
+        ClassIndex.write(['a/A'], file)
+        def iterator = ClassIndex.read(file).iterator()
+        iterator.next()
+
+        when:
+        iterator.next()
+
+        then:
+        thrown(NoSuchElementException)
+    }
+
+    def "files that are not a class index are rejected"() {
+        given:
+        def file = testFolder.resolve('classes.idx')
+        Files.write(file, content as byte[])
+
+        when:
+        ClassIndex.read(file)
+
+        then:
+        thrown(IOException)
+
+        where:
+        content << [
+                [],
+                [0x4A, 0x44, 0x43, 0x49],
+                [0x50, 0x4B, 0x03, 0x04, 0x14, 0x00],
+                [0x4A, 0x44, 0x43, 0x49, 0x01, 0x00] // previous format version
+        ]
+    }
+}
@@ -0,0 +1,96 @@
+package org.gradlex.jvm.dependency.conflict.test.overlap
+
+import org.gradlex.jvm.dependency.conflict.resolution.overlap.ZipCentralDirectory
+import spock.lang.Specification
+import spock.lang.TempDir
+
+import java.nio.file.Files
+import java.nio.file.Path
+import java.util.zip.ZipEntry
+import java.util.zip.ZipOutputStream
+
+class ZipCentralDirectoryTest extends Specification {
+
+    @TempDir
+    Path testFolder
+
+    def "reads the class names of a Jar"() {
+        given:
+        def jar = jar([
+                'META-INF/',
+                'META-INF/MANIFEST.MF',
+                'META-INF/versions/9/a/A.class',
+                'module-info.class',
+                'a/',
+                'a/A.class',
+                'a/A$Inner.class',
+                'a/package-info.class',
+                'a/resource.txt',
+                'a/b/B.class',
+                '.class'
+        ])
+
+        expect:
+        ZipCentralDirectory.classNames(jar) == ['a/A', 'a/A$Inner', 'a/b/B']
+    }
+
+    def "reads the class names of a Jar with an archive comment"() {
+        given:
+        def jar = jar(['a/A.class', 'b/B.class'], comment)
+
+        expect:
+        ZipCentralDirectory.classNames(jar) == ['a/A', 'b/B']
+
+        where:
+        comment << ['', 'comment', 'PK\u0005\u0006' + 'x' * 30, 'c' * 0xFFFF]
+    }
+
+    def "reads the class names of an empty Jar"() {
+        expect:
+        ZipCentralDirectory.classNames(jar([])) == []
+    }
+
+    def "reads the class names of a Zip64 Jar"() {
+        given:
+        def entries = (0..<70000).collect { "c/C${it}.class".toString() }
+        def jar = jar(entries + ['c/resource.txt'])
+
+        expect:
+        isZip64(jar)
+        ZipCentralDirectory.classNames(jar) == entries.collect { it - '.class' }
+    }
+
+    def "files that are not a Jar are rejected"() {
+        given:
+        def file = testFolder.resolve('not-a.jar')
+        Files.write(file, content.bytes)
+
+        when:
+        ZipCentralDirectory.classNames(file)
+
+        then:
+        thrown(IOException)
+
+        where:
+        content << ['', 'PK', 'x' * 1000]
+    }
+
+    private Path jar(List<String> entries, String comment = null) {
+        def jar = Files.createTempFile(testFolder, 'test', '.jar')
+        new ZipOutputStream(Files.newOutputStream(jar)).withCloseable { zip ->
+            entries.each { zip.putNextEntry(new ZipEntry(it)); zip.closeEntry() }
+            if (comment != null) {
+                zip.setComment(comment)
+            }
+        }
+        jar
+    }
+
+    // The 'entries' field of the end of central directory record is 0xFFFF if the actual value is in the Zip64 record
+    private static boolean isZip64(Path jar) {
+        byte[] content = Files.readAllBytes(jar)
+        int end = content.length - 22
+        content[end] == 0x50 as byte && content[end + 1] == 0x4B as byte
+                && content[end + 10] == 0xFF as byte && content[end + 11] == 0xFF as byte
+    }
+}
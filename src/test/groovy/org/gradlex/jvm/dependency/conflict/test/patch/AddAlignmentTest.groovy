@@ -74,6 +74,37 @@ compileClasspath - Compile classpath for source set 'main'.
 '''
     }
 
+    def "can add alignment via virtual platform"() {
+        given:
+        buildFile << """
+            jvmDependencyConflicts {
+                patch {
+                    alignWithVirtualPlatform("org.apache.poi:poi-virtual-platform",
+                        "org.apache.poi:poi",
+                        "org.apache.poi:poi-excelant",
+                        "org.apache.poi:poi-ooxml",
+                        "org.apache.poi:poi-scratchpad"
+                    )
+                }
+            }
+            dependencies {
+                implementation("org.apache.poi:poi:5.2.5")
+                implementation("org.apache.poi:poi-excelant")
+                implementation("org.apache.poi:poi-ooxml")
+                implementation("org.apache.poi:poi-scratchpad")
+            }
+        """
+
+        when:
+        def output = dependenciesCompile().output
+
+        then:
+        output.contains('+--- org.apache.poi:poi-excelant -> 5.2.5')
+        output.contains('+--- org.apache.poi:poi-ooxml -> 5.2.5 (*)')
+        output.contains('\\--- org.apache.poi:poi-scratchpad -> 5.2.5')
+        !output.contains('org.apache.poi:poi-ooxml:5.2.5 (c)')
+    }
+
     def "can add alignment via BOM"() {
         given:
         buildFile << """
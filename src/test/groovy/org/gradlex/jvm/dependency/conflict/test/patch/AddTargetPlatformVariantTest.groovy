@@ -1,7 +1,6 @@
 package org.gradlex.jvm.dependency.conflict.test.patch
 
-import org.gradlex.jvm.dependency.conflict.detection.rules.AlignmentDefinition
-import org.gradlex.jvm.dependency.conflict.resolution.rules.LWJGLTargetPlatformRule
+import org.gradlex.jvm.dependency.conflict.resolution.rules.NativesMatrix
 import org.gradlex.jvm.dependency.conflict.test.fixture.GradleBuild
 import spock.lang.IgnoreIf
 
@@ -38,18 +37,115 @@ class AddTargetPlatformVariantTest extends AbstractPatchTest {
         output == 'javafx-base-17.0.10-win.jar\n'
     }
 
+    def "can add target variants of a platform matrix"() {
+        given:
+        buildFile << """
+            jvmDependencyConflicts {
+                patch {
+                    module("org.openjfx:javafx-base") {
+                        addTargetPlatformVariants {
+                            platform("none", "none", "")
+                            macos("x86-64", "mac")
+                            macos("aarch64", "mac-aarch64")
+                            windows("x86-64", "win")
+                            linux("aarch64", "linux-aarch64")
+                        }
+                    }
+                }
+            }
+            configurations.compileClasspath {
+                attributes.attribute(OperatingSystemFamily.OPERATING_SYSTEM_ATTRIBUTE, objects.named("macos"))
+                attributes.attribute(MachineArchitecture.ARCHITECTURE_ATTRIBUTE, objects.named("aarch64"))
+            }
+            dependencies {
+                implementation("org.openjfx:javafx-base:17.0.10")
+            }
+            tasks.register("printJars") {
+                println(configurations.compileClasspath.get().files.joinToString("\\n") { it.name });
+            }
+        """
+
+        expect:
+        String output = printJars().output
+        output == 'javafx-base-17.0.10-mac-aarch64.jar\n'
+    }
+
+    def "can add target variants of a platform matrix with a feature"() {
+        given:
+        buildFile << """
+            jvmDependencyConflicts {
+                patch {
+                    module("org.openjfx:javafx-base") {
+                        addTargetPlatformVariants("natives") {
+                            macos("x86-64", "mac")
+                            macos("aarch64", "mac-aarch64")
+                            windows("x86-64", "win")
+                        }
+                    }
+                }
+            }
+            configurations.compileClasspath {
+                attributes.attribute(OperatingSystemFamily.OPERATING_SYSTEM_ATTRIBUTE, objects.named("windows"))
+                attributes.attribute(MachineArchitecture.ARCHITECTURE_ATTRIBUTE, objects.named("x86-64"))
+            }
+            dependencies {
+                implementation("org.openjfx:javafx-base:17.0.10")
+                implementation("org.openjfx:javafx-base:17.0.10") {
+                    capabilities { requireCapability("org.openjfx:javafx-base-natives") }
+                }
+            }
+            tasks.register("printJars") {
+                println(configurations.compileClasspath.get().files.joinToString("\\n") { it.name });
+            }
+        """
+
+        expect:
+        String output = printJars().output
+        output.contains('javafx-base-17.0.10-win.jar\n')
+        !output.contains('javafx-base-17.0.10-mac')
+    }
+
+    def "can add target variants of a platform matrix without a module block"() {
+        given:
+        buildFile << """
+            jvmDependencyConflicts {
+                patch {
+                    module("org.openjfx:javafx-base").addTargetPlatformVariants {
+                        platform("none", "none", "")
+                        macos("x86-64", "mac")
+                        macos("aarch64", "mac-aarch64")
+                        windows("x86-64", "win")
+                        linux("aarch64", "linux-aarch64")
+                    }
+                }
+            }
+            configurations.compileClasspath {
+                attributes.attribute(OperatingSystemFamily.OPERATING_SYSTEM_ATTRIBUTE, objects.named("linux"))
+                attributes.attribute(MachineArchitecture.ARCHITECTURE_ATTRIBUTE, objects.named("aarch64"))
+            }
+            dependencies {
+                implementation("org.openjfx:javafx-base:17.0.10")
+            }
+            tasks.register("printJars") {
+                println(configurations.compileClasspath.get().files.joinToString("\\n") { it.name });
+            }
+        """
+
+        expect:
+        String output = printJars().output
+        output == 'javafx-base-17.0.10-linux-aarch64.jar\n'
+    }
+
     @IgnoreIf({ GradleBuild.GRADLE6_TEST || GradleBuild.GRADLE7_TEST || GradleBuild.GRADLE8_0_TEST })
     def "adds lwjgl targets automatically - #moduleAndTarget"() {
-        if (missingCombinations.contains(moduleAndTarget.toString())) return
-
         given:
         def module = moduleAndTarget[0]
         def target = moduleAndTarget[1]
         def artifact = module.split(':')[1]
         buildFile << """
             configurations.runtimeClasspath {
-                attributes.attribute(OperatingSystemFamily.OPERATING_SYSTEM_ATTRIBUTE, objects.named("${target.os}"))
-                attributes.attribute(MachineArchitecture.ARCHITECTURE_ATTRIBUTE, objects.named("${target.arch}"))
+                attributes.attribute(OperatingSystemFamily.OPERATING_SYSTEM_ATTRIBUTE, objects.named("${target.operatingSystem}"))
+                attributes.attribute(MachineArchitecture.ARCHITECTURE_ATTRIBUTE, objects.named("${target.architecture}"))
             }
             dependencies {
                 implementation("$module:3.3.6")
@@ -66,60 +162,29 @@ class AddTargetPlatformVariantTest extends AbstractPatchTest {
         output.contains "$artifact-3.3.6.jar\n$artifact-3.3.6-${target.classifier}.jar\n"
 
         where:
-        moduleAndTarget << (AlignmentDefinition.LWJGL.modules - [
-                    "org.lwjgl:lwjgl-cuda",
-                    "org.lwjgl:lwjgl-egl",
-                    "org.lwjgl:lwjgl-fmod",
-                    "org.lwjgl:lwjgl-jawt",
-                    "org.lwjgl:lwjgl-odbc",
-                    "org.lwjgl:lwjgl-opencl"]
-        ).collectMany { m -> LWJGLTargetPlatformRule.TARGETS.collect { t -> [m, t] } }
+        moduleAndTarget << NativesMatrix.LWJGL.modules.collectMany { m ->
+            NativesMatrix.LWJGL.getTargets(m).collect { t -> [m, t] }
+        }
     }
 
-    def missingCombinations = [
-            "[org.lwjgl:lwjgl-bgfx, natives-windows-arm64|windows|aarch64]",
-            "[org.lwjgl:lwjgl-ktx, natives-windows-x86|windows|x86]",
-            "[org.lwjgl:lwjgl-meow, natives-linux-arm32|linux|arm]",
-            "[org.lwjgl:lwjgl-meow, natives-linux-ppc64le|linux|ppc64le]",
-            "[org.lwjgl:lwjgl-meow, natives-linux-riscv64|linux|riscv64]",
-            "[org.lwjgl:lwjgl-openvr, natives-freebsd|freebsd|x86-64]",
-            "[org.lwjgl:lwjgl-openvr, natives-linux-arm32|linux|arm]",
-            "[org.lwjgl:lwjgl-openvr, natives-linux-ppc64le|linux|ppc64le]",
-            "[org.lwjgl:lwjgl-openvr, natives-linux-riscv64|linux|riscv64]",
-            "[org.lwjgl:lwjgl-openvr, natives-macos-arm64|macos|aarch64]",
-            "[org.lwjgl:lwjgl-openvr, natives-windows-arm64|windows|aarch64]",
-            "[org.lwjgl:lwjgl-openxr, natives-macos|macos|x86-64]",
-            "[org.lwjgl:lwjgl-openxr, natives-macos-arm64|macos|aarch64]",
-            "[org.lwjgl:lwjgl-ovr, natives-freebsd|freebsd|x86-64]",
-            "[org.lwjgl:lwjgl-ovr, natives-linux|linux|x86-64]",
-            "[org.lwjgl:lwjgl-ovr, natives-linux-arm32|linux|arm]",
-            "[org.lwjgl:lwjgl-ovr, natives-linux-arm64|linux|aarch64]",
-            "[org.lwjgl:lwjgl-ovr, natives-linux-ppc64le|linux|ppc64le]",
-            "[org.lwjgl:lwjgl-ovr, natives-linux-riscv64|linux|riscv64]",
-            "[org.lwjgl:lwjgl-ovr, natives-macos|macos|x86-64]",
-            "[org.lwjgl:lwjgl-ovr, natives-macos-arm64|macos|aarch64]",
-            "[org.lwjgl:lwjgl-ovr, natives-windows-arm64|windows|aarch64]",
-            "[org.lwjgl:lwjgl-remotery, natives-windows-arm64|windows|aarch64]",
-            "[org.lwjgl:lwjgl-sse, natives-linux-arm32|linux|arm]",
-            "[org.lwjgl:lwjgl-sse, natives-linux-arm64|linux|aarch64]",
-            "[org.lwjgl:lwjgl-sse, natives-linux-ppc64le|linux|ppc64le]",
-            "[org.lwjgl:lwjgl-sse, natives-linux-riscv64|linux|riscv64]",
-            "[org.lwjgl:lwjgl-sse, natives-macos-arm64|macos|aarch64]",
-            "[org.lwjgl:lwjgl-sse, natives-windows-arm64|windows|aarch64]",
-            "[org.lwjgl:lwjgl-tootle, natives-linux-arm32|linux|arm]",
-            "[org.lwjgl:lwjgl-tootle, natives-linux-arm64|linux|aarch64]",
-            "[org.lwjgl:lwjgl-tootle, natives-linux-ppc64le|linux|ppc64le]",
-            "[org.lwjgl:lwjgl-tootle, natives-linux-riscv64|linux|riscv64]",
-            "[org.lwjgl:lwjgl-tootle, natives-macos-arm64|macos|aarch64]",
-            "[org.lwjgl:lwjgl-tootle, natives-windows-arm64|windows|aarch64]",
-            "[org.lwjgl:lwjgl-vulkan, natives-freebsd|freebsd|x86-64]",
-            "[org.lwjgl:lwjgl-vulkan, natives-linux|linux|x86-64]",
-            "[org.lwjgl:lwjgl-vulkan, natives-linux-arm32|linux|arm]",
-            "[org.lwjgl:lwjgl-vulkan, natives-linux-arm64|linux|aarch64]",
-            "[org.lwjgl:lwjgl-vulkan, natives-linux-ppc64le|linux|ppc64le]",
-            "[org.lwjgl:lwjgl-vulkan, natives-linux-riscv64|linux|riscv64]",
-            "[org.lwjgl:lwjgl-vulkan, natives-windows|windows|x86-64]",
-            "[org.lwjgl:lwjgl-vulkan, natives-windows-arm64|windows|aarch64]",
-            "[org.lwjgl:lwjgl-vulkan, natives-windows-x86|windows|x86]"
-    ]
+    @IgnoreIf({ GradleBuild.GRADLE6_TEST || GradleBuild.GRADLE7_TEST || GradleBuild.GRADLE8_0_TEST })
+    def "adds lwjgl targets automatically for other versions than the one the matrix was made for"() {
+        given:
+        buildFile << """
+            configurations.runtimeClasspath {
+                attributes.attribute(OperatingSystemFamily.OPERATING_SYSTEM_ATTRIBUTE, objects.named("windows"))
+                attributes.attribute(MachineArchitecture.ARCHITECTURE_ATTRIBUTE, objects.named("x86-64"))
+            }
+            dependencies {
+                implementation("org.lwjgl:lwjgl:3.3.3")
+            }
+            tasks.register("printJars") {
+                println(configurations.runtimeClasspath.get().files.joinToString("\\n") { it.name });
+            }
+        """
+
+        expect:
+        String output = printJars().output
+        output.contains "lwjgl-3.3.3.jar\nlwjgl-3.3.3-natives-windows.jar\n"
+    }
 }
@@ -0,0 +1,50 @@
+package org.gradlex.jvm.dependency.conflict.test.patch
+
+class ModulePatchPlanTest extends AbstractPatchTest {
+
+    def "patching a module in a block and through individual calls leads to the same result"() {
+        given:
+        buildFile << """
+            dependencies {
+                implementation("com.google.guava:guava:33.4.8-jre")
+            }
+        """
+        def patches = """
+            removeDependency("com.google.errorprone:error_prone_annotations")
+            removeDependency("org.jspecify:jspecify")
+            reduceToRuntimeOnlyDependency("com.google.j2objc:j2objc-annotations")
+            addApiDependency("org.apache.commons:commons-lang3:3.14.0")
+            addFeature("jdk5")
+            setStatusToIntegration("-rc")
+        """
+
+        when:
+        def original = buildFile.text
+        buildFile << """
+            jvmDependencyConflicts.patch.module("com.google.guava:guava") {
+                ${patches}
+            }
+        """
+        def compileInBlock = dependenciesCompile().output
+        def runtimeInBlock = dependenciesRuntime().output
+
+        buildFile.text = original
+        buildFile << """
+            jvmDependencyConflicts.patch.module("com.google.guava:guava").apply {
+                ${patches}
+            }
+        """
+        def compileIndividually = dependenciesCompile().output
+        def runtimeIndividually = dependenciesRuntime().output
+
+        then:
+        compileInBlock.contains('''
+compileClasspath - Compile classpath for source set 'main'.
+\\--- com.google.guava:guava:33.4.8-jre
+     +--- com.google.guava:failureaccess:1.0.3
+     \\--- org.apache.commons:commons-lang3:3.14.0
+''')
+        compileInBlock == compileIndividually
+        runtimeInBlock == runtimeIndividually
+    }
+}
@@ -0,0 +1,55 @@
+package org.gradlex.jvm.dependency.conflict.test.util
+
+import org.gradlex.jvm.dependency.conflict.detection.rules.CapabilityDefinition
+import org.gradlex.jvm.dependency.conflict.detection.util.ModulePatterns
+import spock.lang.Specification
+
+class ModulePatternsTest extends Specification {
+
+    def "a pattern has a single wildcard at the end of the name"() {
+        expect:
+        ModulePatterns.isValidPattern(pattern) == valid
+
+        where:
+        pattern                       | valid
+        'org.bouncycastle:bcprov-*'   | true
+        'org.bouncycastle:*'          | true
+        'org.bouncycastle:bcprov-'    | false
+        'org.bouncycastle:bc*prov-*'  | false
+        'org.bouncycastle:bc*'        | true
+        'org.bouncycastle:bc**'       | false
+        'org.bouncy*'                 | false
+        'org.*:bcprov'                | false
+        ':bcprov-*'                   | false
+        'org.bouncycastle:bcprov:1.*' | false
+    }
+
+    def "invalid patterns are rejected"() {
+        when:
+        new ModulePatterns<String>().add('org.bouncycastle:bc*prov-*', 'x')
+
+        then:
+        thrown(IllegalArgumentException)
+    }
+
+    def "matches all patterns that are a prefix of the module"() {
+        given:
+        def patterns = new ModulePatterns<String>()
+        patterns.add('org.bouncycastle:*', 'all')
+        patterns.add('org.bouncycastle:bcprov-*', 'bcprov')
+        patterns.add('org.bouncycastle:bcpkix-*', 'bcpkix')
+
+        expect:
+        patterns.match('org.bouncycastle', 'bcprov-jdk18on') == ['all', 'bcprov']
+        patterns.match('org.bouncycastle', 'bcpg-jdk18on') == ['all']
+        patterns.match('org.example', 'bcprov-jdk18on') == []
+    }
+
+    def "the patterns of all capability definitions are valid"() {
+        expect:
+        CapabilityDefinition.values().every { definition ->
+            definition.modulePatterns.every { ModulePatterns.isValidPattern(it) } &&
+                    definition.modules.every { !it.contains('*') }
+        }
+    }
+}
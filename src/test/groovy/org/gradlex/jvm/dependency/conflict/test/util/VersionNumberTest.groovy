@@ -0,0 +1,149 @@
+package org.gradlex.jvm.dependency.conflict.test.util
+
+import org.gradlex.jvm.dependency.conflict.detection.util.VersionNumber
+import spock.lang.Specification
+
+class VersionNumberTest extends Specification {
+
+    static final List<String> VERSIONS = [
+            "", "1", "1.0", "1.0.0", "1.2.3", "1.2.3.4", "2", "2.0.0", "10.0", "9.3", "9.3.19.v20170502",
+            "1.0-rc1", "1.0-RC1", "1.0-rc2", "1.0.rc1", "1.0.0-SNAPSHOT", "1.0.0-snapshot", "2.0.0-M1", "2.0.0.Final",
+            "1.0-", "1.0.", "1.", "1..2", "1.0-1", "3.0.0-b", "v1.0", "abc", "-1", ".1", "4.3.0", "4.3.0.RELEASE",
+            "2.0.0-beta", "2.0.0-alpha", "2.0.0-Beta", "1.2-3-4", "1.2.3.4.5", "01.002", "1.0a", "1.0 beta"
+    ]
+
+    def "parses major, minor and micro with optional qualifier"() {
+        expect:
+        VersionNumber.parse(version).toString() == expected
+
+        where:
+        version             | expected
+        "1"                 | "1.0.0"
+        "1.2"               | "1.2.0"
+        "1.2.3"             | "1.2.3"
+        "1.2.3-rc1"         | "1.2.3-rc1"
+        "1.2.3.Final"       | "1.2.3-Final"
+        "9.3.19.v20170502"  | "9.3.19-v20170502"
+        "1.2.3.4"           | "1.2.3-4"
+        "1.0-"              | "0.0.0"
+        "1.0."              | "0.0.0"
+    }
+
+    def "non-numeric versions are unknown and lower than all numeric versions"() {
+        expect:
+        VersionNumber.parse(version) == VersionNumber.version(0, 0)
+        VersionNumber.parse(version) < VersionNumber.parse("0.1")
+
+        where:
+        version << [null, "", "abc", "v1.0", "-1", ".1", "1.0a", "1.0 beta"]
+    }
+
+    def "qualifiers are compared ignoring case and sort after the plain version"() {
+        expect:
+        VersionNumber.parse("1.0-RC1") == VersionNumber.parse("1.0-rc1")
+        VersionNumber.parse("1.0-rc1") < VersionNumber.parse("1.0-rc2")
+        VersionNumber.parse("2.0.0-alpha") < VersionNumber.parse("2.0.0-beta")
+        VersionNumber.parse("1.0") < VersionNumber.parse("1.0-rc1")
+        VersionNumber.parse("1.0-rc1") < VersionNumber.parse("1.1")
+    }
+
+    def "compare without parsing has the same result as comparing parsed versions"() {
+        expect:
+        for (String version : VERSIONS) {
+            for (String other : VERSIONS) {
+                VersionNumber parsedOther = VersionNumber.parse(other)
+                assert Integer.signum(VersionNumber.compare(version, parsedOther)) ==
+                        Integer.signum(VersionNumber.parse(version).compareTo(parsedOther)): "$version vs $other"
+                assert Integer.signum(VersionNumber.compare(new StringBuilder(version), parsedOther)) ==
+                        Integer.signum(legacyCompare(version, other)): "$version vs $other"
+            }
+        }
+        VersionNumber.compare(null, VersionNumber.parse("1.0")) < 0
+    }
+
+    def "parse has the same result as the previous implementation"() {
+        expect:
+        for (String version : VERSIONS) {
+            for (String other : VERSIONS) {
+                assert Integer.signum(VersionNumber.parse(version).compareTo(VersionNumber.parse(other))) ==
+                        Integer.signum(legacyCompare(version, other)): "$version vs $other"
+            }
+        }
+    }
+
+    def "versions sharing a cache slot are parsed correctly"() {
+        given:
+        def (first, second) = collidingVersions()
+
+        expect:
+        3.times {
+            assert VersionNumber.parse(first).toString() == first + ".0"
+            assert VersionNumber.parse(second).toString() == second + ".0"
+        }
+        VersionNumber.parse(first) != VersionNumber.parse(second)
+    }
+
+    // Two different 'major.minor' versions that map to the same slot of the 512 slots of the parse cache
+    private static List<String> collidingVersions() {
+        Map<Integer, String> slots = [:]
+        for (int major = 1; ; major++) {
+            for (int minor = 0; minor < 100; minor++) {
+                String version = "$major.$minor"
+                int hash = version.hashCode()
+                int slot = (hash ^ (hash >>> 16)) & 511
+                if (slots.containsKey(slot)) {
+                    return [slots[slot], version]
+                }
+                slots[slot] = version
+            }
+        }
+    }
+
+    // The parser and comparison before versions were parsed without creating substrings
+    private static int legacyCompare(String version, String other) {
+        List<Object> v1 = legacyParse(version)
+        List<Object> v2 = legacyParse(other)
+        for (int i = 0; i < 3; i++) {
+            if (v1[i] != v2[i]) {
+                return (v1[i] as int) - (v2[i] as int)
+            }
+        }
+        return ((v1[3] ?: "") as String).toLowerCase() <=> ((v2[3] ?: "") as String).toLowerCase()
+    }
+
+    private static List<Object> legacyParse(String str) {
+        def unknown = [0, 0, 0, null]
+        if (str == null || str.isEmpty() || !Character.isDigit(str.charAt(0))) {
+            return unknown
+        }
+        int pos = 0
+        def scanDigits = {
+            int start = pos
+            while (pos < str.length() && Character.isDigit(str.charAt(pos))) {
+                pos++
+            }
+            Integer.parseInt(str.substring(start, pos))
+        }
+        def isDotAndDigit = {
+            pos < str.length() - 1 && str.charAt(pos) == '.' as char && Character.isDigit(str.charAt(pos + 1))
+        }
+        int major = scanDigits()
+        int minor = 0
+        int micro = 0
+        if (isDotAndDigit()) {
+            pos++
+            minor = scanDigits()
+            if (isDotAndDigit()) {
+                pos++
+                micro = scanDigits()
+            }
+        }
+        if (pos == str.length()) {
+            return [major, minor, micro, null]
+        }
+        if (pos < str.length() - 1 && (str.charAt(pos) == '.' as char || str.charAt(pos) == '-' as char)) {
+            return [major, minor, micro, str.substring(pos + 1)]
+        }
+        return unknown
+    }
+}